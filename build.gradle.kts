@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("maven-publish")
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "id.co.faspay"
@@ -25,6 +26,34 @@ repositories {
     mavenCentral()
 }
 
+// Java 21 variants of selected classes, packaged under META-INF/versions/21 of the multi-release jar.
+// The main source set stays on Java 11; these only replace classes that need Java 21 APIs.
+// Opt in with -PmultiRelease, which needs a local JDK 21 toolchain. Without it the jar holds the
+// Java 11 classes only, and setVirtualThreads reports virtual threads as unsupported.
+val multiRelease = providers.gradleProperty("multiRelease").map { it != "false" }.getOrElse(false)
+
+if (multiRelease) {
+    val java21: SourceSet by sourceSets.creating {
+        java.srcDir("src/main/java21")
+    }
+
+    tasks.named<JavaCompile>(java21.compileJavaTaskName) {
+        javaCompiler.set(javaToolchains.compilerFor {
+            languageVersion.set(JavaLanguageVersion.of(21))
+        })
+        options.release.set(21)
+    }
+
+    tasks.shadowJar {
+        manifest {
+            attributes("Multi-Release" to "true")
+        }
+        from(java21.output) {
+            into("META-INF/versions/21")
+        }
+    }
+}
+
 dependencies {
     // HTTP Client
     implementation("com.squareup.okhttp3:okhttp:4.11.0")
@@ -48,12 +77,26 @@ dependencies {
     testImplementation("org.mockito:mockito-core:5.4.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.4.0")
     testImplementation("com.squareup.okhttp3:mockwebserver:4.11.0")
+
+    // Benchmarks (src/jmh/java)
+    jmh("com.squareup.okhttp3:mockwebserver:4.11.0")
+    jmh("com.squareup.okhttp3:okhttp-tls:4.11.0")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// Run with ./gradlew jmh; results are written as JSON per SDK version so runs can be compared
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results-${project.version}.json"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 tasks.jar {
     manifest {
         attributes(
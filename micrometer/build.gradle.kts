@@ -0,0 +1,40 @@
+plugins {
+    id("java-library")
+    id("maven-publish")
+}
+
+group = "id.co.faspay"
+version = "1.0.0"
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+    withJavadocJar()
+    withSourcesJar()
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // The SDK is provided by the application, so its version is chosen there
+    compileOnly(rootProject)
+    api("io.micrometer:micrometer-core:1.11.5")
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("maven") {
+            from(components["java"])
+            artifactId = "faspay-sendme-snap-micrometer"
+        }
+    }
+
+    repositories {
+        maven {
+            name = "local"
+            url = uri("${rootProject.buildDir}/repo")
+        }
+    }
+}
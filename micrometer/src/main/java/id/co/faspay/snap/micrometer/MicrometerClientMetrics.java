@@ -0,0 +1,164 @@
+package id.co.faspay.snap.micrometer;
+
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
+import id.co.faspay.snap.metrics.ClientMetrics;
+import id.co.faspay.snap.metrics.Phase;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ClientMetrics} that records into a Micrometer {@link MeterRegistry}.
+ *
+ * Meters, all tagged with the endpoint path where it applies:
+ * <ul>
+ *     <li>{@code faspay.snap.client.requests} - timer of whole calls, tagged with
+ *     {@code response_code}: the response's {@code responseCode} or an {@code OUTCOME_} value</li>
+ *     <li>{@code faspay.snap.client.phase} - timer per {@code phase}: queue, serialize, sign,
+ *     network and parse</li>
+ *     <li>{@code faspay.snap.client.inflight} - gauge of calls started but not completed</li>
+ *     <li>{@code faspay.snap.pool.connections} - gauge of pooled connections per {@code state}:
+ *     total or idle</li>
+ *     <li>{@code faspay.snap.dispatcher.calls} - gauge of dispatcher calls per {@code state}:
+ *     running or queued</li>
+ * </ul>
+ * Timers publish percentile histograms, so percentiles can be aggregated across instances.
+ * Pool and dispatcher gauges carry a {@code client} tag numbering the HTTP clients bound
+ * to this instance.
+ */
+public class MicrometerClientMetrics implements ClientMetrics {
+    private static final String REQUESTS = "faspay.snap.client.requests";
+    private static final String PHASE = "faspay.snap.client.phase";
+    private static final String IN_FLIGHT = "faspay.snap.client.inflight";
+    private static final String CONNECTIONS = "faspay.snap.pool.connections";
+    private static final String DISPATCHER_CALLS = "faspay.snap.dispatcher.calls";
+
+    private final MeterRegistry registry;
+    private final Tags commonTags;
+    private final ConcurrentHashMap<String, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<FaspaySnapHttpClient, List<Meter>> clientMeters = new ConcurrentHashMap<>();
+    private final AtomicInteger clientIds = new AtomicInteger();
+
+    /**
+     * Creates metrics recording into the given registry.
+     *
+     * @param registry The registry to register the meters with
+     */
+    public MicrometerClientMetrics(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * Creates metrics recording into the given registry, adding tags to every meter.
+     *
+     * @param registry The registry to register the meters with
+     * @param commonTags The tags added to every meter, e.g. the merchant or environment
+     */
+    public MicrometerClientMetrics(MeterRegistry registry, Iterable<Tag> commonTags) {
+        this.registry = Objects.requireNonNull(registry, "registry must not be null");
+        this.commonTags = Tags.of(Objects.requireNonNull(commonTags, "commonTags must not be null"));
+    }
+
+    @Override
+    public void callStarted(String endpoint) {
+        endpoint(endpoint).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void recordPhase(String endpoint, Phase phase, long nanos) {
+        endpoint(endpoint).phases[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void callCompleted(String endpoint, String outcome, long nanos) {
+        EndpointMeters meters = endpoint(endpoint);
+        meters.inFlight.decrementAndGet();
+        meters.requests(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bindTo(FaspaySnapHttpClient client) {
+        Tags tags = commonTags.and("client", Integer.toString(clientIds.incrementAndGet()));
+        List<Meter> meters = new ArrayList<>(4);
+        meters.add(Gauge.builder(CONNECTIONS, client, FaspaySnapHttpClient::getConnectionCount)
+                .description("Connections held by the connection pool")
+                .tags(tags.and("state", "total"))
+                .register(registry));
+        meters.add(Gauge.builder(CONNECTIONS, client, FaspaySnapHttpClient::getIdleConnectionCount)
+                .description("Connections held by the connection pool")
+                .tags(tags.and("state", "idle"))
+                .register(registry));
+        meters.add(Gauge.builder(DISPATCHER_CALLS, client, FaspaySnapHttpClient::getRunningCallCount)
+                .description("Calls on the HTTP dispatcher")
+                .tags(tags.and("state", "running"))
+                .register(registry));
+        meters.add(Gauge.builder(DISPATCHER_CALLS, client, FaspaySnapHttpClient::getQueuedCallCount)
+                .description("Calls on the HTTP dispatcher")
+                .tags(tags.and("state", "queued"))
+                .register(registry));
+        clientMeters.put(client, meters);
+    }
+
+    @Override
+    public void unbind(FaspaySnapHttpClient client) {
+        List<Meter> meters = clientMeters.remove(client);
+        if (meters != null) {
+            for (Meter meter : meters) {
+                registry.remove(meter);
+            }
+        }
+    }
+
+    private EndpointMeters endpoint(String endpoint) {
+        EndpointMeters meters = endpoints.get(endpoint);
+        return meters != null ? meters : endpoints.computeIfAbsent(endpoint, EndpointMeters::new);
+    }
+
+    /**
+     * Meters of one endpoint. Phase timers are registered up front; request timers on the
+     * first call with each response code.
+     */
+    private final class EndpointMeters {
+        final Tags tags;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final Timer[] phases = new Timer[Phase.values().length];
+        final ConcurrentHashMap<String, Timer> requests = new ConcurrentHashMap<>();
+
+        EndpointMeters(String endpoint) {
+            this.tags = commonTags.and("endpoint", endpoint);
+            for (Phase phase : Phase.values()) {
+                phases[phase.ordinal()] = Timer.builder(PHASE)
+                        .description("Duration of one phase of Faspay SendMe Snap API calls")
+                        .tags(tags.and("phase", phase.getTagValue()))
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                    .description("Faspay SendMe Snap API calls started but not completed")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        Timer requests(String outcome) {
+            Timer timer = requests.get(outcome);
+            if (timer == null) {
+                timer = requests.computeIfAbsent(outcome, o -> Timer.builder(REQUESTS)
+                        .description("Faspay SendMe Snap API calls")
+                        .tags(tags.and("response_code", o))
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+            return timer;
+        }
+    }
+}
@@ -1 +1,5 @@
-rootProject.name = "faspay-sendme-snap-java"
\ No newline at end of file
+rootProject.name = "faspay-sendme-snap-java"
+
+// Optional Micrometer adapter for the SDK's metrics SPI, published as its own artifact
+include("faspay-sendme-snap-micrometer")
+project(":faspay-sendme-snap-micrometer").projectDir = file("micrometer")
@@ -0,0 +1,101 @@
+package id.co.faspay.snap.benchmark;
+
+import id.co.faspay.snap.config.FaspaySnapConfig;
+import id.co.faspay.snap.model.Amount;
+import id.co.faspay.snap.model.HistoryListRequest;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import okhttp3.tls.HeldCertificate;
+
+/**
+ * Shared key material and payloads for the benchmarks.
+ * Payloads are shaped like real SendMe Snap traffic.
+ */
+final class BenchmarkFixtures {
+    static final HeldCertificate CERTIFICATE = new HeldCertificate.Builder()
+            .rsa2048()
+            .commonName("localhost")
+            .addSubjectAlternativeName("localhost")
+            .build();
+
+    private BenchmarkFixtures() {
+        // Prevent instantiation
+    }
+
+    static String privateKeyPem() {
+        return CERTIFICATE.privateKeyPkcs8Pem();
+    }
+
+    static String certificatePem() {
+        return CERTIFICATE.certificatePem();
+    }
+
+    /**
+     * Creates a configuration that points at the given base URL instead of the Faspay hosts.
+     */
+    static FaspaySnapConfig config(String baseUrl) {
+        return new LocalConfig(baseUrl);
+    }
+
+    static TransferInterbankRequest transferRequest() {
+        TransferInterbankRequest request = new TransferInterbankRequest(
+                "20250623123456789012",
+                new Amount("1500000.00", "IDR"),
+                "Budi Santoso",
+                "8760673566",
+                "014",
+                "9920017573");
+        request.setBeneficiaryEmail("budi.santoso@example.co.id");
+        request.setInstructDate("2025-06-23T10:00:00+07:00");
+        request.setTransactionDescription("Gaji bulan Juni 2025");
+        request.setCallbackUrl("https://partner.example.co.id/faspay/callback/transfer");
+        return request;
+    }
+
+    static HistoryListRequest historyRequest() {
+        return new HistoryListRequest("2025-06-01T00:00:00+07:00", "2025-06-30T23:59:59+07:00", "9920017573");
+    }
+
+    static String transferResponseJson() {
+        return "{\"responseCode\":\"2001800\",\"responseMessage\":\"Request has been processed successfully\","
+                + "\"referenceNo\":\"2025062300000012345\",\"partnerReferenceNo\":\"20250623123456789012\","
+                + "\"amount\":{\"value\":\"1500000.00\",\"currency\":\"IDR\"},"
+                + "\"beneficiaryAccountNo\":\"8760673566\",\"beneficiaryBankCode\":\"014\","
+                + "\"sourceAccountNo\":\"9920017573\","
+                + "\"additionalInfo\":{\"beneficiaryAccountName\":\"Budi Santoso\",\"beneficiaryBankName\":\"BCA\","
+                + "\"instructDate\":\"2025-06-23T10:00:00+07:00\",\"transactionDescription\":\"Gaji bulan Juni 2025\","
+                + "\"callbackUrl\":\"https://partner.example.co.id/faspay/callback/transfer\","
+                + "\"latestTransactionStatus\":\"03\",\"transactionStatusDesc\":\"Pending\"}}";
+    }
+
+    static String historyResponseJson(int rows) {
+        StringBuilder json = new StringBuilder(256 + rows * 320);
+        json.append("{\"responseCode\":\"2001200\",\"responseMessage\":\"Request has been processed successfully\",")
+                .append("\"detailData\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            boolean credit = i % 3 == 0;
+            json.append("{\"dateTime\":\"2025-06-")
+                    .append(String.format("%02d", 1 + i % 30))
+                    .append("T08:").append(String.format("%02d", i % 60)).append(":00+07:00\",")
+                    .append("\"amount\":{\"value\":\"").append(10000 + i * 250).append(".00\",\"currency\":\"IDR\"},")
+                    .append("\"remark\":\"Transfer ").append(credit ? "masuk" : "keluar").append(" ref 20250623").append(i).append("\",")
+                    .append("\"sourceOfFunds\":[{\"source\":\"BALANCE\"}],")
+                    .append("\"status\":\"SUCCESS\",")
+                    .append("\"type\":\"").append(credit ? "TOPUP" : "TRANSFER").append("\",")
+                    .append("\"additionalInfo\":{\"debitCredit\":\"").append(credit ? "CREDIT" : "DEBIT").append("\"}}");
+        }
+        json.append("],\"additionalInfo\":{\"accountNo\":\"9920017573\",")
+                .append("\"fromDateTime\":\"2025-06-01T00:00:00+07:00\",\"toDateTime\":\"2025-06-30T23:59:59+07:00\",")
+                .append("\"message\":\"Success\"}}");
+        return json.toString();
+    }
+
+    private static final class LocalConfig extends FaspaySnapConfig {
+        LocalConfig(String baseUrl) {
+            super("99999", privateKeyPem(), certificatePem());
+            this.baseUrl = baseUrl;
+        }
+    }
+}
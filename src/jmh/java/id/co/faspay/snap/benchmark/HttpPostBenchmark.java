@@ -0,0 +1,88 @@
+package id.co.faspay.snap.benchmark;
+
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.logging.SimpleLogger;
+import id.co.faspay.snap.model.Constants;
+import id.co.faspay.snap.model.HistoryListRequest;
+import id.co.faspay.snap.model.HistoryListResponse;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.model.TransferInterbankResponse;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end POST benchmarks against a local MockWebServer: serialization, signing,
+ * the HTTP round trip over a pooled connection, and response parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpPostBenchmark {
+
+    @Param({"10", "500"})
+    public int historyRows;
+
+    private final Constants constants = new Constants();
+    private MockWebServer server;
+    private FaspaySnapHttpClient httpClient;
+    private TransferInterbankRequest transferRequest;
+    private HistoryListRequest historyRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        LoggerFactory.setLevel(SimpleLogger.Level.ERROR);
+
+        String transferJson = BenchmarkFixtures.transferResponseJson();
+        String historyJson = BenchmarkFixtures.historyResponseJson(historyRows);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = constants.getEndpointHistoryList().equals(request.getPath()) ? historyJson : transferJson;
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body);
+            }
+        });
+        server.start();
+
+        String baseUrl = server.url("/").toString();
+        httpClient = new FaspaySnapHttpClient(BenchmarkFixtures.config(baseUrl.substring(0, baseUrl.length() - 1)));
+        transferRequest = BenchmarkFixtures.transferRequest();
+        historyRequest = BenchmarkFixtures.historyRequest();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public TransferInterbankResponse postTransferInterbank() throws FaspaySnapApiException {
+        return httpClient.post(constants.getEndpointTransferInterbank(), constants.getUserAgent(),
+                transferRequest, TransferInterbankResponse.class);
+    }
+
+    @Benchmark
+    public HistoryListResponse postHistoryList() throws FaspaySnapApiException {
+        return httpClient.post(constants.getEndpointHistoryList(), constants.getUserAgent(),
+                historyRequest, HistoryListResponse.class);
+    }
+}
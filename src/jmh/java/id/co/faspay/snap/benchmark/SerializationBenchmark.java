@@ -0,0 +1,66 @@
+package id.co.faspay.snap.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import id.co.faspay.snap.model.HistoryListResponse;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.util.CanonicalJsonWriter;
+import id.co.faspay.snap.util.JsonCodecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for request serialization and response parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "500"})
+    public int historyRows;
+
+    private ObjectReader historyReader;
+    private CanonicalJsonWriter jsonWriter;
+    private TransferInterbankRequest transferRequest;
+    private byte[] historyJson;
+    private HistoryListResponse historyResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        historyReader = JsonCodecs.readerFor(HistoryListResponse.class);
+        jsonWriter = new CanonicalJsonWriter(JsonCodecs.mapper());
+        transferRequest = BenchmarkFixtures.transferRequest();
+        historyJson = BenchmarkFixtures.historyResponseJson(historyRows).getBytes(StandardCharsets.UTF_8);
+        historyResponse = historyReader.readValue(historyJson);
+    }
+
+    @Benchmark
+    public String transferRequestToString() {
+        return transferRequest.toString();
+    }
+
+    @Benchmark
+    public int transferRequestCanonical() throws IOException {
+        return jsonWriter.write(transferRequest).size();
+    }
+
+    @Benchmark
+    public String historyResponseToString() {
+        return historyResponse.toString();
+    }
+
+    @Benchmark
+    public HistoryListResponse historyResponseParse() throws IOException {
+        return historyReader.readValue(historyJson);
+    }
+}
@@ -0,0 +1,64 @@
+package id.co.faspay.snap.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.util.CanonicalJsonWriter;
+import id.co.faspay.snap.util.RsaSigner;
+import id.co.faspay.snap.util.SignatureUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building the string to sign and producing the RSA signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningBenchmark {
+    private static final String ENDPOINT = "/account/v1.0/transfer-interbank";
+    private static final String TIMESTAMP = "2025-06-23T10:00:00+07:00";
+
+    private String privateKeyPem;
+    private RsaSigner signer;
+    private String prettyJson;
+    private byte[] minifiedJson;
+    private String stringToSign;
+
+    @Setup
+    public void setUp() throws IOException {
+        TransferInterbankRequest request = BenchmarkFixtures.transferRequest();
+        privateKeyPem = BenchmarkFixtures.privateKeyPem();
+        signer = new RsaSigner(privateKeyPem);
+        prettyJson = request.toString();
+        minifiedJson = new CanonicalJsonWriter(new ObjectMapper()).write(request).copy();
+        stringToSign = SignatureUtil.createStringToSign("POST", ENDPOINT, prettyJson, TIMESTAMP);
+    }
+
+    @Benchmark
+    public String createStringToSignFromString() {
+        return SignatureUtil.createStringToSign("POST", ENDPOINT, prettyJson, TIMESTAMP);
+    }
+
+    @Benchmark
+    public String createStringToSignFromBytes() {
+        return SignatureUtil.createStringToSign("POST", ENDPOINT, minifiedJson, 0, minifiedJson.length, TIMESTAMP);
+    }
+
+    @Benchmark
+    public String generateRSASignatureFromPem() {
+        return SignatureUtil.generateRSASignature(stringToSign, privateKeyPem);
+    }
+
+    @Benchmark
+    public String rsaSignerSign() {
+        return signer.sign(stringToSign);
+    }
+}
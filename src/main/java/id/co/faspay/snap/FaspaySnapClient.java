@@ -1,14 +1,19 @@
 package id.co.faspay.snap;
 
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.service.*;
+import id.co.faspay.snap.util.JsonCodecs;
 
 /**
  * Main entry point for the Faspay SendMe Snap API SDK.
  * This client provides access to all Faspay SendMe Snap API endpoints.
+ * All services share one {@link FaspaySnapHttpClient}, so a single connection pool
+ * and dispatcher serve every endpoint.
  */
-public class FaspaySnapClient {
+public class FaspaySnapClient implements AutoCloseable {
     private final FaspaySnapConfig config;
+    private final FaspaySnapHttpClient httpClient;
     private final AccountInquiryService accountInquiryService;
     private final TransferInterbankService transferInterbankService;
     private final TransferStatusService transferStatusService;
@@ -26,15 +31,34 @@ public class FaspaySnapClient {
      */
     public FaspaySnapClient(FaspaySnapConfig config) {
         this.config = config;
-        this.accountInquiryService = new AccountInquiryService(config);
-        this.transferInterbankService = new TransferInterbankService(config);
-        this.transferStatusService = new TransferStatusService(config);
-        this.inquiryBalanceService = new InquiryBalanceService(config);
-        this.historyListService = new HistoryListService(config);
-        this.customerTopupService = new CustomerTopupService(config);
-        this.customerTopupStatusService = new CustomerTopupStatusService(config);
-        this.billPaymentService = new BillPaymentService(config);
-        this.billInquiryService = new BillInquiryService(config);
+        // Resolve the JSON serializers of all models now rather than on the first request
+        JsonCodecs.warmUp();
+        this.httpClient = new FaspaySnapHttpClient(config);
+        this.accountInquiryService = new AccountInquiryService(httpClient);
+        this.transferInterbankService = new TransferInterbankService(httpClient);
+        this.transferStatusService = new TransferStatusService(httpClient);
+        this.inquiryBalanceService = new InquiryBalanceService(httpClient);
+        this.historyListService = new HistoryListService(httpClient);
+        this.customerTopupService = new CustomerTopupService(httpClient);
+        this.customerTopupStatusService = new CustomerTopupStatusService(httpClient);
+        this.billPaymentService = new BillPaymentService(httpClient);
+        this.billInquiryService = new BillInquiryService(httpClient);
+
+        if (config.getWarmUpConnections() > 0) {
+            warmUp(config.getWarmUpConnections());
+        }
+    }
+
+    /**
+     * Opens connections to the API ahead of the first call, so the first requests do not
+     * pay for DNS, TCP and the TLS handshake. Runs automatically on creation when
+     * {@link FaspaySnapConfig#setWarmUpConnections(int)} is set; failures are only logged.
+     *
+     * @param connections The number of connections to open
+     * @return The number of connections that were opened
+     */
+    public int warmUp(int connections) {
+        return httpClient.warmUp(connections, config.getWarmUpTimeoutMillis());
     }
 
     /**
@@ -91,4 +115,21 @@ public class FaspaySnapClient {
     public FaspaySnapConfig getConfig() {
         return config;
     }
+
+    /**
+     * Gets the HTTP client shared by all services of this client.
+     *
+     * @return The shared HTTP client
+     */
+    public FaspaySnapHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Releases the shared connection pool and dispatcher threads.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+    }
 }
@@ -0,0 +1,180 @@
+package id.co.faspay.snap.bulk;
+
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.model.TransferInterbankResponse;
+import id.co.faspay.snap.service.TransferInterbankService;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Runs large batches of interbank transfers with bounded concurrency.
+ * Instructions are pulled from the source only when a concurrency slot is free, so
+ * the batch is never held in memory and a slow API slows down consumption of the
+ * source instead of queueing work. Transfers go through
+ * {@link TransferInterbankService#transferAsync(TransferInterbankRequest, Executor)}
+ * and therefore share the client's signing, serialization and connection pool.
+ */
+public class BulkTransferEngine {
+    private static final Logger logger = LoggerFactory.getLogger(BulkTransferEngine.class);
+
+    private final TransferInterbankService transferService;
+    private final int maxConcurrency;
+    private final Executor callbackExecutor;
+
+    /**
+     * Creates a new engine that delivers results on the HTTP dispatcher threads.
+     *
+     * @param transferService The transfer service to submit transfers through
+     * @param maxConcurrency The maximum number of transfers in flight at once
+     */
+    public BulkTransferEngine(TransferInterbankService transferService, int maxConcurrency) {
+        this(transferService, maxConcurrency, null);
+    }
+
+    /**
+     * Creates a new engine.
+     *
+     * @param transferService The transfer service to submit transfers through
+     * @param maxConcurrency The maximum number of transfers in flight at once; transfers beyond the
+     *                       client's {@code maxRequestsPerHost} wait in the HTTP dispatcher queue
+     * @param callbackExecutor The executor that invokes the sink, or null for the HTTP dispatcher threads
+     */
+    public BulkTransferEngine(TransferInterbankService transferService, int maxConcurrency, Executor callbackExecutor) {
+        this.transferService = Objects.requireNonNull(transferService, "transferService must not be null");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Runs a batch and blocks until every submitted transfer has completed.
+     *
+     * @param instructions The transfers to run
+     * @param sink The receiver of per-item results
+     * @return The counters of the batch
+     * @throws InterruptedException If the calling thread is interrupted while waiting for a free slot
+     */
+    public BulkTransferStats run(Stream<TransferInterbankRequest> instructions, BulkTransferSink sink)
+            throws InterruptedException {
+        Objects.requireNonNull(instructions, "instructions must not be null");
+        return run(instructions.iterator(), sink);
+    }
+
+    /**
+     * Runs a batch and blocks until every submitted transfer has completed.
+     * The iterator is only advanced on the calling thread.
+     *
+     * @param instructions The transfers to run
+     * @param sink The receiver of per-item results
+     * @return The counters of the batch
+     * @throws InterruptedException If the calling thread is interrupted while waiting for a free slot
+     */
+    public BulkTransferStats run(Iterator<TransferInterbankRequest> instructions, BulkTransferSink sink)
+            throws InterruptedException {
+        Objects.requireNonNull(instructions, "instructions must not be null");
+        Objects.requireNonNull(sink, "sink must not be null");
+
+        Batch batch = new Batch();
+        Semaphore slots = new Semaphore(maxConcurrency);
+        long start = System.nanoTime();
+
+        logger.info("Starting bulk transfer batch with max concurrency {}", maxConcurrency);
+
+        try {
+            while (instructions.hasNext()) {
+                slots.acquire();
+                TransferInterbankRequest request;
+                try {
+                    request = instructions.next();
+                } catch (RuntimeException e) {
+                    slots.release();
+                    throw e;
+                }
+                submit(request, sink, batch, slots);
+            }
+        } finally {
+            // Wait for in-flight transfers before reporting
+            slots.acquireUninterruptibly(maxConcurrency);
+            slots.release(maxConcurrency);
+        }
+
+        BulkTransferStats stats = batch.snapshot(System.nanoTime() - start);
+        logger.info("Bulk transfer batch finished: {}", stats);
+        return stats;
+    }
+
+    private void submit(TransferInterbankRequest request, BulkTransferSink sink, Batch batch, Semaphore slots) {
+        long submittedAt = System.nanoTime();
+        batch.submitted.increment();
+
+        CompletableFuture<TransferInterbankResponse> future;
+        try {
+            future = transferService.transferAsync(request, callbackExecutor);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        future.whenComplete((response, error) -> {
+            try {
+                batch.recordLatency(System.nanoTime() - submittedAt);
+                if (error == null) {
+                    if (response.isSuccess()) {
+                        batch.succeeded.increment();
+                    } else {
+                        batch.rejected.increment();
+                    }
+                    sink.onResponse(request, response);
+                } else {
+                    batch.failed.increment();
+                    sink.onError(request, unwrap(error));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Bulk transfer sink failed for {}: {}", request.getPartnerReferenceNumber(), e.getMessage());
+            } finally {
+                slots.release();
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Mutable counters of a running batch.
+     */
+    private static class Batch {
+        final LongAdder submitted = new LongAdder();
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder totalLatencyNanos = new LongAdder();
+        final AtomicLong minLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        void recordLatency(long nanos) {
+            totalLatencyNanos.add(nanos);
+            minLatencyNanos.accumulateAndGet(nanos, Math::min);
+            maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        BulkTransferStats snapshot(long elapsedNanos) {
+            long min = minLatencyNanos.get();
+            return new BulkTransferStats(submitted.sum(), succeeded.sum(), rejected.sum(), failed.sum(),
+                    elapsedNanos, totalLatencyNanos.sum(), min == Long.MAX_VALUE ? 0 : min, maxLatencyNanos.get());
+        }
+    }
+}
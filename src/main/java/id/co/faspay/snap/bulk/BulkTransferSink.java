@@ -0,0 +1,28 @@
+package id.co.faspay.snap.bulk;
+
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.model.TransferInterbankResponse;
+
+/**
+ * Receives the per-item results of a bulk transfer batch.
+ * Callbacks are invoked as transfers complete, possibly from several threads at once,
+ * so implementations must be thread-safe.
+ */
+public interface BulkTransferSink {
+    /**
+     * Called when the API answered a transfer. The response may still carry a
+     * non-success response code; check {@link TransferInterbankResponse#isSuccess()}.
+     *
+     * @param request The transfer request
+     * @param response The response from the API
+     */
+    void onResponse(TransferInterbankRequest request, TransferInterbankResponse response);
+
+    /**
+     * Called when a transfer could not be completed, e.g. on a network or parsing error.
+     *
+     * @param request The transfer request
+     * @param error The cause of the failure
+     */
+    void onError(TransferInterbankRequest request, Throwable error);
+}
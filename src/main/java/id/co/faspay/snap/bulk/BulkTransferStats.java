@@ -0,0 +1,127 @@
+package id.co.faspay.snap.bulk;
+
+/**
+ * Throughput and latency counters of one bulk transfer batch.
+ * Latency is measured per transfer from submission until the response is parsed.
+ */
+public class BulkTransferStats {
+    private final long submitted;
+    private final long succeeded;
+    private final long rejected;
+    private final long failed;
+    private final long elapsedNanos;
+    private final long totalLatencyNanos;
+    private final long minLatencyNanos;
+    private final long maxLatencyNanos;
+
+    BulkTransferStats(long submitted, long succeeded, long rejected, long failed, long elapsedNanos,
+                      long totalLatencyNanos, long minLatencyNanos, long maxLatencyNanos) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.minLatencyNanos = minLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /**
+     * Gets the number of transfers submitted to the API.
+     *
+     * @return The number of submitted transfers
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * Gets the number of transfers answered with a success response code.
+     *
+     * @return The number of successful transfers
+     */
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Gets the number of transfers answered with a non-success response code.
+     *
+     * @return The number of rejected transfers
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the number of transfers that failed without a response.
+     *
+     * @return The number of failed transfers
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the number of transfers that have completed, with or without a response.
+     *
+     * @return The number of completed transfers
+     */
+    public long getCompleted() {
+        return succeeded + rejected + failed;
+    }
+
+    /**
+     * Gets the wall-clock duration of the batch in milliseconds.
+     *
+     * @return The elapsed time in milliseconds
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of completed transfers per second over the batch.
+     *
+     * @return The throughput in transfers per second
+     */
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : getCompleted() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Gets the mean latency of completed transfers in milliseconds.
+     *
+     * @return The mean latency in milliseconds
+     */
+    public double getMeanLatencyMillis() {
+        long completed = getCompleted();
+        return completed == 0 ? 0 : totalLatencyNanos / 1_000_000.0 / completed;
+    }
+
+    /**
+     * Gets the lowest latency of a completed transfer in milliseconds.
+     *
+     * @return The minimum latency in milliseconds
+     */
+    public double getMinLatencyMillis() {
+        return getCompleted() == 0 ? 0 : minLatencyNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the highest latency of a completed transfer in milliseconds.
+     *
+     * @return The maximum latency in milliseconds
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkTransferStats{submitted=%d, succeeded=%d, rejected=%d, failed=%d, "
+                        + "elapsedMs=%.1f, throughputPerSec=%.1f, meanLatencyMs=%.1f, minLatencyMs=%.1f, maxLatencyMs=%.1f}",
+                submitted, succeeded, rejected, failed, getElapsedMillis(), getThroughputPerSecond(),
+                getMeanLatencyMillis(), getMinLatencyMillis(), getMaxLatencyMillis());
+    }
+}
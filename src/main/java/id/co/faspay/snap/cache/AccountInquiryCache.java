@@ -0,0 +1,231 @@
+package id.co.faspay.snap.cache;
+
+import id.co.faspay.snap.model.AccountInquiryResponse;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of account inquiry results keyed by bank code and account number.
+ * Successful inquiries are kept for the regular TTL; "account not found" answers are
+ * kept for a separate, usually much shorter, TTL so a newly opened account is picked up
+ * quickly. Any other response, and any failed call, is never cached.
+ * -
+ * When the cache is full the oldest entries are evicted first (approximately; entries kept
+ * while compacting the eviction queue move to its back). The cache keeps its own copy of
+ * each response and hands out a new copy on every hit, so callers may modify what they get.
+ * A hit answers an inquiry that was never sent to Faspay, so the copy carries the caller's
+ * partner reference number and no Faspay {@code referenceNo}.
+ */
+public class AccountInquiryCache {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order for eviction; may hold entries that were since replaced or expired
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of cached accounts
+     * @param ttlMillis How long a successful inquiry stays cached, in milliseconds
+     * @param negativeTtlMillis How long an "account not found" answer stays cached, in milliseconds; 0 disables negative caching
+     */
+    public AccountInquiryCache(int maxSize, long ttlMillis, long negativeTtlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttlMillis must be positive");
+        }
+        if (negativeTtlMillis < 0) {
+            throw new IllegalArgumentException("negativeTtlMillis must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+    }
+
+    /**
+     * Gets the cached result for an account, counting a hit or a miss.
+     *
+     * @param bankCode The bank code
+     * @param accountNumber The account number
+     * @return A copy of the cached response without reference numbers, or null if there is none or it has expired
+     */
+    public AccountInquiryResponse get(String bankCode, String accountNumber) {
+        return get(bankCode, accountNumber, null);
+    }
+
+    /**
+     * Gets the cached result for an account as the answer to a new inquiry, counting a hit or a miss.
+     *
+     * @param bankCode The bank code
+     * @param accountNumber The account number
+     * @param partnerReferenceNumber The partner reference number of the new inquiry
+     * @return A copy of the cached response carrying the given partner reference number and no
+     *         {@code referenceNo}, or null if there is none or it has expired
+     */
+    public AccountInquiryResponse get(String bankCode, String accountNumber, String partnerReferenceNumber) {
+        Key key = new Key(bankCode, accountNumber);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        if (entry.negative) {
+            negativeHits.increment();
+        } else {
+            hits.increment();
+        }
+        return entry.response.copy()
+                .setPartnerReferenceNumber(partnerReferenceNumber)
+                .setReferenceNo(null);
+    }
+
+    /**
+     * Caches the result of an inquiry if it is cacheable.
+     *
+     * @param bankCode The bank code
+     * @param accountNumber The account number
+     * @param response The response returned by the API
+     */
+    public void put(String bankCode, String accountNumber, AccountInquiryResponse response) {
+        Objects.requireNonNull(response, "response must not be null");
+
+        long ttl;
+        if (response.isSuccess()) {
+            ttl = ttlNanos;
+        } else if (response.isAccountNotFound() && negativeTtlNanos > 0) {
+            ttl = negativeTtlNanos;
+        } else {
+            return;
+        }
+
+        // A private copy, so later changes by the caller do not reach other callers
+        Entry entry = new Entry(new Key(bankCode, accountNumber), response.copy(), !response.isSuccess(), System.nanoTime() + ttl);
+        entries.put(entry.key, entry);
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        evictIfNeeded();
+    }
+
+    /**
+     * Removes the cached result for an account.
+     *
+     * @param bankCode The bank code
+     * @param accountNumber The account number
+     */
+    public void invalidate(String bankCode, String accountNumber) {
+        entries.remove(new Key(bankCode, accountNumber));
+    }
+
+    /**
+     * Removes all cached results. Statistics are kept.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached accounts, including entries that have expired but were not yet removed.
+     *
+     * @return The number of cached accounts
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets a snapshot of the hit and miss counters.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), negativeHits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evictIfNeeded() {
+        // Stale queue nodes (replaced or invalidated entries) are drained here as well,
+        // so the queue never grows much past the map
+        while (true) {
+            boolean overCapacity = entries.size() > maxSize;
+            if (!overCapacity && queued.get() <= 2 * maxSize) {
+                return;
+            }
+            Entry oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.get(oldest.key) != oldest) {
+                continue;
+            }
+            if (overCapacity) {
+                if (entries.remove(oldest.key, oldest) && oldest.expiresAt - System.nanoTime() > 0) {
+                    evictions.increment();
+                }
+            } else {
+                // Only compacting the queue; keep the live entry
+                insertionOrder.add(oldest);
+                queued.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String bankCode;
+        private final String accountNumber;
+        private final int hash;
+
+        Key(String bankCode, String accountNumber) {
+            this.bankCode = Objects.requireNonNull(bankCode, "bankCode must not be null");
+            this.accountNumber = Objects.requireNonNull(accountNumber, "accountNumber must not be null");
+            this.hash = 31 * bankCode.hashCode() + accountNumber.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return bankCode.equals(that.bankCode) && accountNumber.equals(that.accountNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final Key key;
+        final AccountInquiryResponse response;
+        final boolean negative;
+        final long expiresAt;
+
+        Entry(Key key, AccountInquiryResponse response, boolean negative, long expiresAt) {
+            this.key = key;
+            this.response = response;
+            this.negative = negative;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
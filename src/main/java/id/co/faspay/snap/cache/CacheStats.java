@@ -0,0 +1,81 @@
+package id.co.faspay.snap.cache;
+
+/**
+ * Point-in-time counters of an {@link AccountInquiryCache}.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long negativeHits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    CacheStats(long hits, long negativeHits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.negativeHits = negativeHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of lookups answered with a cached successful inquiry.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups answered with a cached "account not found" result.
+     *
+     * @return The number of negative hits
+     */
+    public long getNegativeHits() {
+        return negativeHits;
+    }
+
+    /**
+     * Gets the number of lookups that had to call the API.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of live entries removed to stay within the size limit.
+     *
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of cached accounts when the snapshot was taken.
+     *
+     * @return The cache size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the share of lookups served from the cache, counting negative hits.
+     *
+     * @return The hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long lookups = hits + negativeHits + misses;
+        return lookups == 0 ? 0 : (double) (hits + negativeHits) / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, negativeHits=%d, misses=%d, evictions=%d, size=%d, hitRate=%.3f}",
+                hits, negativeHits, misses, evictions, size, getHitRate());
+    }
+}
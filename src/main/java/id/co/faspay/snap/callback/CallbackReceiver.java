@@ -0,0 +1,599 @@
+package id.co.faspay.snap.callback;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.CustomerTopupStatusResponse;
+import id.co.faspay.snap.model.StatusTransferResponse;
+import id.co.faspay.snap.util.JsonCodecs;
+import id.co.faspay.snap.util.RsaVerifier;
+import id.co.faspay.snap.util.SignatureUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Embedded HTTP server that receives transfer and topup callbacks sent by Faspay to the
+ * {@code callbackUrl} of a request, so pending transactions can be resolved without polling.
+ *
+ * Each callback is checked against Faspay's public key and its {@code X-TIMESTAMP}, parsed
+ * into {@link StatusTransferResponse} or {@link CustomerTopupStatusResponse} and acknowledged
+ * as soon as it is queued. Registered handlers run later on a small set of handler threads,
+ * never on the HTTP threads, so a slow handler cannot stall the server. Callbacks are spread
+ * over the handler threads by {@code originalPartnerReferenceNo}, so callbacks for one
+ * transaction are handled in order. Each handler thread has a bounded queue; when it is full
+ * the callback is answered with HTTP 429 and Faspay delivers it again later.
+ */
+public class CallbackReceiver implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CallbackReceiver.class);
+    private static final int BACKLOG = 1024;
+    private static final long DRAIN_TIMEOUT_MILLIS = 5000;
+
+    private static final byte[] OK = response("2000000", "Successful");
+    private static final byte[] BAD_REQUEST = response("4000001", "Invalid Field Format");
+    private static final byte[] UNAUTHORIZED = response("4010000", "Unauthorized. Invalid Signature");
+    private static final byte[] METHOD_NOT_ALLOWED = response("4050000", "Method Not Allowed");
+    private static final byte[] TOO_LARGE = response("4130000", "Payload Too Large");
+    private static final byte[] TOO_MANY_REQUESTS = response("4290000", "Too Many Requests");
+    private static final byte[] UNAVAILABLE = response("5030000", "Service Unavailable");
+
+    private final InetSocketAddress address;
+    private final RsaVerifier verifier;
+    private final ObjectReader transferReader;
+    private final ObjectReader topupReader;
+    private final List<Consumer<StatusTransferResponse>> transferHandlers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<CustomerTopupStatusResponse>> topupHandlers = new CopyOnWriteArrayList<>();
+
+    private String transferPath = "/faspay/callback/transfer";
+    private String topupPath = "/faspay/callback/topup";
+    private int serverThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private int handlerThreads = 4;
+    private int queueCapacity = 10_000;
+    private int maxBodyBytes = 64 * 1024;
+    private long maxClockSkewMillis = 5 * 60 * 1000L;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder handlerErrors = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private Worker[] workers;
+    private volatile boolean started;
+    private volatile boolean closed;
+    // Set by close once no server thread can queue a callback; handler threads then exit on an empty queue
+    private volatile boolean draining;
+
+    /**
+     * Creates a new receiver listening on all interfaces.
+     *
+     * @param faspayPublicKeyPem Faspay's public key or certificate in PEM format, used to verify callbacks
+     * @param port The port to listen on, or 0 for any free port
+     */
+    public CallbackReceiver(String faspayPublicKeyPem, int port) {
+        this(faspayPublicKeyPem, new InetSocketAddress(port));
+    }
+
+    /**
+     * Creates a new receiver.
+     *
+     * @param faspayPublicKeyPem Faspay's public key or certificate in PEM format, used to verify callbacks
+     * @param address The address to listen on
+     */
+    public CallbackReceiver(String faspayPublicKeyPem, InetSocketAddress address) {
+        this.verifier = new RsaVerifier(Objects.requireNonNull(faspayPublicKeyPem, "faspayPublicKeyPem must not be null"));
+        this.address = Objects.requireNonNull(address, "address must not be null");
+        // Callbacks may carry fields the response models don't know about
+        this.transferReader = JsonCodecs.readerFor(StatusTransferResponse.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.topupReader = JsonCodecs.readerFor(CustomerTopupStatusResponse.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Registers a handler for transfer callbacks. Handlers may be added at any time.
+     *
+     * @param handler The handler
+     * @return This receiver
+     */
+    public CallbackReceiver onTransfer(Consumer<StatusTransferResponse> handler) {
+        transferHandlers.add(Objects.requireNonNull(handler, "handler must not be null"));
+        return this;
+    }
+
+    /**
+     * Registers a handler for topup callbacks. Handlers may be added at any time.
+     *
+     * @param handler The handler
+     * @return This receiver
+     */
+    public CallbackReceiver onTopup(Consumer<CustomerTopupStatusResponse> handler) {
+        topupHandlers.add(Objects.requireNonNull(handler, "handler must not be null"));
+        return this;
+    }
+
+    /**
+     * Starts listening.
+     *
+     * @throws IOException If the server cannot bind to its address
+     * @throws IllegalStateException If the receiver was already started
+     */
+    public synchronized void start() throws IOException {
+        checkNotStarted();
+        HttpServer httpServer = HttpServer.create(address, BACKLOG);
+        httpServer.createContext(transferPath, exchange -> handle(exchange, true));
+        httpServer.createContext(topupPath, exchange -> handle(exchange, false));
+
+        AtomicInteger serverThreadCount = new AtomicInteger();
+        serverExecutor = Executors.newFixedThreadPool(serverThreads, runnable -> {
+            Thread thread = new Thread(runnable, "faspay-snap-callback-http-" + serverThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(serverExecutor);
+
+        workers = new Worker[handlerThreads];
+        int perWorker = Math.max(1, queueCapacity / handlerThreads);
+        for (int i = 0; i < handlerThreads; i++) {
+            workers[i] = new Worker("faspay-snap-callback-handler-" + (i + 1), perWorker);
+            workers[i].start();
+        }
+
+        httpServer.start();
+        server = httpServer;
+        started = true;
+        logger.info("Callback receiver listening on {} ({}, {})", httpServer.getAddress(), transferPath, topupPath);
+    }
+
+    /**
+     * Gets the port the receiver listens on.
+     *
+     * @return The bound port
+     * @throws IllegalStateException If the receiver is not started
+     */
+    public int getPort() {
+        if (!started) {
+            throw new IllegalStateException("Callback receiver is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of callbacks received, including rejected and dropped ones.
+     *
+     * @return The number of callbacks received
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /**
+     * Gets the number of callbacks rejected for a missing or invalid signature or timestamp.
+     *
+     * @return The number of rejected callbacks
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the number of valid callbacks answered with HTTP 429 because a handler queue was full.
+     *
+     * @return The number of dropped callbacks
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the number of exceptions thrown by handlers.
+     *
+     * @return The number of handler errors
+     */
+    public long getHandlerErrorCount() {
+        return handlerErrors.sum();
+    }
+
+    /**
+     * Gets the number of callbacks waiting for their handlers.
+     *
+     * @return The number of queued callbacks
+     */
+    public int getQueuedCount() {
+        Worker[] current = workers;
+        int queued = 0;
+        if (current != null) {
+            for (Worker worker : current) {
+                queued += worker.queue.size();
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Gets the path that receives transfer callbacks.
+     *
+     * @return The transfer callback path
+     */
+    public String getTransferPath() {
+        return transferPath;
+    }
+
+    /**
+     * Sets the path that receives transfer callbacks, matching the {@code callbackUrl}
+     * of transfer requests. Defaults to {@code /faspay/callback/transfer}.
+     *
+     * @param transferPath The transfer callback path
+     */
+    public void setTransferPath(String transferPath) {
+        checkNotStarted();
+        this.transferPath = checkPath(transferPath);
+    }
+
+    /**
+     * Gets the path that receives topup callbacks.
+     *
+     * @return The topup callback path
+     */
+    public String getTopupPath() {
+        return topupPath;
+    }
+
+    /**
+     * Sets the path that receives topup callbacks, matching the {@code callbackUrl}
+     * of topup requests. Defaults to {@code /faspay/callback/topup}.
+     *
+     * @param topupPath The topup callback path
+     */
+    public void setTopupPath(String topupPath) {
+        checkNotStarted();
+        this.topupPath = checkPath(topupPath);
+    }
+
+    /**
+     * Gets the number of threads that read, verify and queue callbacks.
+     *
+     * @return The number of server threads
+     */
+    public int getServerThreads() {
+        return serverThreads;
+    }
+
+    /**
+     * Sets the number of threads that read, verify and queue callbacks.
+     * Defaults to the number of processors, and at least 2.
+     *
+     * @param serverThreads The number of server threads
+     */
+    public void setServerThreads(int serverThreads) {
+        checkNotStarted();
+        if (serverThreads < 1) {
+            throw new IllegalArgumentException("serverThreads must be at least 1");
+        }
+        this.serverThreads = serverThreads;
+    }
+
+    /**
+     * Gets the number of threads that run handlers.
+     *
+     * @return The number of handler threads
+     */
+    public int getHandlerThreads() {
+        return handlerThreads;
+    }
+
+    /**
+     * Sets the number of threads that run handlers. Defaults to 4.
+     *
+     * @param handlerThreads The number of handler threads
+     */
+    public void setHandlerThreads(int handlerThreads) {
+        checkNotStarted();
+        if (handlerThreads < 1) {
+            throw new IllegalArgumentException("handlerThreads must be at least 1");
+        }
+        this.handlerThreads = handlerThreads;
+    }
+
+    /**
+     * Gets the total number of callbacks that may wait for their handlers.
+     *
+     * @return The queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the total number of callbacks that may wait for their handlers, split evenly
+     * over the handler threads. Defaults to 10,000.
+     *
+     * @param queueCapacity The queue capacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        checkNotStarted();
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the largest accepted callback body.
+     *
+     * @return The maximum body size in bytes
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Sets the largest accepted callback body; larger ones are answered with HTTP 413.
+     * Defaults to 64 KiB.
+     *
+     * @param maxBodyBytes The maximum body size in bytes
+     */
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        checkNotStarted();
+        if (maxBodyBytes < 1) {
+            throw new IllegalArgumentException("maxBodyBytes must be at least 1");
+        }
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Gets how far the {@code X-TIMESTAMP} of a callback may be from the local clock.
+     *
+     * @return The maximum clock skew in milliseconds
+     */
+    public long getMaxClockSkewMillis() {
+        return maxClockSkewMillis;
+    }
+
+    /**
+     * Sets how far the {@code X-TIMESTAMP} of a callback may be from the local clock;
+     * older or newer callbacks are rejected, which limits replays. Defaults to 5 minutes.
+     *
+     * @param maxClockSkewMillis The maximum clock skew in milliseconds
+     */
+    public void setMaxClockSkewMillis(long maxClockSkewMillis) {
+        checkNotStarted();
+        if (maxClockSkewMillis < 1) {
+            throw new IllegalArgumentException("maxClockSkewMillis must be positive");
+        }
+        this.maxClockSkewMillis = maxClockSkewMillis;
+    }
+
+    /**
+     * Stops listening and waits for the server threads, then lets the handler threads finish
+     * the queued callbacks, for up to five seconds in all. Callbacks arriving during close are
+     * answered with HTTP 503, so Faspay sends them again.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!started) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+        server.stop(0);
+        serverExecutor.shutdown();
+        try {
+            // A server thread still in handle() may queue one more callback
+            if (!serverExecutor.awaitTermination(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                logger.warn("Callback server threads still busy after close");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        draining = true;
+
+        for (Worker worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Worker worker : workers) {
+            if (worker.isAlive()) {
+                logger.warn("Callback handler thread {} still busy with {} queued callbacks", worker.getName(), worker.queue.size());
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange, boolean transfer) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, METHOD_NOT_ALLOWED);
+                return;
+            }
+            byte[] body = readBody(exchange);
+            if (body == null) {
+                respond(exchange, 413, TOO_LARGE);
+                return;
+            }
+            received.increment();
+
+            if (!isAuthentic(exchange, body)) {
+                rejected.increment();
+                respond(exchange, 401, UNAUTHORIZED);
+                return;
+            }
+
+            Runnable task;
+            String reference;
+            try {
+                if (transfer) {
+                    StatusTransferResponse notification = transferReader.readValue(body);
+                    reference = notification.getOriginalPartnerReferenceNo();
+                    task = () -> deliver(transferHandlers, notification);
+                } else {
+                    CustomerTopupStatusResponse notification = topupReader.readValue(body);
+                    reference = notification.getOriginalPartnerReferenceNo();
+                    task = () -> deliver(topupHandlers, notification);
+                }
+            } catch (IOException e) {
+                logger.warn("Unreadable callback on {}: {}", exchange.getRequestURI().getPath(), e.getMessage());
+                respond(exchange, 400, BAD_REQUEST);
+                return;
+            }
+
+            if (closed) {
+                respond(exchange, 503, UNAVAILABLE);
+                return;
+            }
+            if (!workerFor(reference).queue.offer(task)) {
+                dropped.increment();
+                respond(exchange, 429, TOO_MANY_REQUESTS);
+                return;
+            }
+            respond(exchange, 200, OK);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isAuthentic(HttpExchange exchange, byte[] body) {
+        Headers headers = exchange.getRequestHeaders();
+        String timestamp = headers.getFirst("X-TIMESTAMP");
+        String signature = headers.getFirst("X-SIGNATURE");
+        if (timestamp == null || signature == null) {
+            return false;
+        }
+        try {
+            long skew = Math.abs(System.currentTimeMillis() - OffsetDateTime.parse(timestamp).toInstant().toEpochMilli());
+            if (skew > maxClockSkewMillis) {
+                logger.warn("Callback timestamp {} is {} ms off the local clock", timestamp, skew);
+                return false;
+            }
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+
+        // Faspay signs callbacks the way partners sign requests, over the relative URL it called
+        String query = exchange.getRequestURI().getRawQuery();
+        String relativeUrl = exchange.getRequestURI().getRawPath() + (query != null ? "?" + query : "");
+        String stringToSign = SignatureUtil.createStringToSign(exchange.getRequestMethod(), relativeUrl,
+                new String(body, StandardCharsets.UTF_8), timestamp);
+        return verifier.verify(stringToSign, signature);
+    }
+
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > maxBodyBytes) {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(maxBodyBytes + 1);
+            return body.length > maxBodyBytes ? null : body;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Worker workerFor(String reference) {
+        Worker[] current = workers;
+        int hash = reference != null ? reference.hashCode() : 0;
+        return current[(hash & Integer.MAX_VALUE) % current.length];
+    }
+
+    private <T> void deliver(List<Consumer<T>> handlers, T notification) {
+        for (Consumer<T> handler : handlers) {
+            try {
+                handler.accept(notification);
+            } catch (RuntimeException e) {
+                handlerErrors.increment();
+                logger.error("Callback handler failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void checkNotStarted() {
+        if (started || closed) {
+            throw new IllegalStateException("Callback receiver is already started");
+        }
+    }
+
+    private static String checkPath(String path) {
+        Objects.requireNonNull(path, "path must not be null");
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException("path must start with '/'");
+        }
+        return path;
+    }
+
+    private static byte[] response(String responseCode, String responseMessage) {
+        return ("{\"responseCode\":\"" + responseCode + "\",\"responseMessage\":\"" + responseMessage + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A handler thread with its own bounded queue. Once the server threads have stopped it
+     * drains the queue and exits.
+     */
+    private final class Worker extends Thread {
+        final BlockingQueue<Runnable> queue;
+
+        Worker(String name, int capacity) {
+            super(name);
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (task != null) {
+                    task.run();
+                } else if (draining) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -9,6 +9,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for the Account Inquiry API.
@@ -27,8 +29,16 @@ public class AccountInquiryClient {
      * @param config The configuration for the Faspay SendMe Snap API
      */
     public AccountInquiryClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
-        this.httpClient = new FaspaySnapHttpClient(config);
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
+
+    /**
+     * Creates a new client on top of a shared HTTP client.
+     *
+     * @param httpClient The shared HTTP client for the Faspay SendMe Snap API
+     */
+    public AccountInquiryClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
@@ -59,12 +69,24 @@ public class AccountInquiryClient {
      * @throws FaspaySnapApiException If an error occurs while making the request
      */
     public AccountInquiryResponse inquire(AccountInquiryRequest request) throws FaspaySnapApiException {
+        return inquire(request, null);
+    }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @param deadline The deadline of the call, or null for none
+     * @return The response from the API
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public AccountInquiryResponse inquire(AccountInquiryRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("Inquiring about account {} at bank {}", request.getAccountNumber(), request.getBankCode());
 
         try {
-            AccountInquiryResponse response = httpClient.post(constants.getEndpointAccountInquiry(), constants.getUserAgent(), request, AccountInquiryResponse.class);
+            AccountInquiryResponse response = httpClient.post(constants.getEndpointAccountInquiry(), constants.getUserAgent(), request, AccountInquiryResponse.class, deadline);
 
             logger.info("Account inquiry completed with status: {}", response.getAdditionalInfo().get("status"));
 
@@ -74,4 +96,49 @@ public class AccountInquiryClient {
             throw e;
         }
     }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<AccountInquiryResponse> inquireAsync(AccountInquiryRequest request) {
+        return inquireAsync(request, null);
+    }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<AccountInquiryResponse> inquireAsync(AccountInquiryRequest request, Executor executor) {
+        return inquireAsync(request, null, executor);
+    }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @param deadline The deadline of the call, or null for none
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<AccountInquiryResponse> inquireAsync(AccountInquiryRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("Inquiring about account {} at bank {}", request.getAccountNumber(), request.getBankCode());
+
+        CompletableFuture<AccountInquiryResponse> future = httpClient.postAsync(constants.getEndpointAccountInquiry(), constants.getUserAgent(), request, AccountInquiryResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("Account inquiry completed with status: {}", response.getAdditionalInfo().get("status"));
+            } else {
+                logger.error("Error inquiring about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -0,0 +1,247 @@
+package id.co.faspay.snap.client;
+
+import id.co.faspay.snap.config.ConcurrencyLimit;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency-based concurrency limiter for one endpoint, modelled on TCP Vegas.
+ * Samples are aggregated in windows of a few calls. The lowest observed round-trip
+ * time is taken as the no-load latency; from it and the average of the latest window
+ * the limiter estimates how many requests are queueing on the server side. It grows
+ * the limit while that queue is short and shrinks it when the queue builds up. A window
+ * with dropped requests (timeouts, connection errors, 429/503/504) cuts the limit
+ * multiplicatively, as in AIMD.
+ * -
+ * Requests over the limit wait in a FIFO queue; waiters are handed a permit as soon
+ * as one is released, so the asynchronous path never blocks a thread.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int WINDOW_SIZE = 20;
+    private static final int PROBE_INTERVAL = 100;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentLinkedQueue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // Short critical section; a lock rather than synchronized so virtual threads don't pin
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    // Guarded by updateLock
+    private double estimatedLimit;
+    private long noLoadRttNanos;
+    private long windows;
+    private long windowRttSum;
+    private long windowMinRtt;
+    private int windowMaxInFlight;
+    private int windowCount;
+    private boolean windowDropped;
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param name The name reported in logs and metrics, typically the endpoint path
+     * @param bounds The initial, minimum and maximum limit
+     */
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimit bounds) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        Objects.requireNonNull(bounds, "bounds must not be null");
+        this.minLimit = bounds.getMinLimit();
+        this.maxLimit = bounds.getMaxLimit();
+        this.limit = bounds.getInitialLimit();
+        this.estimatedLimit = bounds.getInitialLimit();
+    }
+
+    /**
+     * Requests a permit to start a call.
+     * The returned future is already complete when the limit allows the call right away;
+     * otherwise it completes when a permit becomes free. Every granted permit must be
+     * given back through {@link #release(long, int, boolean)} or {@link #release()}.
+     * A caller that stops waiting should call {@link #cancel(CompletableFuture)}.
+     *
+     * @return A future completed when the permit is granted
+     */
+    public CompletableFuture<Void> acquire() {
+        if (tryAcquire()) {
+            return GRANTED;
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        queued.incrementAndGet();
+        // A permit may have been released between tryAcquire() and add()
+        drain();
+        return waiter;
+    }
+
+    /**
+     * Withdraws a pending request for a permit.
+     * If the permit was granted in the meantime it is released again.
+     *
+     * @param waiter The future returned by {@link #acquire()}
+     */
+    public void cancel(CompletableFuture<Void> waiter) {
+        if (waiter == GRANTED || !waiter.cancel(false)) {
+            release();
+            return;
+        }
+        if (waiters.remove(waiter)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gives back a permit and feeds the outcome of the call into the limit.
+     *
+     * @param rttNanos The duration of the call in nanoseconds
+     * @param inFlightAtStart The number of calls in flight when this call started
+     * @param dropped Whether the call timed out, failed to connect or was rejected for overload
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        update(rttNanos, inFlightAtStart, dropped);
+        release();
+    }
+
+    /**
+     * Gives back a permit without adjusting the limit, e.g. for a call that was never sent.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return The number of calls allowed in flight
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the number of calls currently in flight.
+     *
+     * @return The number of granted permits
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of calls waiting for a permit.
+     *
+     * @return The queue length
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the name of this limiter.
+     *
+     * @return The name, typically the endpoint path
+     */
+    public String getName() {
+        return name;
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            CompletableFuture<Void> waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                // Another thread took the last waiter; re-check in case one was added meanwhile
+                continue;
+            }
+            queued.decrementAndGet();
+            if (!waiter.complete(null)) {
+                // Cancelled while queued; hand the permit to the next waiter
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowMinRtt = windowCount == 0 ? rttNanos : Math.min(windowMinRtt, rttNanos);
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+            windowDropped |= dropped;
+            if (++windowCount < WINDOW_SIZE) {
+                return;
+            }
+
+            long averageRtt = windowRttSum / windowCount;
+            long minRtt = windowMinRtt;
+            int maxInFlight = windowMaxInFlight;
+            boolean anyDropped = windowDropped;
+            windowRttSum = 0;
+            windowCount = 0;
+            windowMaxInFlight = 0;
+            windowDropped = false;
+
+            if (anyDropped) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+                limit = (int) estimatedLimit;
+                return;
+            }
+
+            // Periodically forget the baseline so a permanent latency shift is picked up
+            if (noLoadRttNanos == 0 || minRtt < noLoadRttNanos || ++windows % PROBE_INTERVAL == 0) {
+                noLoadRttNanos = minRtt;
+            }
+
+            // Too few calls to tell whether the limit is too low; don't grow into unused headroom
+            if (maxInFlight * 2 < estimatedLimit) {
+                return;
+            }
+
+            double step = Math.max(1.0, Math.log10(estimatedLimit));
+            double queueSize = estimatedLimit * (1.0 - (double) noLoadRttNanos / averageRtt);
+            if (queueSize <= 3 * step) {
+                estimatedLimit = Math.min(maxLimit, estimatedLimit + step);
+            } else if (queueSize > 6 * step) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit - step);
+            }
+            limit = (int) estimatedLimit;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimiter{" +
+                "name='" + name + '\'' +
+                ", limit=" + limit +
+                ", inFlight=" + inFlight.get() +
+                ", queued=" + queued.get() +
+                '}';
+    }
+}
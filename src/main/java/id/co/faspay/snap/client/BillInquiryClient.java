@@ -9,6 +9,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class BillInquiryClient {
     private static final Logger logger = LoggerFactory.getLogger(BillInquiryClient.class);
@@ -16,8 +18,11 @@ public class BillInquiryClient {
     private final FaspaySnapHttpClient httpClient;
 
     public BillInquiryClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
-        this.httpClient = new FaspaySnapHttpClient(config);
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
+
+    public BillInquiryClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
@@ -29,12 +34,24 @@ public class BillInquiryClient {
      * @throws FaspaySnapApiException If an error occurs during the API call
      */
     public BillInquiryResponse billInquiry(BillInquiryRequest request) throws FaspaySnapApiException {
+        return billInquiry(request, null);
+    }
+
+    /**
+     * Performs a bill inquiry for the specified virtual account.
+     *
+     * @param request The bill inquiry request containing virtual account details
+     * @param deadline The deadline of the call, or null for none
+     * @return The bill inquiry response with virtual account data
+     * @throws FaspaySnapApiException If an error occurs during the API call
+     */
+    public BillInquiryResponse billInquiry(BillInquiryRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("bill inquiry about virtual account {}", request.getVirtualAccountNo());
 
         try {
-            BillInquiryResponse response = httpClient.post(constants.getEndpointBillInquiry(), constants.getUserAgent(), request, BillInquiryResponse.class);
+            BillInquiryResponse response = httpClient.post(constants.getEndpointBillInquiry(), constants.getUserAgent(), request, BillInquiryResponse.class, deadline);
 
             logger.info("bill inquiry completed with response code: {}", response.getResponseCode());
 
@@ -44,4 +61,49 @@ public class BillInquiryClient {
             throw e;
         }
     }
+
+    /**
+     * Performs a bill inquiry for the specified virtual account.
+     *
+     * @param request The bill inquiry request containing virtual account details
+     * @return A future completed with the bill inquiry response
+     */
+    public CompletableFuture<BillInquiryResponse> billInquiryAsync(BillInquiryRequest request) {
+        return billInquiryAsync(request, null);
+    }
+
+    /**
+     * Performs a bill inquiry for the specified virtual account.
+     *
+     * @param request The bill inquiry request containing virtual account details
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the bill inquiry response
+     */
+    public CompletableFuture<BillInquiryResponse> billInquiryAsync(BillInquiryRequest request, Executor executor) {
+        return billInquiryAsync(request, null, executor);
+    }
+
+    /**
+     * Performs a bill inquiry for the specified virtual account.
+     *
+     * @param request The bill inquiry request containing virtual account details
+     * @param deadline The deadline of the call, or null for none
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the bill inquiry response
+     */
+    public CompletableFuture<BillInquiryResponse> billInquiryAsync(BillInquiryRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("bill inquiry about virtual account {}", request.getVirtualAccountNo());
+
+        CompletableFuture<BillInquiryResponse> future = httpClient.postAsync(constants.getEndpointBillInquiry(), constants.getUserAgent(), request, BillInquiryResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("bill inquiry completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error performing bill inquiry: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -9,6 +9,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class BillPaymentClient {
     private static final Logger logger = LoggerFactory.getLogger(BillPaymentClient.class);
@@ -16,18 +18,25 @@ public class BillPaymentClient {
     private final FaspaySnapHttpClient httpClient;
 
     public BillPaymentClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
-        this.httpClient = new FaspaySnapHttpClient(config);
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
+
+    public BillPaymentClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
     public BillPaymentResponse billPayment(BillPaymentRequest request) throws FaspaySnapApiException {
+        return billPayment(request, null);
+    }
+
+    public BillPaymentResponse billPayment(BillPaymentRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("bill payment about virtual account {}", request.getVirtualAccountNo());
 
         try {
-            BillPaymentResponse response = httpClient.post(constants.getEndpointBillPayment(), constants.getUserAgent(), request, BillPaymentResponse.class);
+            BillPaymentResponse response = httpClient.post(constants.getEndpointBillPayment(), constants.getUserAgent(), request, BillPaymentResponse.class, deadline);
 
             logger.info("bill payment completed with response code: {}", response.getResponseCode());
 
@@ -37,4 +46,28 @@ public class BillPaymentClient {
             throw e;
         }
     }
+
+    public CompletableFuture<BillPaymentResponse> billPaymentAsync(BillPaymentRequest request) {
+        return billPaymentAsync(request, null);
+    }
+
+    public CompletableFuture<BillPaymentResponse> billPaymentAsync(BillPaymentRequest request, Executor executor) {
+        return billPaymentAsync(request, null, executor);
+    }
+
+    public CompletableFuture<BillPaymentResponse> billPaymentAsync(BillPaymentRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("bill payment about virtual account {}", request.getVirtualAccountNo());
+
+        CompletableFuture<BillPaymentResponse> future = httpClient.postAsync(constants.getEndpointBillPayment(), constants.getUserAgent(), request, BillPaymentResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("bill payment completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error transfer status about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -9,6 +9,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class CustomerTopupClient {
     private static final Logger logger = LoggerFactory.getLogger(CustomerTopupClient.class);
@@ -16,18 +18,25 @@ public class CustomerTopupClient {
     private final FaspaySnapHttpClient httpClient;
 
     public CustomerTopupClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
-        this.httpClient = new FaspaySnapHttpClient(config);
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
+
+    public CustomerTopupClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
     public CustomerTopupResponse topup (CustomerTopupRequest request) throws FaspaySnapApiException {
+        return topup(request, null);
+    }
+
+    public CustomerTopupResponse topup(CustomerTopupRequest request, Deadline deadline) throws FaspaySnapApiException {
         logger.debug("Processing customer topup request: {}", request);
 
         logger.info("customer topup about account {} at platform {}", request.getAdditionalInfo().getSourceAccount(), request.getAdditionalInfo().getPlatformCode());
 
         try {
-            CustomerTopupResponse response = httpClient.post(constants.getEndpointCustomerTopup(), constants.getUserAgent(), request, CustomerTopupResponse.class);
+            CustomerTopupResponse response = httpClient.post(constants.getEndpointCustomerTopup(), constants.getUserAgent(), request, CustomerTopupResponse.class, deadline);
 
             logger.info("transfer status completed with response code: {}", response.getResponseCode());
 
@@ -37,4 +46,30 @@ public class CustomerTopupClient {
             throw e;
         }
     }
+
+    public CompletableFuture<CustomerTopupResponse> topupAsync(CustomerTopupRequest request) {
+        return topupAsync(request, null);
+    }
+
+    public CompletableFuture<CustomerTopupResponse> topupAsync(CustomerTopupRequest request, Executor executor) {
+        return topupAsync(request, null, executor);
+    }
+
+    public CompletableFuture<CustomerTopupResponse> topupAsync(CustomerTopupRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing customer topup request: {}", request);
+
+        logger.info("customer topup about account {} at platform {}", request.getAdditionalInfo().getSourceAccount(), request.getAdditionalInfo().getPlatformCode());
+
+        CompletableFuture<CustomerTopupResponse> future = httpClient.postAsync(constants.getEndpointCustomerTopup(), constants.getUserAgent(), request, CustomerTopupResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("transfer status completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error transfer status about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -10,6 +10,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class CustomerTopupStatusClient {
     private static final Logger logger = LoggerFactory.getLogger(CustomerTopupStatusClient.class);
@@ -17,19 +19,25 @@ public class CustomerTopupStatusClient {
     private final FaspaySnapHttpClient httpClient;
 
     public CustomerTopupStatusClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
 
-        this.httpClient = new FaspaySnapHttpClient(config);
+    public CustomerTopupStatusClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
     public CustomerTopupStatusResponse status(CustomerTopupStatusRequest request) throws FaspaySnapApiException {
+        return status(request, null);
+    }
+
+    public CustomerTopupStatusResponse status(CustomerTopupStatusRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("topup status about account {} at service code {}", request.getOriginalReferenceNo(), request.getServiceCode());
 
         try {
-            CustomerTopupStatusResponse response = httpClient.post(constants.getEndpointCustomerTopupStatus(), constants.getUserAgent(), request, CustomerTopupStatusResponse.class);
+            CustomerTopupStatusResponse response = httpClient.post(constants.getEndpointCustomerTopupStatus(), constants.getUserAgent(), request, CustomerTopupStatusResponse.class, deadline);
 
             logger.info("transfer status completed with response code: {}", response.getResponseCode());
 
@@ -39,4 +47,28 @@ public class CustomerTopupStatusClient {
             throw e;
         }
     }
+
+    public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request) {
+        return statusAsync(request, null);
+    }
+
+    public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request, Executor executor) {
+        return statusAsync(request, null, executor);
+    }
+
+    public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("topup status about account {} at service code {}", request.getOriginalReferenceNo(), request.getServiceCode());
+
+        CompletableFuture<CustomerTopupStatusResponse> future = httpClient.postAsync(constants.getEndpointCustomerTopupStatus(), constants.getUserAgent(), request, CustomerTopupStatusResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("transfer status completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error transfer status about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -0,0 +1,85 @@
+package id.co.faspay.snap.client;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a call must have completed, covering the wait for a concurrency
+ * permit, signing, the network call and reading the response together.
+ * A call whose deadline has passed before it is signed fails without being signed or sent.
+ * Deadlines are measured on {@link System#nanoTime()}, so they are immune to wall clock
+ * changes and can be passed from one call to the next to share one budget.
+ */
+public final class Deadline {
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline the given duration from now.
+     *
+     * @param timeout The time budget
+     * @return The deadline
+     */
+    public static Deadline after(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout must not be null");
+        return after(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a deadline the given time from now.
+     *
+     * @param timeout The time budget
+     * @param unit The unit of the time budget
+     * @return The deadline
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit must not be null");
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return The remaining time in nanoseconds, zero or negative once the deadline has passed
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return The remaining time in milliseconds, zero or negative once the deadline has passed
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    /**
+     * Checks if the deadline has passed.
+     *
+     * @return True if no time is left
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Gets the earlier of this deadline and another.
+     *
+     * @param other The other deadline, or null
+     * @return The earlier deadline
+     */
+    public Deadline min(Deadline other) {
+        return other == null || deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remainingMillis=" + remainingMillis() + '}';
+    }
+}
@@ -1,30 +1,70 @@
 package id.co.faspay.snap.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.co.faspay.snap.config.ConcurrencyLimit;
 import id.co.faspay.snap.config.FaspaySnapConfig;
+import id.co.faspay.snap.config.Timeouts;
+import id.co.faspay.snap.exception.DeadlineExceededException;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.jfr.CallTrace;
+import id.co.faspay.snap.metrics.ClientMetrics;
+import id.co.faspay.snap.metrics.Phase;
+import id.co.faspay.snap.model.SnapResponse;
+import id.co.faspay.snap.util.CanonicalJsonWriter;
+import id.co.faspay.snap.util.JsonCodecs;
+import id.co.faspay.snap.util.RsaSigningPool;
 import id.co.faspay.snap.util.SignatureUtil;
+import id.co.faspay.snap.util.VirtualThreads;
 import okhttp3.*;
 import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.Objects;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * HTTP client for making requests to the Faspay SendMe Snap API.
  * This class handles the low-level HTTP communication with the API.
+ * A single instance owns the connection pool and dispatcher and is
+ * meant to be shared by all endpoint clients of one {@code FaspaySnapClient}, so
+ * keep-alive sockets and TLS sessions are reused across endpoints.
+ * Endpoints with their own {@link Timeouts} get a derived OkHttpClient that shares the
+ * same pool and dispatcher. Every call is reported to the configured {@link ClientMetrics}.
+ * With signing threads configured, requests are signed on an {@link RsaSigningPool} owned
+ * by this client instead of on the calling thread.
  */
-public class FaspaySnapHttpClient {
+public class FaspaySnapHttpClient implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(FaspaySnapHttpClient.class);
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
 
     private final FaspaySnapConfig config;
     private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final CanonicalJsonWriter jsonWriter;
+    private final boolean ownsExecutor;
+    private final ConcurrentHashMap<String, AdaptiveConcurrencyLimiter> limiters;
+    private final ConcurrentHashMap<String, OkHttpClient> endpointClients = new ConcurrentHashMap<>();
+    // Timeouts as of construction; endpoint clients are built lazily, but from these
+    private final Timeouts defaultTimeouts;
+    private final Map<String, Timeouts> endpointTimeouts;
+    private final ClientMetrics metrics;
+    private final RsaSigningPool signingPool;
 
     /**
      * Creates a new HTTP client with the provided configuration.
@@ -34,18 +74,40 @@ public class FaspaySnapHttpClient {
     public FaspaySnapHttpClient(FaspaySnapConfig config) {
         this.config = Objects.requireNonNull(config, "config must not be null");
 
+        Dispatcher dispatcher;
+        if (config.getCallExecutor() != null) {
+            dispatcher = new Dispatcher(config.getCallExecutor());
+            this.ownsExecutor = false;
+        } else if (config.isVirtualThreads()) {
+            dispatcher = new Dispatcher(VirtualThreads.newExecutor("faspay-snap-call-"));
+            this.ownsExecutor = true;
+        } else {
+            dispatcher = new Dispatcher();
+            this.ownsExecutor = true;
+        }
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        this.defaultTimeouts = config.getDefaultTimeouts();
+        this.endpointTimeouts = config.getEndpointTimeouts();
+
         // Configure OkHttpClient with SSL context from config
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
+        this.httpClient = withTimeouts(new OkHttpClient.Builder(), defaultTimeouts)
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                        config.getKeepAliveDurationMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
                 .sslSocketFactory(config.getSslContext().getSocketFactory(), config.getTrustManager())
+                .eventListenerFactory(CallTrace.eventListenerFactory())
                 .build();
 
-        // Configure ObjectMapper for JSON serialization/deserialization
-        this.objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Shared JSON configuration; serializers for all models are resolved once per JVM
+        this.jsonWriter = new CanonicalJsonWriter();
+        this.limiters = config.isAdaptiveConcurrency() ? new ConcurrentHashMap<>() : null;
+        this.metrics = config.getMetrics();
+        metrics.bindTo(this);
+        this.signingPool = config.getSigningThreads() > 0
+                ? new RsaSigningPool(config.getSigner(), config.getSigningThreads())
+                : null;
     }
 
     /**
@@ -59,19 +121,603 @@ public class FaspaySnapHttpClient {
      * @throws FaspaySnapApiException If an error occurs while making the request
      */
     public <T> T post(String endpoint, String userAgent, Object requestBody, Class<T> responseType) throws FaspaySnapApiException {
+        return post(endpoint, userAgent, requestBody, responseType, null);
+    }
+
+    /**
+     * Makes a POST request that must complete before the deadline. A request whose deadline
+     * passes while it waits for a concurrency permit fails without being signed or sent.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param responseType The class of the expected response
+     * @param deadline The deadline of the call, or null for none
+     * @param <T> The type of the expected response
+     * @return The response from the API
+     * @throws DeadlineExceededException If the deadline passes before the response is read
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public <T> T post(String endpoint, String userAgent, Object requestBody, Class<T> responseType, Deadline deadline)
+            throws FaspaySnapApiException {
+        return execute(endpoint, userAgent, requestBody, deadline,
+                (response, sentAt, trace) -> handleResponse(endpoint, response, sentAt, responseType, trace));
+    }
+
+    /**
+     * Makes a POST request and hands the response body stream to the given reader instead
+     * of buffering it, for responses too large to hold in memory at once.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param reader The reader that consumes the successful response body
+     * @param <T> The type produced by the reader
+     * @return The value produced by the reader
+     * @throws FaspaySnapApiException If an error occurs while making the request or reading the response
+     */
+    public <T> T postStreaming(String endpoint, String userAgent, Object requestBody, ResponseBodyReader<T> reader)
+            throws FaspaySnapApiException {
+        return postStreaming(endpoint, userAgent, requestBody, reader, null);
+    }
+
+    /**
+     * Makes a streaming POST request that must complete, including reading the whole
+     * response body, before the deadline.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param reader The reader that consumes the successful response body
+     * @param deadline The deadline of the call, or null for none
+     * @param <T> The type produced by the reader
+     * @return The value produced by the reader
+     * @throws DeadlineExceededException If the deadline passes before the response is read
+     * @throws FaspaySnapApiException If an error occurs while making the request or reading the response
+     */
+    public <T> T postStreaming(String endpoint, String userAgent, Object requestBody, ResponseBodyReader<T> reader,
+                               Deadline deadline) throws FaspaySnapApiException {
+        return execute(endpoint, userAgent, requestBody, deadline, (response, sentAt, trace) -> {
+            long receivedAt = System.nanoTime();
+            metrics.recordPhase(endpoint, Phase.NETWORK, receivedAt - sentAt);
+            ResponseBody body = response.body();
+            if (!response.isSuccessful()) {
+                String responseBody = body != null ? body.string() : "";
+                throw new FaspaySnapApiException("API request failed with status code " + response.code() + ": " + responseBody, response.code());
+            }
+            if (body == null) {
+                throw new FaspaySnapApiException("API request returned an empty response body");
+            }
+
+            trace.begin(CallTrace.Step.PARSE);
+            try (InputStream in = body.byteStream()) {
+                return reader.read(in);
+            } catch (JsonProcessingException e) {
+                logger.error("Error parsing response: {}", e.getMessage());
+                throw new FaspaySnapApiException("Error parsing response: " + e.getMessage(), e);
+            } finally {
+                trace.end(CallTrace.Step.PARSE);
+                metrics.recordPhase(endpoint, Phase.PARSE, System.nanoTime() - receivedAt);
+            }
+        });
+    }
+
+    /**
+     * Runs a blocking POST call, holding a permit of the endpoint's concurrency limiter if enabled.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param deadline The deadline of the call, or null for none
+     * @param handler The handler that converts the response
+     * @param <T> The type produced by the handler
+     * @return The value produced by the handler
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    private <T> T execute(String endpoint, String userAgent, Object requestBody, Deadline deadline,
+                          ResponseHandler<T> handler) throws FaspaySnapApiException {
+        metrics.callStarted(endpoint);
+        CallTrace trace = CallTrace.start(endpoint);
+        long callStart = System.nanoTime();
+        T value = null;
+        Throwable failure = null;
+        try {
+            value = send(endpoint, userAgent, requestBody, deadline, handler, trace);
+            return value;
+        } catch (FaspaySnapApiException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            String outcome = outcomeOf(value, failure);
+            metrics.callCompleted(endpoint, outcome, System.nanoTime() - callStart);
+            trace.finish(outcome);
+        }
+    }
+
+    private <T> T send(String endpoint, String userAgent, Object requestBody, Deadline deadline,
+                       ResponseHandler<T> handler, CallTrace trace) throws FaspaySnapApiException {
+        checkDeadline(deadline, endpoint);
+        AdaptiveConcurrencyLimiter limiter = limiterFor(endpoint);
+        if (limiter != null) {
+            long queuedAt = System.nanoTime();
+            awaitPermit(limiter, deadline);
+            metrics.recordPhase(endpoint, Phase.QUEUE, System.nanoTime() - queuedAt);
+        }
+        int inFlight = limiter != null ? limiter.getInFlight() : 0;
+        long start = System.nanoTime();
+        boolean sent = false;
+        boolean dropped = false;
+
+        try {
+            // Do not spend a signature on a call nobody is waiting for
+            checkDeadline(deadline, endpoint);
+            // The call executes on this thread, so the body can point straight at the reusable buffer
+            UnsignedRequest unsigned = prepareRequest(endpoint, userAgent, requestBody, false, trace);
+            Request request = unsigned.sign(awaitSignature(unsigned, deadline));
+            sent = true;
+
+            // Execute the request
+            long sentAt = System.nanoTime();
+            try (Response response = newCall(endpoint, request, deadline).execute()) {
+                dropped = isOverloaded(response.code());
+                return handler.handle(response, sentAt, trace);
+            }
+        } catch (IOException e) {
+            dropped = sent;
+            logger.error("Error making POST request to {}: {}", endpoint, e.getMessage());
+            throw toApiException(e, endpoint, deadline);
+        } finally {
+            if (limiter != null) {
+                if (sent) {
+                    limiter.release(System.nanoTime() - start, inFlight, dropped);
+                } else {
+                    limiter.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes a non-blocking POST request to the specified endpoint with the given request body.
+     * The request is signed and enqueued on the shared dispatcher once the endpoint's
+     * concurrency limiter grants a permit, so no thread is parked while the call waits
+     * or is in flight.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param responseType The class of the expected response
+     * @param executor The executor that completes the returned future, or null to complete
+     *                 it on the HTTP dispatcher thread
+     * @param <T> The type of the expected response
+     * @return A future completed with the response, or exceptionally with a FaspaySnapApiException
+     */
+    public <T> CompletableFuture<T> postAsync(String endpoint, String userAgent, Object requestBody,
+                                              Class<T> responseType, Executor executor) {
+        return postAsync(endpoint, userAgent, requestBody, responseType, null, executor);
+    }
+
+    /**
+     * Makes a non-blocking POST request that must complete before the deadline.
+     * A request still waiting for a concurrency permit when the deadline passes is removed
+     * from the queue and fails without being signed or sent.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param responseType The class of the expected response
+     * @param deadline The deadline of the call, or null for none
+     * @param executor The executor that completes the returned future, or null to complete
+     *                 it on the HTTP dispatcher thread
+     * @param <T> The type of the expected response
+     * @return A future completed with the response, or exceptionally with a FaspaySnapApiException,
+     *         which is a DeadlineExceededException if the deadline passed
+     */
+    public <T> CompletableFuture<T> postAsync(String endpoint, String userAgent, Object requestBody,
+                                              Class<T> responseType, Deadline deadline, Executor executor) {
+        metrics.callStarted(endpoint);
+        CallTrace trace = CallTrace.start(endpoint);
+        long callStart = System.nanoTime();
+        CompletableFuture<T> future = sendAsync(endpoint, userAgent, requestBody, responseType, deadline, executor, trace);
+        future.whenComplete((value, error) -> {
+            String outcome = outcomeOf(value, error);
+            metrics.callCompleted(endpoint, outcome, System.nanoTime() - callStart);
+            trace.finish(outcome);
+        });
+        return future;
+    }
+
+    private <T> CompletableFuture<T> sendAsync(String endpoint, String userAgent, Object requestBody,
+                                               Class<T> responseType, Deadline deadline, Executor executor,
+                                               CallTrace trace) {
+        AdaptiveConcurrencyLimiter limiter = limiterFor(endpoint);
+        if (limiter == null) {
+            return enqueue(endpoint, userAgent, requestBody, responseType, deadline, executor, null, trace);
+        }
+        if (deadline != null && deadline.isExpired()) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(expired(endpoint));
+            return future;
+        }
+
+        long queuedAt = System.nanoTime();
+        CompletableFuture<Void> permit = limiter.acquire();
+        if (permit.isDone()) {
+            metrics.recordPhase(endpoint, Phase.QUEUE, System.nanoTime() - queuedAt);
+            return enqueue(endpoint, userAgent, requestBody, responseType, deadline, executor, limiter, trace);
+        }
+
+        // Sign only once the permit is granted, so the timestamp is not stale when the call is sent
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // Either the grant or the deadline timer gets to act on the permit, never both
+        AtomicBoolean claimed = new AtomicBoolean();
+        permit.thenRun(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            metrics.recordPhase(endpoint, Phase.QUEUE, System.nanoTime() - queuedAt);
+            enqueue(endpoint, userAgent, requestBody, responseType, deadline, executor, limiter, trace)
+                    .whenComplete((value, error) -> {
+                        if (error != null) {
+                            future.completeExceptionally(error);
+                        } else {
+                            future.complete(value);
+                        }
+                    });
+        });
+        if (deadline != null) {
+            CompletableFuture.delayedExecutor(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS).execute(() -> {
+                if (claimed.compareAndSet(false, true)) {
+                    // Releases the permit again if it was granted in the meantime
+                    limiter.cancel(permit);
+                    completeExceptionally(future, new DeadlineExceededException(
+                            "Deadline exceeded waiting for a concurrency permit for " + endpoint, false), executor);
+                }
+            });
+        }
+        return future;
+    }
+
+    private <T> CompletableFuture<T> enqueue(String endpoint, String userAgent, Object requestBody,
+                                             Class<T> responseType, Deadline deadline, Executor executor,
+                                             AdaptiveConcurrencyLimiter limiter, CallTrace trace) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (deadline != null && deadline.isExpired()) {
+            if (limiter != null) {
+                limiter.release();
+            }
+            completeExceptionally(future, expired(endpoint), executor);
+            return future;
+        }
+        UnsignedRequest unsigned;
+        try {
+            // The body is written later on a dispatcher thread, so it needs its own copy of the bytes
+            unsigned = prepareRequest(endpoint, userAgent, requestBody, true, trace);
+        } catch (IOException | RuntimeException e) {
+            if (limiter != null) {
+                limiter.release();
+            }
+            future.completeExceptionally(new FaspaySnapApiException("Error preparing POST request: " + e.getMessage(), e));
+            return future;
+        }
+
+        // With a signing pool, the call is handed to the dispatcher from the signing thread
+        signatureOf(unsigned, deadline).whenComplete((signature, error) -> {
+            if (error != null) {
+                if (limiter != null) {
+                    limiter.release();
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                completeExceptionally(future, cause instanceof DeadlineExceededException
+                        ? (DeadlineExceededException) cause
+                        : new FaspaySnapApiException("Error signing POST request: " + cause.getMessage(), cause), executor);
+            } else if (deadline != null && deadline.isExpired()) {
+                if (limiter != null) {
+                    limiter.release();
+                }
+                completeExceptionally(future, expired(endpoint), executor);
+            } else {
+                try {
+                    dispatch(endpoint, unsigned.sign(signature), responseType, deadline, executor, limiter, trace, future);
+                } catch (RuntimeException e) {
+                    // Nobody else would see this on a signing thread
+                    if (limiter != null) {
+                        limiter.release();
+                    }
+                    completeExceptionally(future, new FaspaySnapApiException("Error sending POST request: " + e.getMessage(), e), executor);
+                }
+            }
+        });
+        return future;
+    }
+
+    private <T> void dispatch(String endpoint, Request request, Class<T> responseType, Deadline deadline,
+                              Executor executor, AdaptiveConcurrencyLimiter limiter, CallTrace trace,
+                              CompletableFuture<T> future) {
+        int inFlight = limiter != null ? limiter.getInFlight() : 0;
+        long start = System.nanoTime();
+
+        newCall(endpoint, request, deadline).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (limiter != null) {
+                    limiter.release(System.nanoTime() - start, inFlight, true);
+                }
+                logger.error("Error making POST request to {}: {}", endpoint, e.getMessage());
+                completeExceptionally(future, toApiException(e, endpoint, deadline), executor);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                T value = null;
+                Throwable error = null;
+                boolean dropped = isOverloaded(response.code());
+                try (Response r = response) {
+                    value = handleResponse(endpoint, r, start, responseType, trace);
+                } catch (FaspaySnapApiException e) {
+                    error = e;
+                } catch (IOException e) {
+                    dropped = true;
+                    logger.error("Error reading response from {}: {}", endpoint, e.getMessage());
+                    error = toApiException(e, endpoint, deadline);
+                } catch (RuntimeException e) {
+                    error = new FaspaySnapApiException("Error handling response: " + e.getMessage(), e);
+                }
+
+                // Free the permit before running the caller's stages
+                if (limiter != null) {
+                    limiter.release(System.nanoTime() - start, inFlight, dropped);
+                }
+                if (error != null) {
+                    completeExceptionally(future, error, executor);
+                } else {
+                    complete(future, value, executor);
+                }
+            }
+        });
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(String endpoint) {
+        if (limiters == null) {
+            return null;
+        }
+        return limiters.computeIfAbsent(endpoint, this::newLimiter);
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(String endpoint) {
+        ConcurrencyLimit bounds = config.getConcurrencyLimit(endpoint);
+        int dispatcherLimit = Math.min(config.getMaxRequests(), config.getMaxRequestsPerHost());
+        if (bounds.getMaxLimit() > dispatcherLimit) {
+            logger.warn("Concurrency limit of {} can grow to {}, but the dispatcher runs at most {} requests at once;"
+                    + " raise maxRequests and maxRequestsPerHost to match", endpoint, bounds.getMaxLimit(), dispatcherLimit);
+        }
+        return new AdaptiveConcurrencyLimiter(endpoint, bounds);
+    }
+
+    /**
+     * Gets the OkHttpClient carrying the timeouts of an endpoint. Endpoints with the default
+     * timeouts use the shared client itself.
+     */
+    private OkHttpClient clientFor(String endpoint) {
+        OkHttpClient client = endpointClients.get(endpoint);
+        if (client != null) {
+            return client;
+        }
+        Timeouts timeouts = endpointTimeouts.getOrDefault(endpoint, defaultTimeouts);
+        return endpointClients.computeIfAbsent(endpoint, e -> timeouts.equals(defaultTimeouts)
+                ? httpClient
+                : withTimeouts(httpClient.newBuilder(), timeouts).build());
+    }
+
+    private static OkHttpClient.Builder withTimeouts(OkHttpClient.Builder builder, Timeouts timeouts) {
+        return builder
+                .connectTimeout(timeouts.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(timeouts.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(timeouts.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(timeouts.getCallTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a call whose whole-call timeout is cut to the time left before the deadline.
+     */
+    private Call newCall(String endpoint, Request request, Deadline deadline) {
+        Call call = clientFor(endpoint).newCall(request);
+        if (deadline != null) {
+            // A timeout of 0 means none, so an expired deadline still gets the shortest one
+            long remaining = Math.max(1, deadline.remainingNanos());
+            long callTimeout = call.timeout().timeoutNanos();
+            call.timeout().timeout(callTimeout == 0 ? remaining : Math.min(callTimeout, remaining), TimeUnit.NANOSECONDS);
+        }
+        return call;
+    }
+
+    private static void checkDeadline(Deadline deadline, String endpoint) throws DeadlineExceededException {
+        if (deadline != null && deadline.isExpired()) {
+            throw expired(endpoint);
+        }
+    }
+
+    private static DeadlineExceededException expired(String endpoint) {
+        return new DeadlineExceededException("Deadline exceeded before sending request to " + endpoint, false);
+    }
+
+    private static FaspaySnapApiException toApiException(IOException e, String endpoint, Deadline deadline) {
+        if (e instanceof InterruptedIOException && deadline != null && deadline.isExpired()) {
+            return new DeadlineExceededException("Deadline exceeded calling " + endpoint + ": " + e.getMessage(), true, e);
+        }
+        return new FaspaySnapApiException("Error making POST request: " + e.getMessage(), e);
+    }
+
+    private static void awaitPermit(AdaptiveConcurrencyLimiter limiter, Deadline deadline) throws FaspaySnapApiException {
+        CompletableFuture<Void> permit = limiter.acquire();
+        if (permit.isDone()) {
+            return;
+        }
+        try {
+            if (deadline != null) {
+                permit.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            } else {
+                permit.get();
+            }
+        } catch (TimeoutException e) {
+            limiter.cancel(permit);
+            throw new DeadlineExceededException("Deadline exceeded waiting for a concurrency permit for " + limiter.getName(), false);
+        } catch (InterruptedException e) {
+            limiter.cancel(permit);
+            Thread.currentThread().interrupt();
+            throw new FaspaySnapApiException("Interrupted while waiting for a concurrency permit for " + limiter.getName(), e);
+        } catch (ExecutionException e) {
+            // Permits are only ever completed normally
+            limiter.cancel(permit);
+            throw new FaspaySnapApiException("Error waiting for a concurrency permit: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks if a status code means the server shed the request because of load.
+     *
+     * @param code The HTTP status code
+     * @return True for 429, 503 and 504
+     */
+    private static boolean isOverloaded(int code) {
+        return code == 429 || code == 503 || code == 504;
+    }
+
+    /**
+     * Gets the signature of a request, from the signing pool if there is one.
+     */
+    private CompletableFuture<String> signatureOf(UnsignedRequest unsigned, Deadline deadline) {
+        if (signingPool != null) {
+            return signingPool.sign(unsigned.stringToSign, deadline);
+        }
         try {
-            String url = config.getBaseUrl() + endpoint;
-            String timeStamp = config.getTimestamp();
-            String requestJson = requestBody.toString();
+            return CompletableFuture.completedFuture(config.getSigner().sign(unsigned.stringToSign));
+        } catch (RuntimeException e) {
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Signs a request for a blocking call, waiting for the signing pool if there is one.
+     */
+    private String awaitSignature(UnsignedRequest unsigned, Deadline deadline) throws FaspaySnapApiException {
+        if (signingPool == null) {
+            return config.getSigner().sign(unsigned.stringToSign);
+        }
+        CompletableFuture<String> signature = signingPool.sign(unsigned.stringToSign, deadline);
+        try {
+            if (deadline != null) {
+                return signature.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            }
+            return signature.get();
+        } catch (TimeoutException e) {
+            signature.cancel(false);
+            throw new DeadlineExceededException("Deadline exceeded waiting for the signature of a request to " + unsigned.endpoint, false);
+        } catch (InterruptedException e) {
+            signature.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new FaspaySnapApiException("Interrupted while signing a request to " + unsigned.endpoint, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeadlineExceededException) {
+                throw (DeadlineExceededException) e.getCause();
+            }
+            throw new FaspaySnapApiException("Error signing POST request: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Converts a response inside the scope of a blocking call.
+     *
+     * @param <T> The type produced by the handler
+     */
+    private interface ResponseHandler<T> {
+        T handle(Response response, long sentAt, CallTrace trace) throws IOException, FaspaySnapApiException;
+    }
+
+    /**
+     * Serializes a POST request for the specified endpoint and builds its string to sign.
+     * The body is serialized once as minified JSON; the signature digest and the
+     * request body are both taken from those bytes.
+     *
+     * @param endpoint The API endpoint to call
+     * @param userAgent The User-Agent header value
+     * @param requestBody The request body to send
+     * @param copyBody Whether the request body must not share the thread's reusable buffer
+     * @param trace The flight recorder trace of the call
+     * @return The request, ready to be signed
+     * @throws IOException If the request body cannot be serialized
+     */
+    private UnsignedRequest prepareRequest(String endpoint, String userAgent, Object requestBody, boolean copyBody,
+                                           CallTrace trace) throws IOException {
+        String url = config.getBaseUrl() + endpoint;
+        String timeStamp = config.getTimestamp();
+        long serializeStart = System.nanoTime();
+        trace.begin(CallTrace.Step.SERIALIZE);
+        CanonicalJsonWriter.Buffer json = jsonWriter.write(requestBody);
+        trace.end(CallTrace.Step.SERIALIZE);
+        long signStart = System.nanoTime();
+        metrics.recordPhase(endpoint, Phase.SERIALIZE, signStart - serializeStart);
+
+        trace.begin(CallTrace.Step.STRING_TO_SIGN);
+        String stringToSign = SignatureUtil.createStringToSign("POST", endpoint, json.array(), 0, json.size(), timeStamp);
+        trace.end(CallTrace.Step.STRING_TO_SIGN);
+        trace.begin(CallTrace.Step.SIGN);
+
+        RequestBody body = copyBody
+                ? RequestBody.create(json.copy(), JSON)
+                : RequestBody.create(json.array(), JSON, 0, json.size());
+
+        // Logged here, as the buffer may be reused before a pooled signature arrives. The body is
+        // copied into a String, since an asynchronous log writer formats arguments later.
+        if (logger.isDebugEnabled()) {
+            logger.debug("Making POST request to {}: {}", url, json.toString());
+        }
+        return new UnsignedRequest(endpoint, url, userAgent, timeStamp, body, stringToSign, trace, signStart);
+    }
 
-//            String privateKey = SignatureUtil.cleanPrivateKey(config.getPrivateKey());
-            String stringToSign = SignatureUtil.createStringToSign("POST", endpoint, requestJson, timeStamp);
-            String signature = SignatureUtil.generateRSASignature(stringToSign, config.getPrivateKey());
+    /**
+     * A serialized POST request waiting for its signature.
+     */
+    private final class UnsignedRequest {
+        final String endpoint;
+        final String url;
+        final String userAgent;
+        final String timeStamp;
+        final RequestBody body;
+        final String stringToSign;
+        final CallTrace trace;
+        final long signStart;
+
+        UnsignedRequest(String endpoint, String url, String userAgent, String timeStamp, RequestBody body,
+                        String stringToSign, CallTrace trace, long signStart) {
+            this.endpoint = endpoint;
+            this.url = url;
+            this.userAgent = userAgent;
+            this.timeStamp = timeStamp;
+            this.body = body;
+            this.stringToSign = stringToSign;
+            this.trace = trace;
+            this.signStart = signStart;
+        }
 
-            // Build the request
-            Request request = new Request.Builder()
+        /**
+         * Builds the signed request. The SIGN phase ends here, so with a signing pool it
+         * includes the wait for a signing thread.
+         */
+        Request sign(String signature) {
+            trace.end(CallTrace.Step.SIGN);
+            metrics.recordPhase(endpoint, Phase.SIGN, System.nanoTime() - signStart);
+
+            // Build the request; a recording trace rides along as a tag for the OkHttp listener
+            Request.Builder builder = new Request.Builder();
+            if (trace.isRecording()) {
+                builder.tag(CallTrace.class, trace);
+            }
+            return builder
                     .url(url)
-                    .post(RequestBody.create(requestJson, JSON))
+                    .post(body)
                     .header("Content-Type", "application/json")
                     .header("Accept", "application/json")
                     .header("User-Agent", userAgent)
@@ -81,52 +727,281 @@ public class FaspaySnapHttpClient {
                     .header("X-EXTERNAL-ID", config.getExternalId())
                     .header("CHANNEL-ID", "88001")
                     .build();
+        }
+    }
 
-            logger.debug("Making POST request to {}: {}", url, requestJson);
+    private static <T> void complete(CompletableFuture<T> future, T value, Executor executor) {
+        if (executor != null) {
+            try {
+                executor.execute(() -> future.complete(value));
+                return;
+            } catch (RejectedExecutionException e) {
+                logger.warn("Completion executor rejected task, completing on dispatcher thread");
+            }
+        }
+        future.complete(value);
+    }
 
-            // Execute the request
-            try (Response response = httpClient.newCall(request).execute()) {
-                return handleResponse(response, responseType);
+    private static void completeExceptionally(CompletableFuture<?> future, Throwable error, Executor executor) {
+        if (executor != null) {
+            try {
+                executor.execute(() -> future.completeExceptionally(error));
+                return;
+            } catch (RejectedExecutionException e) {
+                logger.warn("Completion executor rejected task, completing on dispatcher thread");
             }
-        } catch (IOException e) {
-            logger.error("Error making POST request to {}: {}", endpoint, e.getMessage());
-            throw new FaspaySnapApiException("Error making POST request: " + e.getMessage(), e);
         }
+        future.completeExceptionally(error);
     }
 
     /**
      * Handles the HTTP response and converts it to the expected response type.
      *
+     * @param endpoint The API endpoint that was called
      * @param response The HTTP response
+     * @param sentAt When the request was handed to OkHttp, in {@link System#nanoTime()}
      * @param responseType The class of the expected response
+     * @param trace The flight recorder trace of the call
      * @param <T> The type of the expected response
      * @return The response from the API
      * @throws IOException If an error occurs while reading the response
      * @throws FaspaySnapApiException If the API returns an error
      */
-    private <T> T handleResponse(Response response, Class<T> responseType) throws IOException, FaspaySnapApiException {
+    private <T> T handleResponse(String endpoint, Response response, long sentAt, Class<T> responseType,
+                                 CallTrace trace) throws IOException, FaspaySnapApiException {
         String responseBody = response.body() != null ? response.body().string() : "";
+        long receivedAt = System.nanoTime();
+        metrics.recordPhase(endpoint, Phase.NETWORK, receivedAt - sentAt);
 
         logger.debug("Received response with: {}", responseBody);
 
         if (!response.isSuccessful()) {
-            throw new FaspaySnapApiException("API request failed with status code " + response.code() + ": " + responseBody);
+            throw new FaspaySnapApiException("API request failed with status code " + response.code() + ": " + responseBody, response.code());
         }
 
+        trace.begin(CallTrace.Step.PARSE);
         try {
-            return objectMapper.readValue(responseBody, responseType);
+            return JsonCodecs.readerFor(responseType).readValue(responseBody);
         } catch (IOException e) {
             logger.error("Error parsing response: {}", e.getMessage());
             throw new FaspaySnapApiException("Error parsing response: " + e.getMessage(), e);
+        } finally {
+            trace.end(CallTrace.Step.PARSE);
+            metrics.recordPhase(endpoint, Phase.PARSE, System.nanoTime() - receivedAt);
+        }
+    }
+
+    /**
+     * Gets the outcome reported to the metrics for a completed call.
+     */
+    private static String outcomeOf(Object value, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error == null) {
+            String code = value instanceof SnapResponse ? ((SnapResponse) value).getResponseCode() : null;
+            return code != null ? code : ClientMetrics.OUTCOME_ERROR;
+        }
+        if (error instanceof DeadlineExceededException) {
+            return ClientMetrics.OUTCOME_DEADLINE_EXCEEDED;
+        }
+        if (error instanceof FaspaySnapApiException) {
+            int status = ((FaspaySnapApiException) error).getHttpStatusCode();
+            if (status != 0) {
+                return ClientMetrics.OUTCOME_HTTP_PREFIX + status;
+            }
+            Throwable cause = error.getCause();
+            if (cause instanceof IOException && !(cause instanceof JsonProcessingException)) {
+                return ClientMetrics.OUTCOME_IO_ERROR;
+            }
+        }
+        return ClientMetrics.OUTCOME_ERROR;
+    }
+
+    /**
+     * Opens connections to the base URL ahead of the first API call, so DNS resolution,
+     * the TCP connect and the full TLS handshake are paid before traffic arrives.
+     * A single HEAD request does the full handshake first; the other connections are
+     * opened concurrently once it is done, so they resume its cached TLS session instead
+     * of each doing a full handshake. Any HTTP response counts as a warmed connection,
+     * which then stays idle in the shared pool.
+     *
+     * @param connections The number of connections to open, capped by the maximum
+     *                    requests per host and the maximum idle connections
+     * @param timeoutMillis How long to wait for the connections, in milliseconds
+     * @return The number of connections warmed up
+     */
+    public int warmUp(int connections, long timeoutMillis) {
+        if (connections < 1) {
+            throw new IllegalArgumentException("connections must be at least 1");
+        }
+        int count = Math.min(connections, Math.min(config.getMaxRequestsPerHost(), config.getMaxIdleConnections()));
+        if (count < connections) {
+            logger.warn("Warm-up limited to {} connections by the pool and dispatcher settings", count);
+        }
+
+        Request request = new Request.Builder()
+                .url(config.getBaseUrl())
+                .head()
+                .header("User-Agent", "faspay-snap-warmup")
+                .build();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        int warmed = sendWarmUp(request, 1, deadline);
+        if (count > 1 && warmed > 0) {
+            // One of these reuses the first connection, now idle, so all count are sent
+            warmed = Math.max(warmed, sendWarmUp(request, count, deadline));
         }
+
+        logger.info("Warmed up {} of {} connections to {} in {} ms", warmed, count, config.getBaseUrl(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return warmed;
     }
 
     /**
-     * Gets the ObjectMapper used by this client.
+     * Sends concurrent warm-up requests and waits for them until the deadline.
      *
-     * @return The ObjectMapper
+     * @return The number of requests that received a response
+     */
+    private int sendWarmUp(Request request, int count, long deadlineNanos) {
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicInteger opened = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            httpClient.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    logger.debug("Warm-up request to {} failed: {}", config.getBaseUrl(), e.getMessage());
+                    done.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    response.close();
+                    opened.incrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            if (!done.await(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                logger.warn("Warm-up timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return opened.get();
+    }
+
+    /**
+     * Gets a copy of the ObjectMapper configuration used by this client. The client itself
+     * uses the shared readers and writers of {@link JsonCodecs}, so changes to the copy do
+     * not affect it. Each call builds a new mapper; to convert models, use
+     * {@link JsonCodecs#readerFor(Class)} and {@link JsonCodecs#writerFor(Class)} instead.
+     *
+     * @return A new ObjectMapper with the client's configuration
      */
     public ObjectMapper getObjectMapper() {
-        return objectMapper;
+        return JsonCodecs.mapper().copy();
+    }
+
+    /**
+     * Gets the configuration used by this client.
+     *
+     * @return The Faspay SendMe Snap API configuration
+     */
+    public FaspaySnapConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the number of connections currently held by the shared pool.
+     *
+     * @return The total number of pooled connections
+     */
+    public int getConnectionCount() {
+        return httpClient.connectionPool().connectionCount();
+    }
+
+    /**
+     * Gets the number of idle connections currently held by the shared pool.
+     *
+     * @return The number of idle pooled connections
+     */
+    public int getIdleConnectionCount() {
+        return httpClient.connectionPool().idleConnectionCount();
+    }
+
+    /**
+     * Gets the number of calls currently executing on the shared dispatcher.
+     *
+     * @return The number of running calls
+     */
+    public int getRunningCallCount() {
+        return httpClient.dispatcher().runningCallsCount();
+    }
+
+    /**
+     * Gets the number of calls waiting in the shared dispatcher's queue.
+     *
+     * @return The number of queued calls
+     */
+    public int getQueuedCallCount() {
+        return httpClient.dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * Gets the pool that signs this client's requests.
+     *
+     * @return The signing pool, or null if requests are signed on the calling thread
+     */
+    public RsaSigningPool getSigningPool() {
+        return signingPool;
+    }
+
+    /**
+     * Gets the metrics implementation this client reports calls to.
+     *
+     * @return The metrics implementation
+     */
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the adaptive concurrency limiter of an endpoint.
+     *
+     * @param endpoint The endpoint path
+     * @return The limiter, or null if adaptive concurrency is disabled or the endpoint was not called yet
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter(String endpoint) {
+        return limiters != null ? limiters.get(endpoint) : null;
+    }
+
+    /**
+     * Gets the adaptive concurrency limiters of all endpoints called so far.
+     *
+     * @return The limiters, empty if adaptive concurrency is disabled
+     */
+    public Collection<AdaptiveConcurrencyLimiter> getConcurrencyLimiters() {
+        return limiters != null ? Collections.unmodifiableCollection(limiters.values()) : Collections.emptyList();
+    }
+
+    /**
+     * Releases the connection pool and dispatcher threads.
+     * Calls made after closing will fail. An executor supplied through the
+     * configuration is left running.
+     */
+    @Override
+    public void close() {
+        metrics.unbind(this);
+        if (signingPool != null) {
+            signingPool.close();
+        }
+        if (ownsExecutor) {
+            httpClient.dispatcher().executorService().shutdown();
+        }
+        httpClient.connectionPool().evictAll();
     }
 }
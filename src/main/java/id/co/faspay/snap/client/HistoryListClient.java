@@ -8,28 +8,40 @@ import id.co.faspay.snap.model.HistoryListResponse;
 import id.co.faspay.snap.model.InquiryBalanceResponse;
 import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 public class HistoryListClient {
     private static final Logger logger = LoggerFactory.getLogger(HistoryListClient.class);
     private final Constants constants;
     private final FaspaySnapHttpClient httpClient;
+    private final HistoryListStreamParser streamParser;
 
     public HistoryListClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
 
-        this.httpClient = new FaspaySnapHttpClient(config);
+    public HistoryListClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
+        this.streamParser = new HistoryListStreamParser(JsonCodecs.mapper());
     }
 
     public HistoryListResponse historyList(HistoryListRequest request) throws FaspaySnapApiException {
+        return historyList(request, (Deadline) null);
+    }
+
+    public HistoryListResponse historyList(HistoryListRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("Starting history list for account: {}", request.getAccountNo());
 
         try {
-            HistoryListResponse response = httpClient.post(constants.getEndpointHistoryList(), constants.getUserAgent(), request, HistoryListResponse.class);
+            HistoryListResponse response = httpClient.post(constants.getEndpointHistoryList(), constants.getUserAgent(), request, HistoryListResponse.class, deadline);
 
             logger.info("history list completed with message: {}", response.getResponseMessage());
 
@@ -39,4 +51,72 @@ public class HistoryListClient {
             throw e;
         }
     }
+
+    /**
+     * Retrieves the transaction history and streams each detail entry to the consumer as it is
+     * parsed, instead of materializing the whole statement.
+     *
+     * @param request The history list request
+     * @param consumer The receiver of each detail entry, in response order
+     * @return The response without detail entries (response code, message and additional info)
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public HistoryListResponse historyList(HistoryListRequest request, Consumer<HistoryListResponse.DetailData> consumer)
+            throws FaspaySnapApiException {
+        return historyList(request, consumer, null);
+    }
+
+    /**
+     * Retrieves the transaction history and streams each detail entry to the consumer as it is
+     * parsed, instead of materializing the whole statement.
+     *
+     * @param request The history list request
+     * @param consumer The receiver of each detail entry, in response order
+     * @param deadline The deadline of the call, or null for none
+     * @return The response without detail entries (response code, message and additional info)
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public HistoryListResponse historyList(HistoryListRequest request, Consumer<HistoryListResponse.DetailData> consumer, Deadline deadline)
+            throws FaspaySnapApiException {
+        Objects.requireNonNull(request, "request must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+
+        logger.info("Starting streaming history list for account: {}", request.getAccountNo());
+
+        try {
+            HistoryListResponse response = httpClient.postStreaming(constants.getEndpointHistoryList(), constants.getUserAgent(), request,
+                    body -> streamParser.parse(body, consumer), deadline);
+
+            logger.info("history list completed with message: {}", response.getResponseMessage());
+
+            return response;
+        } catch (FaspaySnapApiException e) {
+            logger.error("Error inquiring about account: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    public CompletableFuture<HistoryListResponse> historyListAsync(HistoryListRequest request) {
+        return historyListAsync(request, null);
+    }
+
+    public CompletableFuture<HistoryListResponse> historyListAsync(HistoryListRequest request, Executor executor) {
+        return historyListAsync(request, null, executor);
+    }
+
+    public CompletableFuture<HistoryListResponse> historyListAsync(HistoryListRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("Starting history list for account: {}", request.getAccountNo());
+
+        CompletableFuture<HistoryListResponse> future = httpClient.postAsync(constants.getEndpointHistoryList(), constants.getUserAgent(), request, HistoryListResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("history list completed with message: {}", response.getResponseMessage());
+            } else {
+                logger.error("Error inquiring about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
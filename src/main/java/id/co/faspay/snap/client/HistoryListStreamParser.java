@@ -0,0 +1,90 @@
+package id.co.faspay.snap.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import id.co.faspay.snap.model.HistoryListResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for History List responses.
+ * Entries of {@code detailData} are bound one at a time and handed to a consumer,
+ * so memory use does not grow with the size of the statement.
+ */
+public class HistoryListStreamParser {
+    private final ObjectMapper objectMapper;
+    private final ObjectReader detailReader;
+    private final ObjectReader additionalInfoReader;
+
+    /**
+     * Creates a new parser.
+     *
+     * @param objectMapper The mapper providing the JSON factory and bindings
+     */
+    public HistoryListStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.detailReader = objectMapper.readerFor(HistoryListResponse.DetailData.class);
+        this.additionalInfoReader = objectMapper.readerFor(HistoryListResponse.AdditionalInfo.class);
+    }
+
+    /**
+     * Parses a History List response from the given stream.
+     *
+     * @param body The response body
+     * @param consumer The receiver of each detail entry, in document order
+     * @return The response without detail entries (responseCode, responseMessage and additionalInfo only)
+     * @throws IOException If the body cannot be read or is not a valid History List response
+     */
+    public HistoryListResponse parse(InputStream body, Consumer<HistoryListResponse.DetailData> consumer) throws IOException {
+        Objects.requireNonNull(consumer, "consumer must not be null");
+
+        HistoryListResponse response = new HistoryListResponse();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in History List response");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "responseCode":
+                        response.setResponseCode(parser.getValueAsString());
+                        break;
+                    case "responseMessage":
+                        response.setResponseMessage(parser.getValueAsString());
+                        break;
+                    case "detailData":
+                        readDetails(parser, value, consumer);
+                        break;
+                    case "additionalInfo":
+                        if (value != JsonToken.VALUE_NULL) {
+                            response.setAdditionalInfo(additionalInfoReader.readValue(parser));
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+        return response;
+    }
+
+    private void readDetails(JsonParser parser, JsonToken value, Consumer<HistoryListResponse.DetailData> consumer)
+            throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (value != JsonToken.START_ARRAY) {
+            throw new IOException("Expected detailData to be an array");
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            consumer.accept(detailReader.readValue(parser));
+        }
+    }
+}
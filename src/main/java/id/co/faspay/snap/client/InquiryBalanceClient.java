@@ -9,6 +9,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class InquiryBalanceClient {
     private static final Logger logger = LoggerFactory.getLogger(InquiryBalanceClient.class);
@@ -18,18 +20,25 @@ public class InquiryBalanceClient {
     private final FaspaySnapHttpClient httpClient;
 
     public InquiryBalanceClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
-        this.httpClient = new FaspaySnapHttpClient(config);
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
+
+    public InquiryBalanceClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
     public InquiryBalanceResponse inquiryBalance(InquiryBalanceRequest request) throws FaspaySnapApiException {
+        return inquiryBalance(request, null);
+    }
+
+    public InquiryBalanceResponse inquiryBalance(InquiryBalanceRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("Starting balance inquiry for account: {}", request.getAccountNo());
 
         try {
-            InquiryBalanceResponse response = httpClient.post(constants.getEndpointInquiryBalance(), constants.getUserAgent(), request, InquiryBalanceResponse.class);
+            InquiryBalanceResponse response = httpClient.post(constants.getEndpointInquiryBalance(), constants.getUserAgent(), request, InquiryBalanceResponse.class, deadline);
 
             logger.info("Account inquiry balance completed with message: {}", response.getResponseMessage());
 
@@ -39,4 +48,28 @@ public class InquiryBalanceClient {
             throw e;
         }
     }
+
+    public CompletableFuture<InquiryBalanceResponse> inquiryBalanceAsync(InquiryBalanceRequest request) {
+        return inquiryBalanceAsync(request, null);
+    }
+
+    public CompletableFuture<InquiryBalanceResponse> inquiryBalanceAsync(InquiryBalanceRequest request, Executor executor) {
+        return inquiryBalanceAsync(request, null, executor);
+    }
+
+    public CompletableFuture<InquiryBalanceResponse> inquiryBalanceAsync(InquiryBalanceRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("Starting balance inquiry for account: {}", request.getAccountNo());
+
+        CompletableFuture<InquiryBalanceResponse> future = httpClient.postAsync(constants.getEndpointInquiryBalance(), constants.getUserAgent(), request, InquiryBalanceResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("Account inquiry balance completed with message: {}", response.getResponseMessage());
+            } else {
+                logger.error("Error inquiring about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -0,0 +1,21 @@
+package id.co.faspay.snap.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a successful response body directly from the network stream.
+ *
+ * @param <T> The type produced from the body
+ */
+@FunctionalInterface
+public interface ResponseBodyReader<T> {
+    /**
+     * Reads the response body.
+     *
+     * @param body The response body stream; closed by the caller
+     * @return The value read from the body
+     * @throws IOException If the body cannot be read or parsed
+     */
+    T read(InputStream body) throws IOException;
+}
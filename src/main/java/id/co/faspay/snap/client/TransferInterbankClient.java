@@ -11,6 +11,8 @@ import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.time.OffsetDateTime;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for the Transfer Interbank API.
@@ -29,8 +31,16 @@ public class TransferInterbankClient {
      * @param config The configuration for the Faspay SendMe Snap API
      */
     public TransferInterbankClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
-        this.httpClient = new FaspaySnapHttpClient(config);
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
+
+    /**
+     * Creates a new client on top of a shared HTTP client.
+     *
+     * @param httpClient The shared HTTP client for the Faspay SendMe Snap API
+     */
+    public TransferInterbankClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
@@ -73,6 +83,18 @@ public class TransferInterbankClient {
      * @throws FaspaySnapApiException If an error occurs while making the request
      */
     public TransferInterbankResponse transfer(TransferInterbankRequest request) throws FaspaySnapApiException {
+        return transfer(request, null);
+    }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @param deadline The deadline of the call, or null for none
+     * @return The response from the API
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public TransferInterbankResponse transfer(TransferInterbankRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("Transferring {} {} from account {} to account {} at bank {}", 
@@ -82,7 +104,7 @@ public class TransferInterbankClient {
 
         try {
             TransferInterbankResponse response = httpClient.post(constants.getEndpointTransferInterbank(), 
-                    constants.getUserAgent(), request, TransferInterbankResponse.class);
+                    constants.getUserAgent(), request, TransferInterbankResponse.class, deadline);
 
             logger.info("Transfer completed with response code: {}", response.getResponseCode());
 
@@ -92,4 +114,53 @@ public class TransferInterbankClient {
             throw e;
         }
     }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<TransferInterbankResponse> transferAsync(TransferInterbankRequest request) {
+        return transferAsync(request, null);
+    }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<TransferInterbankResponse> transferAsync(TransferInterbankRequest request, Executor executor) {
+        return transferAsync(request, null, executor);
+    }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @param deadline The deadline of the call, or null for none
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<TransferInterbankResponse> transferAsync(TransferInterbankRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("Transferring {} {} from account {} to account {} at bank {}", 
+                request.getAmount().getValue(), request.getAmount().getCurrency(),
+                request.getSourceAccountNumber(), request.getBeneficiaryAccountNumber(), 
+                request.getBeneficiaryBankCode());
+
+        CompletableFuture<TransferInterbankResponse> future = httpClient.postAsync(constants.getEndpointTransferInterbank(), 
+                    constants.getUserAgent(), request, TransferInterbankResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("Transfer completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error transferring money: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
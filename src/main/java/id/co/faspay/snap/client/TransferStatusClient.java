@@ -9,6 +9,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class TransferStatusClient {
     private static final Logger logger = LoggerFactory.getLogger(TransferStatusClient.class);
@@ -16,19 +18,25 @@ public class TransferStatusClient {
     private final FaspaySnapHttpClient httpClient;
 
     public TransferStatusClient(FaspaySnapConfig config) {
-        Objects.requireNonNull(config, "config must not be null");
+        this(new FaspaySnapHttpClient(Objects.requireNonNull(config, "config must not be null")));
+    }
 
-        this.httpClient = new FaspaySnapHttpClient(config);
+    public TransferStatusClient(FaspaySnapHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
         this.constants = new Constants();
     }
 
     public StatusTransferResponse status(StatusTransferRequest request) throws FaspaySnapApiException {
+        return status(request, null);
+    }
+
+    public StatusTransferResponse status(StatusTransferRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.info("transfer status about account {} at bank {}", request.getOriginalReferenceNo(), request.getServiceCode());
 
         try {
-            StatusTransferResponse response = httpClient.post(constants.getEndpointTransferInquiryStatus(), constants.getUserAgent(), request, StatusTransferResponse.class);
+            StatusTransferResponse response = httpClient.post(constants.getEndpointTransferInquiryStatus(), constants.getUserAgent(), request, StatusTransferResponse.class, deadline);
 
             logger.info("transfer status completed with response code: {}", response.getResponseCode());
 
@@ -38,4 +46,28 @@ public class TransferStatusClient {
             throw e;
         }
     }
+
+    public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request) {
+        return statusAsync(request, null);
+    }
+
+    public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request, Executor executor) {
+        return statusAsync(request, null, executor);
+    }
+
+    public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.info("transfer status about account {} at bank {}", request.getOriginalReferenceNo(), request.getServiceCode());
+
+        CompletableFuture<StatusTransferResponse> future = httpClient.postAsync(constants.getEndpointTransferInquiryStatus(), constants.getUserAgent(), request, StatusTransferResponse.class, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("transfer status completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error transfer status about account: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
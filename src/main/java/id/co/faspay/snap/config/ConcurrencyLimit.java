@@ -0,0 +1,70 @@
+package id.co.faspay.snap.config;
+
+/**
+ * Bounds of the adaptive concurrency limit of one endpoint.
+ * The limiter starts at the initial limit and moves between the minimum and
+ * maximum as it observes latency and dropped requests.
+ */
+public class ConcurrencyLimit {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    /**
+     * Creates new limit bounds.
+     *
+     * @param initialLimit The number of concurrent requests allowed before any latency was observed
+     * @param minLimit The lowest the limit may drop to
+     * @param maxLimit The highest the limit may grow to
+     */
+    public ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("minLimit must be at least 1");
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("maxLimit must not be less than minLimit");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Gets the number of concurrent requests allowed before any latency was observed.
+     *
+     * @return The initial limit
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Gets the lowest the limit may drop to.
+     *
+     * @return The minimum limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Gets the highest the limit may grow to.
+     *
+     * @return The maximum limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimit{" +
+                "initialLimit=" + initialLimit +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                '}';
+    }
+}
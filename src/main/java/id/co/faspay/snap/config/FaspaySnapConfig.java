@@ -5,17 +5,26 @@ import java.io.InputStream;
 import java.security.KeyStore;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 
+import id.co.faspay.snap.journal.TransferJournal;
+import id.co.faspay.snap.metrics.ClientMetrics;
+import id.co.faspay.snap.metrics.InMemoryClientMetrics;
 import id.co.faspay.snap.model.Constants;
+import id.co.faspay.snap.util.ExternalIdGenerator;
+import id.co.faspay.snap.util.RsaSigner;
+import id.co.faspay.snap.util.TimestampCache;
+import id.co.faspay.snap.util.VirtualThreads;
 import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
@@ -33,9 +42,42 @@ public class FaspaySnapConfig {
     private final String partnerId;
     private final String privateKey;
     private final String sslCert;
+    private final RsaSigner signer;
     private SSLContext sslContext;
     private X509TrustManager trustManager;
 
+    private int maxIdleConnections = 10;
+    private long keepAliveDurationMillis = 5 * 60 * 1000L;
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 64;
+
+    private int accountInquiryCacheSize = 0;
+    private long accountInquiryCacheTtlMillis = 10 * 60 * 1000L;
+    private long accountInquiryNegativeCacheTtlMillis = 60 * 1000L;
+
+    // Read from the JDK's client session context unless set
+    private int sslSessionCacheSize;
+    private int sslSessionTimeoutSeconds;
+    private int warmUpConnections = 0;
+    private long warmUpTimeoutMillis = 10 * 1000L;
+
+    private ExecutorService callExecutor;
+    private boolean virtualThreads;
+    private int signingThreads = 0;
+
+    private boolean adaptiveConcurrency;
+    private ConcurrencyLimit defaultConcurrencyLimit = new ConcurrencyLimit(10, 1, 64);
+    private final Map<String, ConcurrencyLimit> endpointConcurrencyLimits = new ConcurrentHashMap<>();
+
+    private Timeouts defaultTimeouts = new Timeouts(30 * 1000L, 30 * 1000L, 30 * 1000L);
+    private final Map<String, Timeouts> endpointTimeouts = new ConcurrentHashMap<>();
+
+    private ClientMetrics metrics = new InMemoryClientMetrics();
+
+    private volatile ExternalIdGenerator externalIdGenerator;
+
+    private TransferJournal transferJournal;
+
     /**
      * Creates a new configuration with the specified parameters.
      * By default, the environment is set to "sandbox".
@@ -49,6 +91,10 @@ public class FaspaySnapConfig {
         this.privateKey = Objects.requireNonNull(privateKey, "privateKey must not be null");
         this.sslCert = Objects.requireNonNull(sslCert, "sslCert must not be null");
 
+        // Parse the private key once; requests only pay for hash + RSA
+        this.signer = new RsaSigner(privateKey);
+        this.externalIdGenerator = new ExternalIdGenerator(partnerId, ExternalIdGenerator.randomNodeId());
+
         // Set default environment to sandbox
         setEnv(null);
 
@@ -114,12 +160,39 @@ public class FaspaySnapConfig {
             SSLContext sslContext = SSLContext.getInstance("TLS");
             sslContext.init(null, trustManagers, null);
             this.sslContext = sslContext;
+            readSessionCacheSettings();
         } catch (Exception e) {
             logger.error("Failed to initialize SSL context", e);
             throw new RuntimeException("Failed to initialize SSL context", e);
         }
     }
 
+    /**
+     * Takes the session cache size and timeout from the JDK's client session context, so
+     * its defaults (20480 sessions for 24 hours, or the {@code javax.net.ssl.sessionCacheSize}
+     * system property) stay in effect until they are set explicitly.
+     */
+    private void readSessionCacheSettings() {
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        if (sessionContext != null) {
+            this.sslSessionCacheSize = sessionContext.getSessionCacheSize();
+            this.sslSessionTimeoutSeconds = sessionContext.getSessionTimeout();
+        }
+    }
+
+    /**
+     * Applies the session cache size and timeout to the client session context, so new
+     * connections to a host that was already contacted resume the TLS session with an
+     * abbreviated handshake instead of a full one.
+     */
+    private void applySessionCacheSettings() {
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        if (sessionContext != null) {
+            sessionContext.setSessionCacheSize(sslSessionCacheSize);
+            sessionContext.setSessionTimeout(sslSessionTimeoutSeconds);
+        }
+    }
+
     /**
      * Loads an X.509 certificate from the provided input stream.
      *
@@ -156,28 +229,47 @@ public class FaspaySnapConfig {
     }
 
     /**
-     * Generates a unique external ID which combines the partner ID, current timestamp,
-     * and a random number.
+     * Generates a unique external ID which combines the partner ID, the node ID
+     * and a sequence seeded from the current time.
      *
      * @return A unique external identifier in the format of partner ID concatenated
-     *         with the current timestamp in milliseconds and a random integer.
+     *         with the three-digit node ID and a 16-digit sequence.
+     * @see ExternalIdGenerator
      */
     public String getExternalId() {
-        long miliseconds = Math.round((double) System.nanoTime() / 1_000_000);
-        Random random = new Random();
-        int randomNum = random.nextInt(1000);
+        return externalIdGenerator.next();
+    }
+
+    /**
+     * Gets the node ID written into external IDs.
+     *
+     * @return The node ID
+     */
+    public int getNodeId() {
+        return externalIdGenerator.getNodeId();
+    }
 
-        return String.format("%s%d%d", partnerId, miliseconds, randomNum);
+    /**
+     * Sets the node ID written into external IDs. Processes that send requests with the
+     * same partner ID need distinct node IDs for their external IDs to be unique; by
+     * default a random node ID is picked.
+     *
+     * @param nodeId The node ID, between 0 and 999
+     * @throws IllegalArgumentException If the node ID is out of range
+     */
+    public void setNodeId(int nodeId) {
+        // Keeps the sequence, so IDs drawn before and after the change never collide
+        this.externalIdGenerator = externalIdGenerator.withNodeId(nodeId);
     }
 
     /**
      * Generates a timestamp in the ISO 8601 format with time zone (e.g., yyyy-MM-dd'T'HH:mm:ssXXX).
+     * The formatted text is cached for the current second.
      *
      * @return The current timestamp as a string.
      */
     public String getTimestamp() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
-        return ZonedDateTime.now().format(formatter);
+        return TimestampCache.now();
     }
 
     /**
@@ -189,6 +281,15 @@ public class FaspaySnapConfig {
         return privateKey;
     }
 
+    /**
+     * Gets the signer holding the parsed private key.
+     *
+     * @return The request signer
+     */
+    public RsaSigner getSigner() {
+        return signer;
+    }
+
     /**
      * Gets the SSL certificate content.
      *
@@ -215,4 +316,475 @@ public class FaspaySnapConfig {
     public X509TrustManager getTrustManager() {
         return trustManager;
     }
+
+    /**
+     * Gets the maximum number of idle connections kept in the shared connection pool.
+     *
+     * @return The maximum number of idle connections
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Sets the maximum number of idle connections kept in the shared connection pool.
+     * Takes effect for clients created after this call.
+     *
+     * @param maxIdleConnections The maximum number of idle connections
+     */
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("maxIdleConnections must not be negative");
+        }
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    /**
+     * Gets how long an idle connection is kept alive in the pool, in milliseconds.
+     *
+     * @return The keep-alive duration in milliseconds
+     */
+    public long getKeepAliveDurationMillis() {
+        return keepAliveDurationMillis;
+    }
+
+    /**
+     * Sets how long an idle connection is kept alive in the pool, in milliseconds.
+     * Takes effect for clients created after this call.
+     *
+     * @param keepAliveDurationMillis The keep-alive duration in milliseconds
+     */
+    public void setKeepAliveDurationMillis(long keepAliveDurationMillis) {
+        if (keepAliveDurationMillis <= 0) {
+            throw new IllegalArgumentException("keepAliveDurationMillis must be positive");
+        }
+        this.keepAliveDurationMillis = keepAliveDurationMillis;
+    }
+
+    /**
+     * Gets the maximum number of requests the dispatcher runs concurrently.
+     *
+     * @return The maximum number of concurrent requests
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Sets the maximum number of requests the dispatcher runs concurrently.
+     * Takes effect for clients created after this call.
+     *
+     * @param maxRequests The maximum number of concurrent requests
+     */
+    public void setMaxRequests(int maxRequests) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be at least 1");
+        }
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * Gets the maximum number of requests the dispatcher runs concurrently against one host.
+     *
+     * @return The maximum number of concurrent requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Sets the maximum number of requests the dispatcher runs concurrently against one host.
+     * Every call of the SDK goes to the one Faspay host, so this is the effective bound on
+     * concurrent calls; it defaults to 64, the same as {@link #setMaxRequests(int)}.
+     * Takes effect for clients created after this call.
+     *
+     * @param maxRequestsPerHost The maximum number of concurrent requests per host
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        if (maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+        }
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Gets the maximum number of accounts kept in the account inquiry cache.
+     *
+     * @return The cache size, or 0 if the cache is disabled
+     */
+    public int getAccountInquiryCacheSize() {
+        return accountInquiryCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of accounts kept in the account inquiry cache.
+     * The cache is disabled by default; a positive size enables it for services created after this call.
+     *
+     * @param accountInquiryCacheSize The cache size, or 0 to disable the cache
+     */
+    public void setAccountInquiryCacheSize(int accountInquiryCacheSize) {
+        if (accountInquiryCacheSize < 0) {
+            throw new IllegalArgumentException("accountInquiryCacheSize must not be negative");
+        }
+        this.accountInquiryCacheSize = accountInquiryCacheSize;
+    }
+
+    /**
+     * Gets how long a successful account inquiry stays cached.
+     *
+     * @return The TTL in milliseconds
+     */
+    public long getAccountInquiryCacheTtlMillis() {
+        return accountInquiryCacheTtlMillis;
+    }
+
+    /**
+     * Sets how long a successful account inquiry stays cached.
+     *
+     * @param accountInquiryCacheTtlMillis The TTL in milliseconds
+     */
+    public void setAccountInquiryCacheTtlMillis(long accountInquiryCacheTtlMillis) {
+        if (accountInquiryCacheTtlMillis < 1) {
+            throw new IllegalArgumentException("accountInquiryCacheTtlMillis must be positive");
+        }
+        this.accountInquiryCacheTtlMillis = accountInquiryCacheTtlMillis;
+    }
+
+    /**
+     * Gets how long an "account not found" answer stays cached.
+     *
+     * @return The TTL in milliseconds
+     */
+    public long getAccountInquiryNegativeCacheTtlMillis() {
+        return accountInquiryNegativeCacheTtlMillis;
+    }
+
+    /**
+     * Sets how long an "account not found" answer stays cached.
+     *
+     * @param accountInquiryNegativeCacheTtlMillis The TTL in milliseconds, or 0 to never cache such answers
+     */
+    public void setAccountInquiryNegativeCacheTtlMillis(long accountInquiryNegativeCacheTtlMillis) {
+        if (accountInquiryNegativeCacheTtlMillis < 0) {
+            throw new IllegalArgumentException("accountInquiryNegativeCacheTtlMillis must not be negative");
+        }
+        this.accountInquiryNegativeCacheTtlMillis = accountInquiryNegativeCacheTtlMillis;
+    }
+
+    /**
+     * Gets the maximum number of TLS sessions cached for resumption.
+     *
+     * @return The session cache size
+     */
+    public int getSslSessionCacheSize() {
+        return sslSessionCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of TLS sessions cached for resumption. Defaults to the JDK's
+     * client session cache size, 20480 unless the {@code javax.net.ssl.sessionCacheSize}
+     * system property says otherwise; a smaller value only makes sessions expire sooner.
+     *
+     * @param sslSessionCacheSize The session cache size, or 0 for no limit
+     */
+    public void setSslSessionCacheSize(int sslSessionCacheSize) {
+        if (sslSessionCacheSize < 0) {
+            throw new IllegalArgumentException("sslSessionCacheSize must not be negative");
+        }
+        this.sslSessionCacheSize = sslSessionCacheSize;
+        applySessionCacheSettings();
+    }
+
+    /**
+     * Gets how long a cached TLS session may be resumed.
+     *
+     * @return The session timeout in seconds
+     */
+    public int getSslSessionTimeoutSeconds() {
+        return sslSessionTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long a cached TLS session may be resumed. Defaults to the JDK's client
+     * session timeout of 24 hours.
+     *
+     * @param sslSessionTimeoutSeconds The session timeout in seconds, or 0 for no limit
+     */
+    public void setSslSessionTimeoutSeconds(int sslSessionTimeoutSeconds) {
+        if (sslSessionTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("sslSessionTimeoutSeconds must not be negative");
+        }
+        this.sslSessionTimeoutSeconds = sslSessionTimeoutSeconds;
+        applySessionCacheSettings();
+    }
+
+    /**
+     * Gets the number of connections opened when a client is created.
+     *
+     * @return The number of warm-up connections, or 0 if warm-up is disabled
+     */
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    /**
+     * Sets the number of connections a {@code FaspaySnapClient} opens to the base URL when it is created,
+     * so the first API calls do not pay for DNS, TCP and the TLS handshake. Disabled by default.
+     * The effective number is capped by the maximum requests per host and the maximum idle connections.
+     *
+     * @param warmUpConnections The number of warm-up connections, or 0 to disable warm-up
+     */
+    public void setWarmUpConnections(int warmUpConnections) {
+        if (warmUpConnections < 0) {
+            throw new IllegalArgumentException("warmUpConnections must not be negative");
+        }
+        this.warmUpConnections = warmUpConnections;
+    }
+
+    /**
+     * Gets how long client creation waits for warm-up connections.
+     *
+     * @return The warm-up timeout in milliseconds
+     */
+    public long getWarmUpTimeoutMillis() {
+        return warmUpTimeoutMillis;
+    }
+
+    /**
+     * Sets how long client creation waits for warm-up connections.
+     *
+     * @param warmUpTimeoutMillis The warm-up timeout in milliseconds
+     */
+    public void setWarmUpTimeoutMillis(long warmUpTimeoutMillis) {
+        if (warmUpTimeoutMillis < 1) {
+            throw new IllegalArgumentException("warmUpTimeoutMillis must be positive");
+        }
+        this.warmUpTimeoutMillis = warmUpTimeoutMillis;
+    }
+
+    /**
+     * Gets the executor that runs the HTTP calls of the asynchronous service methods.
+     *
+     * @return The executor, or null if the HTTP client creates its own
+     */
+    public ExecutorService getCallExecutor() {
+        return callExecutor;
+    }
+
+    /**
+     * Sets the executor that runs the HTTP calls of the asynchronous service methods.
+     * Blocking methods are not affected; they run their call on the calling thread.
+     * The executor is owned by the caller and is not shut down when the client is closed.
+     * Takes effect for clients created after this call.
+     *
+     * @param callExecutor The executor, or null to let the HTTP client create its own
+     */
+    public void setCallExecutor(ExecutorService callExecutor) {
+        this.callExecutor = callExecutor;
+    }
+
+    /**
+     * Checks if the HTTP calls of the asynchronous methods run on virtual threads.
+     *
+     * @return True if virtual threads are enabled, false otherwise
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Runs the HTTP calls of the asynchronous methods on virtual threads, one per call,
+     * unless a call executor is set. Blocking methods are not affected; they always run their
+     * call on the calling thread, so to make them cheap to block in, call them from virtual
+     * threads. Requires Java 21 or later. With virtual threads the dispatcher limits
+     * are usually the only bound on concurrency, so raise them together with this setting.
+     * Takes effect for clients created after this call.
+     *
+     * @param virtualThreads Whether to run asynchronous HTTP calls on virtual threads
+     * @throws UnsupportedOperationException If enabled on a JVM without virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Gets the number of threads dedicated to RSA signing.
+     *
+     * @return The number of signing threads, or 0 if requests are signed on the calling thread
+     */
+    public int getSigningThreads() {
+        return signingThreads;
+    }
+
+    /**
+     * Sets the number of threads dedicated to RSA signing. With signing threads, requests are
+     * signed on a pool owned by the HTTP client instead of the thread that issues them, and
+     * asynchronous calls are handed to the dispatcher by the signing thread, so event-loop
+     * threads do no RSA work. The number of available processors is a good size.
+     * Takes effect for clients created after this call.
+     *
+     * @param signingThreads The number of signing threads, or 0 to sign on the calling thread (default)
+     */
+    public void setSigningThreads(int signingThreads) {
+        if (signingThreads < 0) {
+            throw new IllegalArgumentException("signingThreads must not be negative");
+        }
+        this.signingThreads = signingThreads;
+    }
+
+    /**
+     * Checks if requests go through an adaptive concurrency limiter per endpoint.
+     *
+     * @return True if adaptive concurrency limiting is enabled, false otherwise
+     */
+    public boolean isAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    /**
+     * Enables an adaptive concurrency limiter per endpoint. Each limiter raises or lowers the
+     * number of requests in flight to its endpoint based on observed latency and dropped
+     * requests; requests over the limit wait in a queue. Disabled by default.
+     * Takes effect for clients created after this call.
+     *
+     * @param adaptiveConcurrency Whether to enable adaptive concurrency limiting
+     */
+    public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+        this.adaptiveConcurrency = adaptiveConcurrency;
+    }
+
+    /**
+     * Gets the concurrency limit bounds used by endpoints without their own setting.
+     *
+     * @return The default bounds
+     */
+    public ConcurrencyLimit getDefaultConcurrencyLimit() {
+        return defaultConcurrencyLimit;
+    }
+
+    /**
+     * Sets the concurrency limit bounds used by endpoints without their own setting.
+     *
+     * @param defaultConcurrencyLimit The default bounds
+     */
+    public void setDefaultConcurrencyLimit(ConcurrencyLimit defaultConcurrencyLimit) {
+        this.defaultConcurrencyLimit = Objects.requireNonNull(defaultConcurrencyLimit, "defaultConcurrencyLimit must not be null");
+    }
+
+    /**
+     * Gets the concurrency limit bounds of an endpoint.
+     *
+     * @param endpoint The endpoint path, as returned by {@link Constants}
+     * @return The bounds set for the endpoint, or the default bounds
+     */
+    public ConcurrencyLimit getConcurrencyLimit(String endpoint) {
+        return endpointConcurrencyLimits.getOrDefault(endpoint, defaultConcurrencyLimit);
+    }
+
+    /**
+     * Sets the concurrency limit bounds of one endpoint.
+     *
+     * @param endpoint The endpoint path, as returned by {@link Constants}
+     * @param concurrencyLimit The bounds for the endpoint
+     */
+    public void setConcurrencyLimit(String endpoint, ConcurrencyLimit concurrencyLimit) {
+        Objects.requireNonNull(endpoint, "endpoint must not be null");
+        Objects.requireNonNull(concurrencyLimit, "concurrencyLimit must not be null");
+        endpointConcurrencyLimits.put(endpoint, concurrencyLimit);
+    }
+
+    /**
+     * Gets the timeouts used by endpoints without their own setting.
+     *
+     * @return The default timeouts
+     */
+    public Timeouts getDefaultTimeouts() {
+        return defaultTimeouts;
+    }
+
+    /**
+     * Sets the timeouts used by endpoints without their own setting.
+     * Defaults to 30 seconds for connect, read and write, and no call timeout.
+     * Takes effect for clients created after this call.
+     *
+     * @param defaultTimeouts The default timeouts
+     */
+    public void setDefaultTimeouts(Timeouts defaultTimeouts) {
+        this.defaultTimeouts = Objects.requireNonNull(defaultTimeouts, "defaultTimeouts must not be null");
+    }
+
+    /**
+     * Gets the timeouts of an endpoint.
+     *
+     * @param endpoint The endpoint path, as returned by {@link Constants}
+     * @return The timeouts set for the endpoint, or the default timeouts
+     */
+    public Timeouts getTimeouts(String endpoint) {
+        return endpointTimeouts.getOrDefault(endpoint, defaultTimeouts);
+    }
+
+    /**
+     * Gets the endpoints with their own timeouts.
+     *
+     * @return A copy of the timeouts per endpoint path
+     */
+    public Map<String, Timeouts> getEndpointTimeouts() {
+        return new HashMap<>(endpointTimeouts);
+    }
+
+    /**
+     * Sets the timeouts of one endpoint, e.g. a short budget for balance inquiries and a
+     * longer one for transfers. Takes effect for clients created after this call.
+     *
+     * @param endpoint The endpoint path, as returned by {@link Constants}
+     * @param timeouts The timeouts for the endpoint
+     */
+    public void setTimeouts(String endpoint, Timeouts timeouts) {
+        Objects.requireNonNull(endpoint, "endpoint must not be null");
+        Objects.requireNonNull(timeouts, "timeouts must not be null");
+        endpointTimeouts.put(endpoint, timeouts);
+    }
+
+    /**
+     * Gets the metrics implementation the HTTP client reports calls to.
+     *
+     * @return The metrics implementation
+     */
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics implementation the HTTP client reports calls to, e.g. a Micrometer
+     * adapter. Defaults to an {@link InMemoryClientMetrics}; use {@link ClientMetrics#NOOP}
+     * to record nothing. Takes effect for clients created after this call.
+     *
+     * @param metrics The metrics implementation
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+    }
+
+    /**
+     * Gets the journal that interbank transfers are recorded in.
+     *
+     * @return The transfer journal, or null if transfers are not journaled
+     */
+    public TransferJournal getTransferJournal() {
+        return transferJournal;
+    }
+
+    /**
+     * Sets the journal that interbank transfers are recorded in before they are sent.
+     * The caller owns the journal and closes it after the client. Takes effect for
+     * clients created after this call.
+     *
+     * @param transferJournal The transfer journal, or null to not journal transfers (default)
+     */
+    public void setTransferJournal(TransferJournal transferJournal) {
+        this.transferJournal = transferJournal;
+    }
 }
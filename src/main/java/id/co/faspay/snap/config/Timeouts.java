@@ -0,0 +1,111 @@
+package id.co.faspay.snap.config;
+
+import java.util.Objects;
+
+/**
+ * Network timeouts of one endpoint.
+ * The connect, read and write timeouts bound each individual socket operation; the call
+ * timeout, if set, bounds the whole call from connecting to reading the last byte of the
+ * response. A deadline passed to a service call further limits the call timeout.
+ */
+public class Timeouts {
+    private final long connectTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final long writeTimeoutMillis;
+    private final long callTimeoutMillis;
+
+    /**
+     * Creates new timeouts without a call timeout.
+     *
+     * @param connectTimeoutMillis The connect timeout in milliseconds, 0 for none
+     * @param readTimeoutMillis The read timeout in milliseconds, 0 for none
+     * @param writeTimeoutMillis The write timeout in milliseconds, 0 for none
+     */
+    public Timeouts(long connectTimeoutMillis, long readTimeoutMillis, long writeTimeoutMillis) {
+        this(connectTimeoutMillis, readTimeoutMillis, writeTimeoutMillis, 0);
+    }
+
+    /**
+     * Creates new timeouts.
+     *
+     * @param connectTimeoutMillis The connect timeout in milliseconds, 0 for none
+     * @param readTimeoutMillis The read timeout in milliseconds, 0 for none
+     * @param writeTimeoutMillis The write timeout in milliseconds, 0 for none
+     * @param callTimeoutMillis The timeout of the whole call in milliseconds, 0 for none
+     */
+    public Timeouts(long connectTimeoutMillis, long readTimeoutMillis, long writeTimeoutMillis, long callTimeoutMillis) {
+        if (connectTimeoutMillis < 0 || readTimeoutMillis < 0 || writeTimeoutMillis < 0 || callTimeoutMillis < 0) {
+            throw new IllegalArgumentException("timeouts must not be negative");
+        }
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        this.callTimeoutMillis = callTimeoutMillis;
+    }
+
+    /**
+     * Gets the connect timeout.
+     *
+     * @return The connect timeout in milliseconds, 0 for none
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Gets the read timeout.
+     *
+     * @return The read timeout in milliseconds, 0 for none
+     */
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    /**
+     * Gets the write timeout.
+     *
+     * @return The write timeout in milliseconds, 0 for none
+     */
+    public long getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+
+    /**
+     * Gets the timeout of the whole call.
+     *
+     * @return The call timeout in milliseconds, 0 for none
+     */
+    public long getCallTimeoutMillis() {
+        return callTimeoutMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Timeouts)) {
+            return false;
+        }
+        Timeouts other = (Timeouts) o;
+        return connectTimeoutMillis == other.connectTimeoutMillis
+                && readTimeoutMillis == other.readTimeoutMillis
+                && writeTimeoutMillis == other.writeTimeoutMillis
+                && callTimeoutMillis == other.callTimeoutMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(connectTimeoutMillis, readTimeoutMillis, writeTimeoutMillis, callTimeoutMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "Timeouts{" +
+                "connectTimeoutMillis=" + connectTimeoutMillis +
+                ", readTimeoutMillis=" + readTimeoutMillis +
+                ", writeTimeoutMillis=" + writeTimeoutMillis +
+                ", callTimeoutMillis=" + callTimeoutMillis +
+                '}';
+    }
+}
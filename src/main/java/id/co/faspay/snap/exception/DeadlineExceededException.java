@@ -0,0 +1,44 @@
+package id.co.faspay.snap.exception;
+
+/**
+ * Exception thrown when a call does not complete before its deadline.
+ * A call whose deadline passed before it was signed was never sent; otherwise the request
+ * may have reached the API, and the outcome of a transfer or payment must be checked with
+ * a status inquiry.
+ */
+public class DeadlineExceededException extends FaspaySnapApiException {
+
+    private final boolean sent;
+
+    /**
+     * Creates a new exception with the specified message.
+     *
+     * @param message The error message
+     * @param sent Whether the request may have reached the API
+     */
+    public DeadlineExceededException(String message, boolean sent) {
+        super(message);
+        this.sent = sent;
+    }
+
+    /**
+     * Creates a new exception with the specified message and cause.
+     *
+     * @param message The error message
+     * @param sent Whether the request may have reached the API
+     * @param cause The cause of the exception
+     */
+    public DeadlineExceededException(String message, boolean sent, Throwable cause) {
+        super(message, cause);
+        this.sent = sent;
+    }
+
+    /**
+     * Checks if the request may have reached the API before the deadline passed.
+     *
+     * @return False if the request was never sent
+     */
+    public boolean isSent() {
+        return sent;
+    }
+}
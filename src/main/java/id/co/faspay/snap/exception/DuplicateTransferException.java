@@ -0,0 +1,30 @@
+package id.co.faspay.snap.exception;
+
+/**
+ * Exception thrown when a transfer is started with a partner reference number that the
+ * transfer journal already holds as accepted or in doubt. The request is not sent.
+ */
+public class DuplicateTransferException extends FaspaySnapApiException {
+
+    private final String partnerReferenceNo;
+
+    /**
+     * Creates a new exception with the specified message.
+     *
+     * @param message The error message
+     * @param partnerReferenceNo The partner reference number of the transfer
+     */
+    public DuplicateTransferException(String message, String partnerReferenceNo) {
+        super(message);
+        this.partnerReferenceNo = partnerReferenceNo;
+    }
+
+    /**
+     * Gets the partner reference number of the transfer.
+     *
+     * @return The partner reference number
+     */
+    public String getPartnerReferenceNo() {
+        return partnerReferenceNo;
+    }
+}
@@ -4,6 +4,8 @@ package id.co.faspay.snap.exception;
  * Exception thrown when an error occurs while interacting with the Faspay SendMe Snap API.
  */
 public class FaspaySnapApiException extends Exception {
+
+    private final int httpStatusCode;
     
     /**
      * Creates a new exception with the specified message.
@@ -12,6 +14,18 @@ public class FaspaySnapApiException extends Exception {
      */
     public FaspaySnapApiException(String message) {
         super(message);
+        this.httpStatusCode = 0;
+    }
+
+    /**
+     * Creates a new exception for an HTTP error response.
+     *
+     * @param message The error message
+     * @param httpStatusCode The HTTP status code of the response
+     */
+    public FaspaySnapApiException(String message, int httpStatusCode) {
+        super(message);
+        this.httpStatusCode = httpStatusCode;
     }
     
     /**
@@ -22,6 +36,7 @@ public class FaspaySnapApiException extends Exception {
      */
     public FaspaySnapApiException(String message, Throwable cause) {
         super(message, cause);
+        this.httpStatusCode = 0;
     }
     
     /**
@@ -31,5 +46,15 @@ public class FaspaySnapApiException extends Exception {
      */
     public FaspaySnapApiException(Throwable cause) {
         super(cause);
+        this.httpStatusCode = 0;
+    }
+
+    /**
+     * Gets the HTTP status code of the error response that caused this exception.
+     *
+     * @return The HTTP status code, or 0 if the API did not return an HTTP error
+     */
+    public int getHttpStatusCode() {
+        return httpStatusCode;
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.Call")
+@Label("API Call")
+@Description("Whole call, from the start of the wait for a concurrency permit until the response is parsed")
+final class CallEvent extends SnapEvent {
+}
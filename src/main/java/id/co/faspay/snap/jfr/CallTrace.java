@@ -0,0 +1,105 @@
+package id.co.faspay.snap.jfr;
+
+import okhttp3.EventListener;
+
+/**
+ * Flight recorder trace of one API call. {@link #start(String)} returns a shared no-op
+ * trace unless a recording has the SDK's call event enabled, so tracing costs one check
+ * per call when nothing is recording. An active trace buffers the events of the call's
+ * phases and commits them all from {@link #finish(String)}, when the response code is known.
+ *
+ * <p>Connection acquisition and request execution are timed by the OkHttp listener from
+ * {@link #eventListenerFactory()}, which finds the trace through the request's
+ * {@code CallTrace} tag.</p>
+ */
+public abstract class CallTrace {
+
+    /**
+     * The phases timed by the client itself.
+     */
+    public enum Step {
+        SERIALIZE,
+        STRING_TO_SIGN,
+        SIGN,
+        PARSE
+    }
+
+    static final CallTrace NONE = new CallTrace() {
+    };
+
+    private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    private static final EventListener.Factory LISTENER_FACTORY = call -> {
+        CallTrace trace = call.request().tag(CallTrace.class);
+        return trace != null ? trace.listener() : EventListener.NONE;
+    };
+
+    CallTrace() {
+    }
+
+    /**
+     * Starts tracing a call.
+     *
+     * @param endpoint The API path of the call
+     * @return The trace, a no-op when the call event is not being recorded
+     */
+    public static CallTrace start(String endpoint) {
+        return AVAILABLE ? JfrCallTrace.startRecording(endpoint) : NONE;
+    }
+
+    /**
+     * Gets the OkHttp listener factory that times connection acquisition and request
+     * execution of traced requests.
+     *
+     * @return The listener factory
+     */
+    public static EventListener.Factory eventListenerFactory() {
+        return LISTENER_FACTORY;
+    }
+
+    /**
+     * Whether this trace records events; requests are only tagged with recording traces.
+     *
+     * @return true if events are recorded
+     */
+    public boolean isRecording() {
+        return false;
+    }
+
+    /**
+     * Marks the start of a step.
+     *
+     * @param step The step
+     */
+    public void begin(Step step) {
+    }
+
+    /**
+     * Marks the end of a step.
+     *
+     * @param step The step
+     */
+    public void end(Step step) {
+    }
+
+    /**
+     * Ends the call and commits its events.
+     *
+     * @param responseCode The response code or outcome of the call
+     */
+    public void finish(String responseCode) {
+    }
+
+    EventListener listener() {
+        return EventListener.NONE;
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, CallTrace.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
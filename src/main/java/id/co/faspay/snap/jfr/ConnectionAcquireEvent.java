@@ -0,0 +1,15 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.ConnectionAcquire")
+@Label("Connection Acquisition")
+@Description("From the first proxy, DNS or connect step of the OkHttp call until a connection is acquired, including DNS, connect and TLS handshake; dispatcher queueing is not included")
+final class ConnectionAcquireEvent extends SnapEvent {
+
+    @Label("New Connection")
+    @Description("Whether a new connection was opened instead of reusing a pooled one")
+    boolean newConnection;
+}
@@ -0,0 +1,215 @@
+package id.co.faspay.snap.jfr;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+
+/**
+ * Recording trace. The client's steps and {@link #finish} run one after another, handed
+ * between the caller's and OkHttp's threads by the call itself, so they need no lock. Only
+ * the OkHttp listener can still be called after finish, when a call is abandoned; it ignores
+ * callbacks once the trace is finished, and publishes its events through volatile fields.
+ */
+final class JfrCallTrace extends CallTrace {
+    private final String endpoint;
+    private final CallEvent call;
+    private final SerializeEvent serialize = new SerializeEvent();
+    private final StringToSignEvent stringToSign = new StringToSignEvent();
+    private final SignEvent sign = new SignEvent();
+    private final ResponseParseEvent parse = new ResponseParseEvent();
+    private volatile ConnectionAcquireEvent acquire;
+    private volatile RequestExecutionEvent execution;
+    private volatile boolean acquireEnded;
+    private volatile boolean executionEnded;
+    private volatile boolean finished;
+    // Bit per event that has begun, so that unfinished and skipped phases are handled at finish
+    private int begun;
+    private int ended;
+
+    private JfrCallTrace(String endpoint, CallEvent call) {
+        this.endpoint = endpoint;
+        this.call = call;
+    }
+
+    static CallTrace startRecording(String endpoint) {
+        // Not instrumented while nothing records, so the check and the allocation compile away
+        CallEvent call = new CallEvent();
+        if (!call.isEnabled()) {
+            return NONE;
+        }
+        call.begin();
+        return new JfrCallTrace(endpoint, call);
+    }
+
+    @Override
+    public boolean isRecording() {
+        return true;
+    }
+
+    @Override
+    public void begin(Step step) {
+        SnapEvent event = event(step);
+        event.begin();
+        begun |= bit(step);
+    }
+
+    @Override
+    public void end(Step step) {
+        if ((ended & bit(step)) == 0) {
+            event(step).end();
+            ended |= bit(step);
+        }
+    }
+
+    @Override
+    public void finish(String responseCode) {
+        finished = true;
+        call.end();
+        commit(call, responseCode);
+        for (Step step : Step.values()) {
+            if ((begun & bit(step)) != 0) {
+                SnapEvent event = event(step);
+                if ((ended & bit(step)) == 0) {
+                    event.end();
+                }
+                commit(event, responseCode);
+            }
+        }
+        ConnectionAcquireEvent acquire = this.acquire;
+        if (acquire != null) {
+            if (!acquireEnded) {
+                acquire.end();
+            }
+            commit(acquire, responseCode);
+        }
+        RequestExecutionEvent execution = this.execution;
+        if (execution != null) {
+            if (!executionEnded) {
+                execution.end();
+            }
+            commit(execution, responseCode);
+        }
+    }
+
+    @Override
+    EventListener listener() {
+        return new Listener();
+    }
+
+    private void commit(SnapEvent event, String responseCode) {
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.responseCode = responseCode;
+            event.commit();
+        }
+    }
+
+    private SnapEvent event(Step step) {
+        switch (step) {
+            case SERIALIZE:
+                return serialize;
+            case STRING_TO_SIGN:
+                return stringToSign;
+            case SIGN:
+                return sign;
+            default:
+                return parse;
+        }
+    }
+
+    private static int bit(Step step) {
+        return 1 << step.ordinal();
+    }
+
+    /**
+     * Runs on the thread executing the call. Connection acquisition starts with the first
+     * connection callback rather than callStart, which for enqueued calls comes before the
+     * call waits in the dispatcher queue.
+     */
+    private final class Listener extends EventListener {
+
+        @Override
+        public void proxySelectStart(Call call, HttpUrl url) {
+            beginAcquire();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            beginAcquire();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            ConnectionAcquireEvent acquire = beginAcquire();
+            if (acquire != null) {
+                acquire.newConnection = true;
+            }
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            ConnectionAcquireEvent acquire = beginAcquire();
+            if (acquire == null) {
+                return;
+            }
+            if (!acquireEnded) {
+                acquire.end();
+                acquireEnded = true;
+            }
+            RequestExecutionEvent execution = new RequestExecutionEvent();
+            execution.begin();
+            executionEnded = false;
+            JfrCallTrace.this.execution = execution;
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            RequestExecutionEvent execution = JfrCallTrace.this.execution;
+            if (execution != null && !finished) {
+                execution.httpStatus = response.code();
+            }
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            endExecution();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException e) {
+            endExecution();
+        }
+
+        /**
+         * Begins connection acquisition unless it has begun already.
+         *
+         * @return The acquisition event, or null once the trace is finished
+         */
+        private ConnectionAcquireEvent beginAcquire() {
+            if (finished) {
+                return null;
+            }
+            ConnectionAcquireEvent acquire = JfrCallTrace.this.acquire;
+            if (acquire == null) {
+                acquire = new ConnectionAcquireEvent();
+                acquire.begin();
+                JfrCallTrace.this.acquire = acquire;
+            }
+            return acquire;
+        }
+
+        private void endExecution() {
+            RequestExecutionEvent execution = JfrCallTrace.this.execution;
+            if (execution != null && !executionEnded && !finished) {
+                execution.end();
+                executionEnded = true;
+            }
+        }
+    }
+}
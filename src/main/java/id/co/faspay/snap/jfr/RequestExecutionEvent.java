@@ -0,0 +1,14 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.RequestExecution")
+@Label("Request Execution")
+@Description("From connection acquisition until the response body is received")
+final class RequestExecutionEvent extends SnapEvent {
+
+    @Label("HTTP Status")
+    int httpStatus;
+}
@@ -0,0 +1,11 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.ResponseParse")
+@Label("Response Parsing")
+@Description("Converting the response body into the response model; for streaming calls this overlaps request execution")
+final class ResponseParseEvent extends SnapEvent {
+}
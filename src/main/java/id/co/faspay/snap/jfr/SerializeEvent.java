@@ -0,0 +1,11 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.Serialize")
+@Label("Request Serialization")
+@Description("Writing the request body as canonical JSON")
+final class SerializeEvent extends SnapEvent {
+}
@@ -0,0 +1,11 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.Sign")
+@Label("RSA Signing")
+@Description("Signing the string to sign with the private key")
+final class SignEvent extends SnapEvent {
+}
@@ -0,0 +1,25 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the SDK's flight recorder events. The events of one call are committed together
+ * when the call completes, so every phase carries the call's response code.
+ * Stack traces are not recorded: they would show the completing thread, not the phase.
+ */
+@Category({"Faspay SendMe Snap", "API Call"})
+@StackTrace(false)
+abstract class SnapEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("API path of the call")
+    String endpoint;
+
+    @Label("Response Code")
+    @Description("responseCode of the response, or the IO_ERROR, DEADLINE_EXCEEDED, ERROR or HTTP_<status> outcome")
+    String responseCode;
+}
@@ -0,0 +1,11 @@
+package id.co.faspay.snap.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("id.co.faspay.snap.StringToSign")
+@Label("String-to-Sign Construction")
+@Description("Hashing the request body and building the string to sign")
+final class StringToSignEvent extends SnapEvent {
+}
@@ -0,0 +1,192 @@
+package id.co.faspay.snap.journal;
+
+import id.co.faspay.snap.model.Amount;
+
+import java.util.Objects;
+
+/**
+ * State of one transfer in the {@link TransferJournal}, keyed by its partner reference number.
+ * Instances are immutable; recording an outcome replaces the entry.
+ */
+public final class JournalEntry {
+
+    /**
+     * What is known about whether the transfer reached the API.
+     */
+    public enum State {
+        /**
+         * The intent was recorded but no outcome: the request may or may not have been
+         * processed, so the transfer must be checked with a status inquiry before retrying.
+         */
+        IN_DOUBT,
+        /**
+         * The API accepted the transfer, either in its response or in a status inquiry.
+         */
+        ACCEPTED,
+        /**
+         * The transfer was not processed: it was never sent, the API rejected it, or a status
+         * inquiry did not find it. It may be retried with the same partner reference number.
+         */
+        REJECTED
+    }
+
+    private final String partnerReferenceNo;
+    private final Amount amount;
+    private final String sourceAccountNo;
+    private final String beneficiaryAccountNo;
+    private final String beneficiaryBankCode;
+    private final long createdAtMillis;
+    private final State state;
+    private final String referenceNo;
+    private final String responseCode;
+    private final String transactionStatus;
+    private final long updatedAtMillis;
+
+    JournalEntry(String partnerReferenceNo, Amount amount, String sourceAccountNo, String beneficiaryAccountNo,
+                 String beneficiaryBankCode, long createdAtMillis) {
+        this(partnerReferenceNo, amount, sourceAccountNo, beneficiaryAccountNo, beneficiaryBankCode, createdAtMillis,
+                State.IN_DOUBT, null, null, null, createdAtMillis);
+    }
+
+    private JournalEntry(String partnerReferenceNo, Amount amount, String sourceAccountNo, String beneficiaryAccountNo,
+                         String beneficiaryBankCode, long createdAtMillis, State state, String referenceNo,
+                         String responseCode, String transactionStatus, long updatedAtMillis) {
+        this.partnerReferenceNo = Objects.requireNonNull(partnerReferenceNo, "partnerReferenceNo must not be null");
+        this.amount = amount;
+        this.sourceAccountNo = sourceAccountNo;
+        this.beneficiaryAccountNo = beneficiaryAccountNo;
+        this.beneficiaryBankCode = beneficiaryBankCode;
+        this.createdAtMillis = createdAtMillis;
+        this.state = state;
+        this.referenceNo = referenceNo;
+        this.responseCode = responseCode;
+        this.transactionStatus = transactionStatus;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    JournalEntry withOutcome(State state, String referenceNo, String responseCode, String transactionStatus,
+                             long updatedAtMillis) {
+        return new JournalEntry(partnerReferenceNo, amount, sourceAccountNo, beneficiaryAccountNo, beneficiaryBankCode,
+                createdAtMillis, state, referenceNo, responseCode, transactionStatus, updatedAtMillis);
+    }
+
+    /**
+     * Gets the partner reference number of the transfer.
+     *
+     * @return The partner reference number
+     */
+    public String getPartnerReferenceNo() {
+        return partnerReferenceNo;
+    }
+
+    /**
+     * Gets the amount of the transfer.
+     *
+     * @return The amount
+     */
+    public Amount getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the source account number of the transfer.
+     *
+     * @return The source account number
+     */
+    public String getSourceAccountNo() {
+        return sourceAccountNo;
+    }
+
+    /**
+     * Gets the beneficiary account number of the transfer.
+     *
+     * @return The beneficiary account number
+     */
+    public String getBeneficiaryAccountNo() {
+        return beneficiaryAccountNo;
+    }
+
+    /**
+     * Gets the beneficiary bank code of the transfer.
+     *
+     * @return The beneficiary bank code
+     */
+    public String getBeneficiaryBankCode() {
+        return beneficiaryBankCode;
+    }
+
+    /**
+     * Gets when the intent was recorded.
+     *
+     * @return The time in epoch milliseconds
+     */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * Gets what is known about the transfer.
+     *
+     * @return The state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Checks if the outcome of the transfer is unknown.
+     *
+     * @return True if the transfer is in doubt
+     */
+    public boolean isInDoubt() {
+        return state == State.IN_DOUBT;
+    }
+
+    /**
+     * Gets the reference number the API assigned to the transfer.
+     *
+     * @return The reference number, or null if unknown
+     */
+    public String getReferenceNo() {
+        return referenceNo;
+    }
+
+    /**
+     * Gets the response code of the transfer or status response that settled the entry.
+     *
+     * @return The response code, or null if no response was received
+     */
+    public String getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * Gets the latest transaction status reported by a status inquiry.
+     *
+     * @return The transaction status, or null if the entry was not resolved by a status inquiry
+     */
+    public String getTransactionStatus() {
+        return transactionStatus;
+    }
+
+    /**
+     * Gets when the entry was last updated.
+     *
+     * @return The time in epoch milliseconds
+     */
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{" +
+                "partnerReferenceNo='" + partnerReferenceNo + '\'' +
+                ", amount=" + amount +
+                ", state=" + state +
+                ", referenceNo='" + referenceNo + '\'' +
+                ", responseCode='" + responseCode + '\'' +
+                ", transactionStatus='" + transactionStatus + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,805 @@
+package id.co.faspay.snap.journal;
+
+import id.co.faspay.snap.exception.DeadlineExceededException;
+import id.co.faspay.snap.exception.DuplicateTransferException;
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.Amount;
+import id.co.faspay.snap.model.StatusTransferRequest;
+import id.co.faspay.snap.model.StatusTransferResponse;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.model.TransferInterbankResponse;
+import id.co.faspay.snap.service.TransferStatusService;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of interbank transfers, so that a transfer interrupted by a crash can
+ * be told apart from one that never left the process. The intent of a transfer is made
+ * durable before the request is sent and its outcome is appended once the response is in;
+ * a transfer with an intent but no outcome is in doubt and is settled with
+ * {@link #resolveInDoubt(TransferStatusService)}.
+ *
+ * <p>The journal is an append-only file mapped into memory. Each record carries its length
+ * and a CRC32C, and reading stops at the first torn record. Intents are made durable by group
+ * commit: the first waiting caller forces the mapping and every record appended in the
+ * meantime becomes durable with it, so concurrent transfers share one sync. Asynchronous
+ * intents are appended and synced by the journal's own sync thread, so the caller never waits
+ * on the disk. Outcomes are not
+ * forced on their own; losing one only leaves its transfer in doubt. When the file is full it
+ * is rewritten with the current entries, dropping settled entries older than the retention.
+ * Instances are thread-safe; a file must be opened by one journal at a time.</p>
+ */
+public class TransferJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TransferJournal.class);
+
+    /**
+     * The service code of interbank transfers in status inquiries.
+     */
+    public static final String TRANSFER_SERVICE_CODE = "18";
+
+    private static final int DEFAULT_CAPACITY = 64 * 1024 * 1024;
+    private static final int MIN_CAPACITY = 64 * 1024;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 16 * 1024;
+    private static final byte INTENT = 1;
+    private static final byte OUTCOME = 2;
+
+    private final Path file;
+    private final long openedAt = System.currentTimeMillis();
+    private final Map<String, JournalEntry> entries = new ConcurrentHashMap<>();
+
+    // Appends, compaction and the fields below are guarded by the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private int position;
+    private boolean closed;
+    private volatile MappedByteBuffer buffer;
+    // Total bytes ever appended; positions in this stream never move back, unlike file offsets
+    private volatile long written;
+
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition committed = commitLock.newCondition();
+    private long durable;
+    private boolean forcing;
+    private long syncCount;
+
+    // Intents recorded asynchronously, appended and synced in batches by the sync thread
+    private final BlockingQueue<PendingIntent> pendingIntents = new LinkedBlockingQueue<>();
+    private Thread syncThread;
+
+    private volatile long retentionMillis = TimeUnit.DAYS.toMillis(7);
+    private volatile long resolveAfterMillis = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Opens a journal with a 64 MiB file, creating the file if it does not exist.
+     *
+     * @param file The journal file
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public TransferJournal(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Opens a journal, creating the file if it does not exist. An existing file is replayed
+     * and keeps its size if it is larger than the capacity. Transfers left in doubt by an
+     * earlier run are logged.
+     *
+     * @param file The journal file
+     * @param capacity The size of the mapped file in bytes, at least 64 KiB
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public TransferJournal(Path file, int capacity) throws IOException {
+        this.file = Objects.requireNonNull(file, "file must not be null");
+        if (capacity < MIN_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be at least " + MIN_CAPACITY);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = Math.max(channel.size(), capacity);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Transfer journal " + file + " is larger than 2 GiB");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            replay();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        int inDoubt = getInDoubt().size();
+        if (inDoubt > 0) {
+            logger.warn("Transfer journal {} has {} transfers in doubt", file, inDoubt);
+        }
+    }
+
+    /**
+     * Makes the intent of a transfer durable before it is sent. A partner reference number
+     * may only be reused when its earlier transfer was rejected.
+     *
+     * @param request The transfer request
+     * @return The entry of the transfer, in doubt until its outcome is recorded
+     * @throws DuplicateTransferException If the journal holds the transfer as accepted or in doubt
+     * @throws IOException If the intent cannot be written
+     */
+    public JournalEntry recordIntent(TransferInterbankRequest request) throws DuplicateTransferException, IOException {
+        JournalEntry entry = newEntry(request);
+        long end = appendIntent(entry);
+        try {
+            awaitDurable(end);
+        } catch (IOException e) {
+            rejectUnsent(entry);
+            throw e;
+        }
+        return entry;
+    }
+
+    /**
+     * Makes the intent of a transfer durable without blocking the calling thread. The intent is
+     * appended and synced by the journal's sync thread together with the other intents waiting
+     * at that moment. The returned future is completed on the sync thread, so stages that do
+     * more than hand off work should be attached with an executor.
+     *
+     * @param request The transfer request
+     * @return A future completed with the entry of the transfer once its intent is durable, or
+     *         exceptionally with a DuplicateTransferException if the journal holds the transfer
+     *         as accepted or in doubt, or an IOException if the intent cannot be written
+     */
+    public CompletableFuture<JournalEntry> recordIntentAsync(TransferInterbankRequest request) {
+        PendingIntent pending = new PendingIntent(newEntry(request));
+        lock.lock();
+        try {
+            if (closed) {
+                pending.future.completeExceptionally(new IOException("Transfer journal " + file + " is closed"));
+                return pending.future;
+            }
+            if (syncThread == null) {
+                syncThread = new Thread(this::syncLoop, "faspay-snap-journal-sync");
+                syncThread.setDaemon(true);
+                syncThread.start();
+            }
+            pendingIntents.add(pending);
+        } finally {
+            lock.unlock();
+        }
+        return pending.future;
+    }
+
+    /**
+     * Records the outcome of a transfer call. A response means the API accepted the transfer.
+     * An error means it was rejected only when it proves the transfer was not processed: the
+     * request was never sent, or the API refused it before processing with HTTP 400 (invalid
+     * request), 401 (invalid signature or token) or 429 (rate limited). Any other error,
+     * including 409 for a reference number the API already knows, leaves the transfer in doubt.
+     *
+     * @param partnerReferenceNo The partner reference number of the transfer
+     * @param response The response, or null if the call failed
+     * @param error The error of the call, or null if it succeeded
+     * @return The updated entry, or null if the transfer is not journaled
+     * @throws IOException If the outcome cannot be written
+     */
+    public JournalEntry recordOutcome(String partnerReferenceNo, TransferInterbankResponse response, Throwable error)
+            throws IOException {
+        Objects.requireNonNull(partnerReferenceNo, "partnerReferenceNo must not be null");
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error == null && response != null) {
+            return update(partnerReferenceNo, JournalEntry.State.ACCEPTED, response.getReferenceNumber(),
+                    response.getResponseCode(), null);
+        }
+        if (isRejected(error)) {
+            int status = error instanceof FaspaySnapApiException ? ((FaspaySnapApiException) error).getHttpStatusCode() : 0;
+            return update(partnerReferenceNo, JournalEntry.State.REJECTED, null, status > 0 ? "HTTP_" + status : null, null);
+        }
+        return entries.get(partnerReferenceNo);
+    }
+
+    /**
+     * Settles transfers in doubt with status inquiries. Only transfers journaled by an earlier
+     * run, or longer ago than the resolve delay, are checked, so that calls still in flight are
+     * left alone. A transfer the API reports is accepted; one it does not know (HTTP 404) is
+     * rejected. Transfers whose inquiry fails stay in doubt.
+     *
+     * @param statusService The service used to query transfer status
+     * @return The entries that were settled
+     */
+    public List<JournalEntry> resolveInDoubt(TransferStatusService statusService) {
+        Objects.requireNonNull(statusService, "statusService must not be null");
+        long cutoff = System.currentTimeMillis() - resolveAfterMillis;
+        List<JournalEntry> resolved = new ArrayList<>();
+        for (JournalEntry entry : getInDoubt()) {
+            if (entry.getCreatedAtMillis() >= openedAt && entry.getCreatedAtMillis() > cutoff) {
+                continue;
+            }
+            String reference = entry.getPartnerReferenceNo();
+            JournalEntry updated = null;
+            try {
+                StatusTransferResponse status = statusService.status(
+                        new StatusTransferRequest(reference, "", TRANSFER_SERVICE_CODE));
+                if (status.isSuccess()) {
+                    updated = update(reference, JournalEntry.State.ACCEPTED, status.getReferenceNumber(),
+                            status.getResponseCode(), status.getLatestTransactionStatus());
+                } else {
+                    logger.warn("Status inquiry for transfer {} in doubt returned {}", reference, status.getResponseCode());
+                }
+            } catch (FaspaySnapApiException e) {
+                if (e.getHttpStatusCode() == 404) {
+                    try {
+                        updated = update(reference, JournalEntry.State.REJECTED, null, "HTTP_404", null);
+                    } catch (IOException ioe) {
+                        logger.error("Error journaling outcome of transfer {}: {}", reference, ioe.getMessage());
+                    }
+                } else {
+                    logger.warn("Status inquiry for transfer {} in doubt failed: {}", reference, e.getMessage());
+                }
+            } catch (IOException e) {
+                logger.error("Error journaling outcome of transfer {}: {}", reference, e.getMessage());
+            }
+            if (updated != null) {
+                logger.info("Transfer {} in doubt resolved as {}", reference, updated.getState());
+                resolved.add(updated);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Gets the journaled state of a transfer.
+     *
+     * @param partnerReferenceNo The partner reference number of the transfer
+     * @return The entry, or null if the transfer is not journaled
+     */
+    public JournalEntry get(String partnerReferenceNo) {
+        return entries.get(Objects.requireNonNull(partnerReferenceNo, "partnerReferenceNo must not be null"));
+    }
+
+    /**
+     * Gets the transfers whose outcome is unknown.
+     *
+     * @return The entries in doubt
+     */
+    public List<JournalEntry> getInDoubt() {
+        List<JournalEntry> inDoubt = new ArrayList<>();
+        for (JournalEntry entry : entries.values()) {
+            if (entry.isInDoubt()) {
+                inDoubt.add(entry);
+            }
+        }
+        return inDoubt;
+    }
+
+    /**
+     * Gets the number of journaled transfers.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of times the file was synced to disk. With concurrent transfers this
+     * stays below the number of intents, as one sync commits every intent appended before it.
+     *
+     * @return The number of syncs
+     */
+    public long getSyncCount() {
+        commitLock.lock();
+        try {
+            return syncCount;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return The file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Gets how long settled transfers are kept when the file is rewritten.
+     *
+     * @return The retention in milliseconds
+     */
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+
+    /**
+     * Sets how long settled transfers are kept when the file is rewritten. A partner reference
+     * number whose transfer has been dropped is no longer recognized as a duplicate.
+     *
+     * @param retentionMillis The retention in milliseconds
+     */
+    public void setRetentionMillis(long retentionMillis) {
+        if (retentionMillis < 0) {
+            throw new IllegalArgumentException("retentionMillis must not be negative");
+        }
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Gets how old a transfer journaled by this run must be before it is resolved.
+     *
+     * @return The delay in milliseconds
+     */
+    public long getResolveAfterMillis() {
+        return resolveAfterMillis;
+    }
+
+    /**
+     * Sets how old a transfer journaled by this run must be before it is resolved. Transfers
+     * journaled by an earlier run are resolved regardless of their age.
+     *
+     * @param resolveAfterMillis The delay in milliseconds
+     */
+    public void setResolveAfterMillis(long resolveAfterMillis) {
+        if (resolveAfterMillis < 0) {
+            throw new IllegalArgumentException("resolveAfterMillis must not be negative");
+        }
+        this.resolveAfterMillis = resolveAfterMillis;
+    }
+
+    /**
+     * Syncs the outstanding records to disk and closes the file.
+     *
+     * @throws IOException If the file cannot be synced or closed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (syncThread != null) {
+                syncThread.interrupt();
+            }
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JournalEntry newEntry(TransferInterbankRequest request) {
+        Objects.requireNonNull(request, "request must not be null");
+        String reference = Objects.requireNonNull(request.getPartnerReferenceNumber(), "partnerReferenceNumber must not be null");
+        return new JournalEntry(reference, request.getAmount(), request.getSourceAccountNumber(),
+                request.getBeneficiaryAccountNumber(), request.getBeneficiaryBankCode(), System.currentTimeMillis());
+    }
+
+    /**
+     * Appends the intent of a transfer unless the journal already holds it as accepted or in doubt.
+     *
+     * @return The end of the record in the stream of appended bytes
+     */
+    private long appendIntent(JournalEntry entry) throws DuplicateTransferException, IOException {
+        String reference = entry.getPartnerReferenceNo();
+        lock.lock();
+        try {
+            JournalEntry existing = entries.get(reference);
+            if (existing != null && existing.getState() != JournalEntry.State.REJECTED) {
+                throw new DuplicateTransferException("Transfer " + reference + " is already journaled as "
+                        + existing.getState(), reference);
+            }
+            long end = append(encodeIntent(entry));
+            entries.put(reference, entry);
+            return end;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a transfer whose intent could not be made durable as rejected. The request will not
+     * be sent, so a retry must not be refused as a duplicate.
+     */
+    private void rejectUnsent(JournalEntry entry) {
+        try {
+            update(entry.getPartnerReferenceNo(), JournalEntry.State.REJECTED, null, null, null);
+        } catch (IOException | RuntimeException ignored) {
+            // The entry stays in doubt
+        }
+    }
+
+    /**
+     * Runs on the sync thread: appends every intent waiting in the queue, syncs them together
+     * and completes their futures.
+     */
+    private void syncLoop() {
+        List<PendingIntent> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pendingIntents.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            pendingIntents.drainTo(batch);
+            long end = 0;
+            for (PendingIntent pending : batch) {
+                try {
+                    end = Math.max(end, appendIntent(pending.entry));
+                    pending.appended = true;
+                } catch (DuplicateTransferException | IOException | RuntimeException e) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+            IOException failure = null;
+            if (end > 0) {
+                try {
+                    awaitDurable(end);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            for (PendingIntent pending : batch) {
+                if (!pending.appended) {
+                    continue;
+                }
+                if (failure == null) {
+                    pending.future.complete(pending.entry);
+                } else {
+                    rejectUnsent(pending.entry);
+                    pending.future.completeExceptionally(failure);
+                }
+            }
+            batch.clear();
+        }
+
+        // Closed; intents queued meanwhile are not written
+        PendingIntent pending;
+        while ((pending = pendingIntents.poll()) != null) {
+            pending.future.completeExceptionally(new IOException("Transfer journal " + file + " is closed"));
+        }
+    }
+
+    private static boolean isRejected(Throwable error) {
+        if (error instanceof DeadlineExceededException) {
+            return !((DeadlineExceededException) error).isSent();
+        }
+        if (error instanceof FaspaySnapApiException) {
+            int status = ((FaspaySnapApiException) error).getHttpStatusCode();
+            return status == 400 || status == 401 || status == 429;
+        }
+        return false;
+    }
+
+    private JournalEntry update(String reference, JournalEntry.State state, String referenceNo, String responseCode,
+                                String transactionStatus) throws IOException {
+        lock.lock();
+        try {
+            JournalEntry entry = entries.get(reference);
+            if (entry == null) {
+                return null;
+            }
+            JournalEntry updated = entry.withOutcome(state, referenceNo, responseCode, transactionStatus,
+                    System.currentTimeMillis());
+            append(encodeOutcome(updated));
+            entries.put(reference, updated);
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the journal is durable up to the given position, syncing it if no other
+     * caller is doing so. Callers arriving during a sync wait for it and then sync together.
+     */
+    private void awaitDurable(long end) throws IOException {
+        while (true) {
+            long target;
+            MappedByteBuffer mapped;
+            commitLock.lock();
+            try {
+                while (durable < end && forcing) {
+                    committed.await();
+                }
+                if (durable >= end) {
+                    return;
+                }
+                forcing = true;
+                // Read before the buffer: compaction leaves everything written so far in the new file
+                target = written;
+                mapped = buffer;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the transfer journal");
+            } finally {
+                commitLock.unlock();
+            }
+
+            boolean synced = false;
+            try {
+                mapped.force();
+                synced = true;
+            } finally {
+                commitLock.lock();
+                try {
+                    forcing = false;
+                    if (synced) {
+                        durable = Math.max(durable, target);
+                        syncCount++;
+                    }
+                    committed.signalAll();
+                } finally {
+                    commitLock.unlock();
+                }
+            }
+        }
+    }
+
+    private ByteBuffer begin(byte type) {
+        scratch.clear();
+        scratch.put(type);
+        return scratch;
+    }
+
+    /**
+     * Appends an encoded record, rewriting the file first if it does not fit.
+     *
+     * @return The end of the record in the stream of appended bytes
+     */
+    private long append(ByteBuffer record) throws IOException {
+        if (closed) {
+            throw new IOException("Transfer journal " + file + " is closed");
+        }
+        int size = HEADER_SIZE + record.remaining();
+        if (position + size > buffer.capacity()) {
+            // Compaction encodes into the scratch buffer the record is still in
+            ByteBuffer pending = ByteBuffer.allocate(record.remaining());
+            pending.put(record).flip();
+            compact(size);
+            record = pending;
+        }
+        position = write(buffer, position, record);
+        written += size;
+        return written;
+    }
+
+    private int write(MappedByteBuffer target, int offset, ByteBuffer record) {
+        int length = record.remaining();
+        crc.reset();
+        crc.update(record.duplicate());
+        target.position(offset + HEADER_SIZE);
+        target.put(record);
+        target.putInt(offset + 4, (int) crc.getValue());
+        // The length goes last, so a record is never seen before its body is written
+        target.putInt(offset, length);
+        return offset + HEADER_SIZE + length;
+    }
+
+    /**
+     * Rewrites the file with one intent and, for settled transfers, one outcome per entry,
+     * growing it so that at least half stays free. The new file is synced before it replaces
+     * the old one, which makes every record appended so far durable.
+     */
+    private void compact(int needed) throws IOException {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> !e.isInDoubt() && now - e.getUpdatedAtMillis() > retentionMillis);
+
+        List<JournalEntry> live = new ArrayList<>(entries.values());
+        long used = 0;
+        for (JournalEntry entry : live) {
+            used += HEADER_SIZE + encodeIntent(entry).remaining();
+            if (!entry.isInDoubt()) {
+                used += HEADER_SIZE + encodeOutcome(entry).remaining();
+            }
+        }
+        long capacity = buffer.capacity();
+        while (capacity < (used + needed) * 2) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Transfer journal " + file + " is full");
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        FileChannel newChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer newBuffer = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            int offset = 0;
+            for (JournalEntry entry : live) {
+                offset = write(newBuffer, offset, encodeIntent(entry));
+                if (!entry.isInDoubt()) {
+                    offset = write(newBuffer, offset, encodeOutcome(entry));
+                }
+            }
+            newBuffer.force();
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel.close();
+            channel = newChannel;
+            buffer = newBuffer;
+            position = offset;
+        } catch (IOException | RuntimeException e) {
+            newChannel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        logger.info("Compacted transfer journal {} to {} transfers, {} bytes mapped", file, live.size(), capacity);
+
+        commitLock.lock();
+        try {
+            durable = Math.max(durable, written);
+            committed.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private ByteBuffer encodeIntent(JournalEntry entry) {
+        ByteBuffer record = begin(INTENT);
+        Amount amount = entry.getAmount();
+        putString(record, entry.getPartnerReferenceNo());
+        putString(record, amount != null ? amount.getValue() : null);
+        putString(record, amount != null ? amount.getCurrency() : null);
+        putString(record, entry.getSourceAccountNo());
+        putString(record, entry.getBeneficiaryAccountNo());
+        putString(record, entry.getBeneficiaryBankCode());
+        record.putLong(entry.getCreatedAtMillis());
+        record.flip();
+        return record;
+    }
+
+    private ByteBuffer encodeOutcome(JournalEntry entry) {
+        ByteBuffer record = begin(OUTCOME);
+        putString(record, entry.getPartnerReferenceNo());
+        record.put((byte) entry.getState().ordinal());
+        putString(record, entry.getReferenceNo());
+        putString(record, entry.getResponseCode());
+        putString(record, entry.getTransactionStatus());
+        record.putLong(entry.getUpdatedAtMillis());
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Rebuilds the entries from the file, stopping at the first record that is incomplete or
+     * fails its checksum, and clears what a torn append left behind.
+     */
+    private void replay() throws IOException {
+        MappedByteBuffer mapped = buffer;
+        int limit = mapped.capacity();
+        int offset = 0;
+        int records = 0;
+        while (offset + HEADER_SIZE <= limit) {
+            int length = mapped.getInt(offset);
+            if (length <= 0 || length > MAX_RECORD_SIZE || offset + HEADER_SIZE + length > limit) {
+                break;
+            }
+            ByteBuffer record = mapped.duplicate();
+            record.limit(offset + HEADER_SIZE + length).position(offset + HEADER_SIZE);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != mapped.getInt(offset + 4)) {
+                break;
+            }
+            try {
+                apply(record.slice());
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt record at offset " + offset + " of transfer journal " + file, e);
+            }
+            offset += HEADER_SIZE + length;
+            records++;
+        }
+
+        int dirtyEnd = Math.min(limit, offset + MAX_RECORD_SIZE);
+        boolean torn = false;
+        for (int i = offset; i < dirtyEnd; i++) {
+            if (mapped.get(i) != 0) {
+                torn = true;
+                mapped.put(i, (byte) 0);
+            }
+        }
+        if (torn) {
+            logger.warn("Discarded a torn record at offset {} of transfer journal {}", offset, file);
+            mapped.force();
+        }
+        position = offset;
+        written = offset;
+        durable = offset;
+        logger.debug("Replayed {} records, {} transfers from transfer journal {}", records, entries.size(), file);
+    }
+
+    private void apply(ByteBuffer record) {
+        byte type = record.get();
+        String reference = getString(record);
+        if (type == INTENT) {
+            String value = getString(record);
+            String currency = getString(record);
+            String sourceAccountNo = getString(record);
+            String beneficiaryAccountNo = getString(record);
+            String beneficiaryBankCode = getString(record);
+            long createdAt = record.getLong();
+            Amount amount = value != null && currency != null ? new Amount(value, currency) : null;
+            entries.put(reference, new JournalEntry(reference, amount, sourceAccountNo, beneficiaryAccountNo,
+                    beneficiaryBankCode, createdAt));
+        } else if (type == OUTCOME) {
+            JournalEntry.State state = JournalEntry.State.values()[record.get()];
+            String referenceNo = getString(record);
+            String responseCode = getString(record);
+            String transactionStatus = getString(record);
+            long updatedAt = record.getLong();
+            entries.computeIfPresent(reference,
+                    (k, e) -> e.withOutcome(state, referenceNo, responseCode, transactionStatus, updatedAt));
+        } else {
+            throw new IllegalStateException("Unknown record type " + type);
+        }
+    }
+
+    private static void putString(ByteBuffer record, String value) {
+        if (value == null) {
+            record.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            record.putShort((short) bytes.length);
+            record.put(bytes);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Transfer fields are too long to journal");
+        }
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class PendingIntent {
+        final JournalEntry entry;
+        final CompletableFuture<JournalEntry> future = new CompletableFuture<>();
+        // Only touched by the sync thread
+        boolean appended;
+
+        PendingIntent(JournalEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
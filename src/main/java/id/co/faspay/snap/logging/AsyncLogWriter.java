@@ -0,0 +1,298 @@
+package id.co.faspay.snap.logging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer that hands events to a background thread through a bounded,
+ * lock-free ring buffer. Logging threads only claim a slot and copy the event
+ * references into it; formatting and console I/O happen on the writer thread.
+ * -
+ * Arguments other than strings, boxed primitives, big numbers and enums are turned into
+ * strings on the logging thread before the event is published, so a request that is
+ * reused or changed after the call is logged as it was at the call.
+ */
+public class AsyncLogWriter implements LogWriter, AutoCloseable {
+
+    /**
+     * What a logging thread does when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the event and count it in {@link #getDroppedCount()}. */
+        DROP,
+        /** Wait until the writer thread frees a slot. */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Event[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final OverflowPolicy overflowPolicy;
+    private final LogWriter delegate;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+
+    // Only touched by the writer thread
+    private long head;
+
+    private volatile boolean writerIdle;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new asynchronous writer that prints to the console.
+     *
+     * @param capacity the ring buffer size, rounded up to a power of two
+     * @param overflowPolicy what to do when the buffer is full
+     */
+    public AsyncLogWriter(int capacity, OverflowPolicy overflowPolicy) {
+        this(capacity, overflowPolicy, null);
+    }
+
+    /**
+     * Creates a new asynchronous writer.
+     *
+     * @param capacity the ring buffer size, rounded up to a power of two
+     * @param overflowPolicy what to do when the buffer is full
+     * @param delegate the writer invoked on the background thread, or null for {@link ConsoleLogWriter}
+     */
+    public AsyncLogWriter(int capacity, OverflowPolicy overflowPolicy, LogWriter delegate) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy must not be null");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.events = new Event[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            events[i] = new Event();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.delegate = delegate != null ? delegate : new ConsoleLogWriter();
+
+        this.writerThread = new Thread(this::drainLoop, "faspay-snap-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        this.shutdownHook = new Thread(this::close, "faspay-snap-log-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void write(long timestampMillis, SimpleLogger.Level level, String name, String format,
+                      Object[] args, Throwable throwable) {
+        // Only reached for enabled levels, so disabled debug calls pay nothing for this
+        args = snapshot(args);
+        if (closed) {
+            // The writer thread is gone (e.g. during shutdown); don't lose late events
+            delegate.write(timestampMillis, level, name, format, args, throwable);
+            return;
+        }
+        while (!offer(timestampMillis, level, name, format, args, throwable)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                dropped.increment();
+                return;
+            }
+            if (closed) {
+                delegate.write(timestampMillis, level, name, format, args, throwable);
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        if (closed) {
+            // close() may have taken its last pass before this event was published
+            drainAfterClose();
+        } else if (writerIdle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Replaces mutable arguments with their text as of now. Returns the array itself when
+     * every argument is immutable.
+     */
+    static Object[] snapshot(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] copy = args;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (isImmutable(arg)) {
+                continue;
+            }
+            if (copy == args) {
+                // The caller may pass its own array, so it is never changed
+                copy = args.clone();
+            }
+            try {
+                copy[i] = String.valueOf(arg);
+            } catch (RuntimeException e) {
+                copy[i] = "[toString() failed: " + e + "]";
+            }
+        }
+        return copy;
+    }
+
+    private static boolean isImmutable(Object arg) {
+        return arg == null || arg instanceof String || arg instanceof Enum
+                || arg instanceof Integer || arg instanceof Long || arg instanceof Double || arg instanceof Float
+                || arg instanceof Short || arg instanceof Byte || arg instanceof Boolean || arg instanceof Character
+                || arg instanceof BigDecimal || arg instanceof BigInteger;
+    }
+
+    /**
+     * Gets the number of events discarded because the buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops the writer thread after writing all buffered events.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writerThread);
+        awaitWriterThread();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down
+            }
+        }
+    }
+
+    private void awaitWriterThread() {
+        if (Thread.currentThread() != writerThread) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes events that were published after the writer thread's final pass. Runs on the
+     * logging thread once the writer thread has exited, so draining is still single-threaded.
+     */
+    private synchronized void drainAfterClose() {
+        awaitWriterThread();
+        if (!writerThread.isAlive()) {
+            drain();
+        }
+    }
+
+    private boolean offer(long timestampMillis, SimpleLogger.Level level, String name, String format,
+                          Object[] args, Throwable throwable) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Event event = events[index];
+                    event.timestampMillis = timestampMillis;
+                    event.level = level;
+                    event.name = name;
+                    event.format = format;
+                    event.args = args;
+                    event.throwable = throwable;
+                    // Publish the slot to the writer thread
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            int drained = drain();
+            if (drained == 0) {
+                if (closed) {
+                    // Producers racing with close() may still publish; take one last pass
+                    drain();
+                    return;
+                }
+                writerIdle = true;
+                if (isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+    }
+
+    private boolean isEmpty() {
+        int index = (int) (head & mask);
+        return sequences.get(index) != head + 1;
+    }
+
+    private int drain() {
+        int drained = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            Event event = events[index];
+            try {
+                delegate.write(event.timestampMillis, event.level, event.name, event.format, event.args, event.throwable);
+            } catch (RuntimeException e) {
+                // Never let a failing toString() kill the writer thread
+                System.err.println("Failed to write log event: " + e);
+            }
+            event.clear();
+            // Hand the slot back to producers for the next lap
+            sequences.set(index, head + events.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Preallocated ring buffer slot.
+     */
+    private static final class Event {
+        long timestampMillis;
+        SimpleLogger.Level level;
+        String name;
+        String format;
+        Object[] args;
+        Throwable throwable;
+
+        void clear() {
+            level = null;
+            name = null;
+            format = null;
+            args = null;
+            throwable = null;
+        }
+    }
+}
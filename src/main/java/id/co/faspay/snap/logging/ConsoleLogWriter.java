@@ -0,0 +1,23 @@
+package id.co.faspay.snap.logging;
+
+import java.io.PrintStream;
+
+/**
+ * Synchronous writer that formats on the calling thread and prints to the console.
+ * ERROR events go to {@code System.err}, everything else to {@code System.out}.
+ */
+public class ConsoleLogWriter implements LogWriter {
+
+    @Override
+    public void write(long timestampMillis, SimpleLogger.Level level, String name, String format,
+                      Object[] args, Throwable throwable) {
+        StringBuilder line = new StringBuilder(128);
+        LogFormat.appendLine(line, timestampMillis, level, name, format, args);
+
+        PrintStream stream = (level == SimpleLogger.Level.ERROR) ? System.err : System.out;
+        stream.println(line);
+        if (throwable != null) {
+            throwable.printStackTrace(System.err);
+        }
+    }
+}
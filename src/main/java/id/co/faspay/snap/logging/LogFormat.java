@@ -0,0 +1,73 @@
+package id.co.faspay.snap.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formatting helpers shared by the log writers.
+ */
+final class LogFormat {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private LogFormat() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Appends a formatted log line, without line terminator, to the given builder.
+     *
+     * @param out the builder to append to
+     * @param timestampMillis the time of the event in epoch milliseconds
+     * @param level the log level
+     * @param name the name of the logger
+     * @param format the message format with {} placeholders
+     * @param args the arguments to replace the placeholders
+     */
+    static void appendLine(StringBuilder out, long timestampMillis, SimpleLogger.Level level, String name,
+                           String format, Object[] args) {
+        TIMESTAMP_FORMAT.formatTo(Instant.ofEpochMilli(timestampMillis), out);
+        out.append(" [").append(level).append("] ").append(name).append(" - ");
+        appendWithArgs(out, format, args);
+    }
+
+    /**
+     * Replace placeholders in the format string with the given arguments.
+     *
+     * @param out the builder to append to
+     * @param format the format string with {} placeholders
+     * @param args the arguments to replace the placeholders
+     */
+    static void appendWithArgs(StringBuilder out, String format, Object[] args) {
+        if (format == null) {
+            out.append((String) null);
+            return;
+        }
+        if (args == null || args.length == 0) {
+            out.append(format);
+            return;
+        }
+
+        int argIndex = 0;
+        int i = 0;
+
+        while (i < format.length()) {
+            int j = format.indexOf("{}", i);
+            if (j == -1) {
+                out.append(format, i, format.length());
+                break;
+            }
+
+            out.append(format, i, j);
+            if (argIndex < args.length) {
+                out.append(args[argIndex++]);
+            } else {
+                out.append("{}");
+            }
+
+            i = j + 2;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package id.co.faspay.snap.logging;
+
+/**
+ * Output backend used by {@link SimpleLogger}.
+ * Level filtering happens before the writer is called; the writer is responsible
+ * for formatting the message and emitting it.
+ */
+public interface LogWriter {
+    /**
+     * Writes a log event.
+     *
+     * @param timestampMillis the wall-clock time of the event in epoch milliseconds
+     * @param level the log level
+     * @param name the name of the logger
+     * @param format the message format with {} placeholders
+     * @param args the arguments to replace the placeholders, may be null
+     * @param throwable the exception to log, may be null
+     */
+    void write(long timestampMillis, SimpleLogger.Level level, String name, String format, Object[] args, Throwable throwable);
+}
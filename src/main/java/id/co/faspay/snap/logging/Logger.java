@@ -5,6 +5,14 @@ package id.co.faspay.snap.logging;
  * This is a replacement for org.slf4j.Logger to remove external dependencies.
  */
 public interface Logger {
+    /**
+     * Check whether messages at the DEBUG level are logged.
+     * Use this to skip building arguments that are only needed for debug output.
+     *
+     * @return true if DEBUG messages are logged
+     */
+    boolean isDebugEnabled();
+
     /**
      * Log a message at the DEBUG level.
      *
@@ -45,4 +45,28 @@ public class LoggerFactory {
     public static void setLevel(SimpleLogger.Level level) {
         SimpleLogger.setLevel(level);
     }
-}
\ No newline at end of file
+
+    /**
+     * Set the output backend for all loggers.
+     *
+     * @param writer the writer that formats and emits log events
+     */
+    public static void setWriter(LogWriter writer) {
+        SimpleLogger.setWriter(writer);
+    }
+
+    /**
+     * Switch all loggers to asynchronous console output.
+     * Log calls then only enqueue the event; a background thread formats and prints it.
+     * Buffered events are flushed on JVM shutdown or when the returned writer is closed.
+     *
+     * @param capacity the number of events the ring buffer holds, rounded up to a power of two
+     * @param overflowPolicy whether to drop events or block the caller when the buffer is full
+     * @return the installed writer, for closing it and reading its drop count
+     */
+    public static AsyncLogWriter enableAsyncLogging(int capacity, AsyncLogWriter.OverflowPolicy overflowPolicy) {
+        AsyncLogWriter writer = new AsyncLogWriter(capacity, overflowPolicy);
+        SimpleLogger.setWriter(writer);
+        return writer;
+    }
+}
@@ -1,26 +1,25 @@
 package id.co.faspay.snap.logging;
 
-import java.io.PrintStream;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
 /**
  * A simple implementation of the Logger interface that logs messages to the console.
  * This is a replacement for org.slf4j.Logger implementations to remove external dependencies.
+ * Level filtering happens here; formatting and output are delegated to the global {@link LogWriter}.
  */
 public class SimpleLogger implements Logger {
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-    
+
     // Log levels
     public enum Level {
         DEBUG, INFO, WARN, ERROR
     }
-    
+
     // Default log level
-    private static Level currentLevel = Level.INFO;
-    
+    private static volatile Level currentLevel = Level.INFO;
+
+    // Default output backend
+    private static volatile LogWriter writer = new ConsoleLogWriter();
+
     private final String name;
-    
+
     /**
      * Creates a new SimpleLogger with the given name.
      *
@@ -29,7 +28,7 @@ public class SimpleLogger implements Logger {
     public SimpleLogger(String name) {
         this.name = name;
     }
-    
+
     /**
      * Set the global log level.
      *
@@ -38,131 +37,91 @@ public class SimpleLogger implements Logger {
     public static void setLevel(Level level) {
         currentLevel = level;
     }
-    
-    /**
-     * Format a log message with the given level.
-     *
-     * @param level the log level
-     * @param message the message to log
-     * @return the formatted log message
-     */
-    private String formatMessage(Level level, String message) {
-        return String.format("%s [%s] %s - %s", 
-                DATE_FORMAT.format(new Date()), 
-                level.toString(), 
-                name, 
-                message);
-    }
-    
+
     /**
-     * Replace placeholders in the format string with the given arguments.
+     * Set the global output backend. Applies to all existing loggers.
      *
-     * @param format the format string with {} placeholders
-     * @param args the arguments to replace the placeholders
-     * @return the formatted string
+     * @param logWriter the writer that formats and emits log events
      */
-    private String formatWithArgs(String format, Object... args) {
-        if (args == null || args.length == 0) {
-            return format;
+    public static void setWriter(LogWriter logWriter) {
+        if (logWriter == null) {
+            throw new IllegalArgumentException("logWriter must not be null");
         }
-        
-        StringBuilder result = new StringBuilder();
-        int argIndex = 0;
-        int i = 0;
-        
-        while (i < format.length()) {
-            int j = format.indexOf("{}", i);
-            if (j == -1) {
-                result.append(format.substring(i));
-                break;
-            }
-            
-            result.append(format, i, j);
-            if (argIndex < args.length) {
-                result.append(args[argIndex++]);
-            } else {
-                result.append("{}");
-            }
-            
-            i = j + 2;
-        }
-        
-        return result.toString();
+        writer = logWriter;
     }
-    
+
     /**
-     * Log a message to the console.
+     * Get the global output backend.
      *
-     * @param level the log level
-     * @param message the message to log
+     * @return the current log writer
      */
-    private void log(Level level, String message) {
-        if (level.ordinal() < currentLevel.ordinal()) {
-            return;
-        }
-        
-        PrintStream stream = (level == Level.ERROR) ? System.err : System.out;
-        stream.println(formatMessage(level, message));
+    public static LogWriter getWriter() {
+        return writer;
     }
-    
+
     /**
-     * Log a message with parameters to the console.
+     * Log a message with optional parameters and exception.
      *
      * @param level the log level
      * @param format the message format with {} placeholders
      * @param args the arguments to replace the placeholders
+     * @param throwable the exception to log, may be null
      */
-    private void log(Level level, String format, Object... args) {
+    private void log(Level level, String format, Object[] args, Throwable throwable) {
         if (level.ordinal() < currentLevel.ordinal()) {
             return;
         }
-        
-        log(level, formatWithArgs(format, args));
+
+        writer.write(System.currentTimeMillis(), level, name, format, args, throwable);
     }
-    
+
+    @Override
+    public boolean isDebugEnabled() {
+        return currentLevel == Level.DEBUG;
+    }
+
     @Override
     public void debug(String message) {
-        log(Level.DEBUG, message);
+        log(Level.DEBUG, message, null, null);
     }
     
     @Override
     public void debug(String format, Object... args) {
-        log(Level.DEBUG, format, args);
+        log(Level.DEBUG, format, args, null);
     }
     
     @Override
     public void info(String message) {
-        log(Level.INFO, message);
+        log(Level.INFO, message, null, null);
     }
     
     @Override
     public void info(String format, Object... args) {
-        log(Level.INFO, format, args);
+        log(Level.INFO, format, args, null);
     }
     
     @Override
     public void warn(String message) {
-        log(Level.WARN, message);
+        log(Level.WARN, message, null, null);
     }
     
     @Override
     public void warn(String format, Object... args) {
-        log(Level.WARN, format, args);
+        log(Level.WARN, format, args, null);
     }
     
     @Override
     public void error(String message) {
-        log(Level.ERROR, message);
+        log(Level.ERROR, message, null, null);
     }
     
     @Override
     public void error(String format, Object... args) {
-        log(Level.ERROR, format, args);
+        log(Level.ERROR, format, args, null);
     }
     
     @Override
     public void error(String message, Throwable throwable) {
-        log(Level.ERROR, message);
-        throwable.printStackTrace(System.err);
+        log(Level.ERROR, message, null, throwable);
     }
 }
\ No newline at end of file
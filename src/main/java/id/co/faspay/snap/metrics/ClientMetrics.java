@@ -0,0 +1,87 @@
+package id.co.faspay.snap.metrics;
+
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
+
+/**
+ * Instrumentation SPI of the HTTP client. The client reports every call to the
+ * implementation set with {@link id.co.faspay.snap.config.FaspaySnapConfig#setMetrics(ClientMetrics)}.
+ * All methods have empty defaults, so an implementation only overrides what it records.
+ *
+ * Methods are called on the request threads and the HTTP dispatcher threads, concurrently,
+ * and must be thread-safe and cheap. Endpoints are the API paths from
+ * {@link id.co.faspay.snap.model.Constants}.
+ */
+public interface ClientMetrics {
+
+    /**
+     * Outcome of a call that failed without an HTTP response, e.g. a connection or read error.
+     */
+    String OUTCOME_IO_ERROR = "IO_ERROR";
+
+    /**
+     * Outcome of a call that did not complete before its deadline.
+     */
+    String OUTCOME_DEADLINE_EXCEEDED = "DEADLINE_EXCEEDED";
+
+    /**
+     * Outcome of a call whose response could not be parsed, or that failed in another way.
+     */
+    String OUTCOME_ERROR = "ERROR";
+
+    /**
+     * Prefix of the outcome of a call answered with an HTTP error status, e.g. {@code HTTP_503}.
+     */
+    String OUTCOME_HTTP_PREFIX = "HTTP_";
+
+    /**
+     * Implementation that records nothing.
+     */
+    ClientMetrics NOOP = new ClientMetrics() {
+    };
+
+    /**
+     * Called when a call starts, before it waits for a concurrency permit.
+     *
+     * @param endpoint The endpoint path
+     */
+    default void callStarted(String endpoint) {
+    }
+
+    /**
+     * Called when a phase of a call has finished.
+     *
+     * @param endpoint The endpoint path
+     * @param phase The phase
+     * @param nanos The duration of the phase in nanoseconds
+     */
+    default void recordPhase(String endpoint, Phase phase, long nanos) {
+    }
+
+    /**
+     * Called exactly once for every {@link #callStarted(String)}, when the call has completed.
+     *
+     * @param endpoint The endpoint path
+     * @param outcome The {@code responseCode} of the response model, or one of the
+     *                {@code OUTCOME_} values if there is none
+     * @param nanos The duration of the whole call in nanoseconds
+     */
+    default void callCompleted(String endpoint, String outcome, long nanos) {
+    }
+
+    /**
+     * Called when an HTTP client using this implementation is created, so connection pool
+     * and dispatcher gauges can read from it.
+     *
+     * @param client The HTTP client
+     */
+    default void bindTo(FaspaySnapHttpClient client) {
+    }
+
+    /**
+     * Called when an HTTP client using this implementation is closed.
+     *
+     * @param client The HTTP client
+     */
+    default void unbind(FaspaySnapHttpClient client) {
+    }
+}
@@ -0,0 +1,119 @@
+package id.co.faspay.snap.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of one endpoint, kept by {@link InMemoryClientMetrics}.
+ */
+public class EndpointMetrics {
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final Map<Phase, LatencyHistogram> phases;
+    private final LatencyHistogram total = new LatencyHistogram();
+
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+        EnumMap<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+        this.phases = Collections.unmodifiableMap(histograms);
+    }
+
+    void started() {
+        requests.increment();
+        inFlight.incrementAndGet();
+    }
+
+    void completed(String outcome, long nanos) {
+        inFlight.decrementAndGet();
+        total.record(nanos);
+        LongAdder counter = outcomes.get(outcome);
+        if (counter == null) {
+            counter = outcomes.computeIfAbsent(outcome, o -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    void recordPhase(Phase phase, long nanos) {
+        phases.get(phase).record(nanos);
+    }
+
+    /**
+     * Gets the endpoint path.
+     *
+     * @return The endpoint path
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Gets the number of calls started.
+     *
+     * @return The request count
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Gets the number of calls started but not completed, including calls waiting for a
+     * concurrency permit.
+     *
+     * @return The number of calls in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of completed calls per outcome: the {@code responseCode} of the
+     * response, or one of the {@code OUTCOME_} values of {@link ClientMetrics}.
+     *
+     * @return The counts, sorted by outcome
+     */
+    public Map<String, Long> getResponseCodeCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, counter) -> counts.put(outcome, counter.sum()));
+        return counts;
+    }
+
+    /**
+     * Gets the latency histogram of one phase.
+     *
+     * @param phase The phase
+     * @return The histogram
+     */
+    public LatencyHistogram getLatency(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Gets the latency histogram of whole calls.
+     *
+     * @return The histogram
+     */
+    public LatencyHistogram getTotalLatency() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", requests=" + getRequestCount() +
+                ", inFlight=" + getInFlight() +
+                ", responseCodes=" + getResponseCodeCounts() +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -0,0 +1,145 @@
+package id.co.faspay.snap.metrics;
+
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dependency-free {@link ClientMetrics} that keeps per-endpoint request counts, response
+ * code counts, in-flight gauges and per-phase latency histograms in memory, and reads
+ * connection pool and dispatcher gauges from the HTTP clients it is bound to.
+ * This is the default implementation of {@link id.co.faspay.snap.config.FaspaySnapConfig}.
+ * Recording is lock-free; reading is safe at any time and sees a recent state.
+ */
+public class InMemoryClientMetrics implements ClientMetrics {
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<FaspaySnapHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void callStarted(String endpoint) {
+        endpoint(endpoint).started();
+    }
+
+    @Override
+    public void recordPhase(String endpoint, Phase phase, long nanos) {
+        endpoint(endpoint).recordPhase(phase, nanos);
+    }
+
+    @Override
+    public void callCompleted(String endpoint, String outcome, long nanos) {
+        endpoint(endpoint).completed(outcome, nanos);
+    }
+
+    @Override
+    public void bindTo(FaspaySnapHttpClient client) {
+        clients.addIfAbsent(client);
+    }
+
+    @Override
+    public void unbind(FaspaySnapHttpClient client) {
+        clients.remove(client);
+    }
+
+    /**
+     * Gets the metrics of one endpoint.
+     *
+     * @param endpoint The endpoint path
+     * @return The metrics, or null if the endpoint was not called yet
+     */
+    public EndpointMetrics getEndpoint(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Gets the metrics of all endpoints called so far.
+     *
+     * @return The metrics per endpoint
+     */
+    public Collection<EndpointMetrics> getEndpoints() {
+        return Collections.unmodifiableCollection(endpoints.values());
+    }
+
+    /**
+     * Gets the number of calls in flight over all endpoints.
+     *
+     * @return The number of calls in flight
+     */
+    public int getInFlight() {
+        int inFlight = 0;
+        for (EndpointMetrics metrics : endpoints.values()) {
+            inFlight += metrics.getInFlight();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of pooled connections of the bound HTTP clients.
+     *
+     * @return The total number of pooled connections
+     */
+    public int getConnectionCount() {
+        int count = 0;
+        for (FaspaySnapHttpClient client : clients) {
+            count += client.getConnectionCount();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of idle pooled connections of the bound HTTP clients.
+     *
+     * @return The number of idle pooled connections
+     */
+    public int getIdleConnectionCount() {
+        int count = 0;
+        for (FaspaySnapHttpClient client : clients) {
+            count += client.getIdleConnectionCount();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of calls executing on the dispatchers of the bound HTTP clients.
+     *
+     * @return The number of running calls
+     */
+    public int getRunningCallCount() {
+        int count = 0;
+        for (FaspaySnapHttpClient client : clients) {
+            count += client.getRunningCallCount();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of calls waiting in the dispatcher queues of the bound HTTP clients.
+     *
+     * @return The number of queued calls
+     */
+    public int getQueuedCallCount() {
+        int count = 0;
+        for (FaspaySnapHttpClient client : clients) {
+            count += client.getQueuedCallCount();
+        }
+        return count;
+    }
+
+    private EndpointMetrics endpoint(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(endpoint, EndpointMetrics::new);
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryClientMetrics{" +
+                "endpoints=" + endpoints.values() +
+                ", connections=" + getConnectionCount() +
+                ", idleConnections=" + getIdleConnectionCount() +
+                ", runningCalls=" + getRunningCallCount() +
+                ", queuedCalls=" + getQueuedCallCount() +
+                '}';
+    }
+}
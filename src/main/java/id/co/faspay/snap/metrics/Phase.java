@@ -0,0 +1,45 @@
+package id.co.faspay.snap.metrics;
+
+/**
+ * Phases of one API call, each with its own latency histogram.
+ */
+public enum Phase {
+    /**
+     * Waiting for a permit of the endpoint's adaptive concurrency limiter.
+     */
+    QUEUE("queue"),
+    /**
+     * Writing the request body as canonical JSON.
+     */
+    SERIALIZE("serialize"),
+    /**
+     * Building the string to sign and signing it with the private key.
+     */
+    SIGN("sign"),
+    /**
+     * From handing the request to OkHttp until the response body has been received,
+     * including time in the dispatcher queue. For streaming calls this ends when the
+     * response headers arrive.
+     */
+    NETWORK("network"),
+    /**
+     * Converting the response body into the response model. For streaming calls this
+     * includes reading the body.
+     */
+    PARSE("parse");
+
+    private final String tagValue;
+
+    Phase(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * Gets the lower-case name used as a metric tag.
+     *
+     * @return The tag value
+     */
+    public String getTagValue() {
+        return tagValue;
+    }
+}
@@ -2,7 +2,7 @@ package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -180,9 +180,7 @@ public class AccountInquiryRequest {
     @Override
     public String toString() {
         try {
-            return new ObjectMapper()
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(this);
+            return JsonCodecs.toPrettyJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "AccountInquiryRequest{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -3,9 +3,9 @@ package id.co.faspay.snap.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -15,7 +15,7 @@ import java.util.Objects;
  * Response model for the Account Inquiry API.
  * This class represents the response payload from inquiring about a bank account.
  */
-public class AccountInquiryResponse {
+public class AccountInquiryResponse implements SnapResponse {
 
 //    @JsonProperty("additionalInfo.status")
 //    private String status;
@@ -282,6 +282,25 @@ public class AccountInquiryResponse {
         return this;
     }
 
+    /**
+     * Creates a copy of this response, including its own copy of the additional info.
+     *
+     * @return A new response object with the same values
+     */
+    public AccountInquiryResponse copy() {
+        return new AccountInquiryResponse()
+                .setResponseCode(responseCode)
+                .setResponseMessage(responseMessage)
+                .setReferenceNo(referenceNo)
+                .setPartnerReferenceNumber(partnerReferenceNumber)
+                .setAccountHolderName(accountHolderName)
+                .setAccountNumber(accountNumber)
+                .setBankCode(bankCode)
+                .setBankName(bankName)
+                .setCurrency(currency)
+                .setAdditionalInfo(additionalInfo != null ? new HashMap<>(additionalInfo) : null);
+    }
+
     /**
      * Checks if the inquiry was successful.
      *
@@ -292,6 +311,16 @@ public class AccountInquiryResponse {
         return Objects.equals(responseCode, "2001600");
     }
 
+    /**
+     * Checks if the inquiry was answered with "Invalid Account", i.e. the beneficiary account does not exist.
+     *
+     * @return True if the account was not found, false otherwise
+     */
+    @JsonIgnore
+    public boolean isAccountNotFound() {
+        return Objects.equals(responseCode, "4041611");
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -318,11 +347,7 @@ public class AccountInquiryResponse {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "AccountInquiry{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -1,53 +1,112 @@
 package id.co.faspay.snap.model;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Currency;
 import java.util.Objects;
 
 /**
  * Represents a monetary amount with a value and currency.
+ * The value is held as a fixed-point {@code long}: a number of units at a decimal scale.
+ * A value given as a String keeps its own number of decimals, so {@code "10000"} is written
+ * back as {@code "10000"} and {@code "10000.00"} as {@code "10000.00"}; amounts created from
+ * minor units use the currency's number of minor-unit digits (2 for IDR). Arithmetic is
+ * exact and fails with {@link ArithmeticException} on overflow instead of rounding. In JSON
+ * the value is read and written by {@link AmountDeserializer} and {@link AmountSerializer}
+ * without intermediate Strings or BigDecimals.
  */
-public class Amount {
+@JsonSerialize(using = AmountSerializer.class)
+@JsonDeserialize(using = AmountDeserializer.class)
+public class Amount implements Comparable<Amount> {
+    static final String IDR = "IDR";
+    static final int MAX_SCALE = 18;
+    private static final int DEFAULT_SCALE = 2;
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
 
-    @JsonProperty("value")
-    private String value;
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
 
-    @JsonProperty("currency")
+    private long units;
+    private int scale;
+    private boolean hasValue;
     private String currency;
 
     /**
      * Default constructor for Jackson deserialization.
      */
     public Amount() {
+        this.scale = DEFAULT_SCALE;
     }
 
     /**
      * Creates a new amount with the specified value and currency.
      *
-     * @param value The monetary value
+     * @param value The monetary value, e.g. "10000.00", written back with the same decimals
      * @param currency The currency code (e.g., "IDR")
+     * @throws IllegalArgumentException If the value is not a decimal number, including an empty string
      */
     public Amount(String value, String currency) {
-        this.value = Objects.requireNonNull(value, "value must not be null");
         this.currency = Objects.requireNonNull(currency, "currency must not be null");
+        setValue(Objects.requireNonNull(value, "value must not be null"));
+    }
+
+    Amount(long units, int scale, String currency) {
+        this.units = units;
+        this.scale = scale;
+        this.hasValue = true;
+        this.currency = currency;
+    }
+
+    /**
+     * Creates an amount from a number of minor units of the currency, e.g. 1000000 IDR
+     * cents for "10000.00".
+     *
+     * @param minorUnits The amount in minor units
+     * @param currency The currency code
+     * @return The amount
+     */
+    public static Amount ofMinorUnits(long minorUnits, String currency) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        return new Amount(minorUnits, scaleOf(currency), currency);
     }
 
     /**
-     * Gets the monetary value.
+     * Gets the monetary value, with exactly {@link #getScale()} decimals.
      *
-     * @return The monetary value
+     * @return The monetary value, or null if not set
      */
     public String getValue() {
-        return value;
+        if (!hasValue) {
+            return null;
+        }
+        char[] buffer = new char[formatCapacity(scale)];
+        int start = format(units, scale, buffer);
+        return new String(buffer, start, buffer.length - start);
     }
 
     /**
-     * Sets the monetary value.
+     * Sets the monetary value. The value keeps its own number of decimals.
      *
-     * @param value The monetary value
+     * @param value The monetary value, e.g. "10000.00", or null to clear it
      * @return This amount object
+     * @throws IllegalArgumentException If the value is not a decimal number, including an empty string
      */
     public Amount setValue(String value) {
-        this.value = value;
+        if (value == null) {
+            this.hasValue = false;
+            this.units = 0;
+            return this;
+        }
+        char[] chars = value.toCharArray();
+        int digits = fractionDigits(chars, 0, chars.length);
+        this.units = parse(chars, 0, chars.length, digits, digits);
+        this.scale = digits;
+        this.hasValue = true;
         return this;
     }
 
@@ -71,25 +130,288 @@ public class Amount {
         return this;
     }
 
+    /**
+     * Checks if a value is set.
+     *
+     * @return True if the amount has a value
+     */
+    public boolean hasValue() {
+        return hasValue;
+    }
+
+    /**
+     * Gets the value in minor units of the currency, e.g. 1000000 for "10000.00" IDR.
+     *
+     * @return The value in minor units
+     * @throws IllegalStateException If no value is set
+     * @throws ArithmeticException If the value has more decimals than the currency allows, or overflows
+     */
+    public long getMinorUnits() {
+        checkValue();
+        return rescale(units, scale, scaleOf(currency));
+    }
+
+    /**
+     * Gets the unscaled value, i.e. the value multiplied by 10^{@link #getScale()}.
+     *
+     * @return The unscaled value
+     * @throws IllegalStateException If no value is set
+     */
+    public long getUnscaledValue() {
+        checkValue();
+        return units;
+    }
+
+    /**
+     * Gets the number of decimals of the value.
+     *
+     * @return The scale
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Adds an amount of the same currency.
+     *
+     * @param other The amount to add
+     * @return A new amount holding the sum
+     * @throws IllegalArgumentException If the currencies differ
+     * @throws ArithmeticException If the result overflows
+     */
+    public Amount plus(Amount other) {
+        int resultScale = commonScale(other);
+        return new Amount(Math.addExact(rescale(units, scale, resultScale), rescale(other.units, other.scale, resultScale)),
+                resultScale, currency);
+    }
+
+    /**
+     * Subtracts an amount of the same currency.
+     *
+     * @param other The amount to subtract
+     * @return A new amount holding the difference
+     * @throws IllegalArgumentException If the currencies differ
+     * @throws ArithmeticException If the result overflows
+     */
+    public Amount minus(Amount other) {
+        int resultScale = commonScale(other);
+        return new Amount(Math.subtractExact(rescale(units, scale, resultScale), rescale(other.units, other.scale, resultScale)),
+                resultScale, currency);
+    }
+
+    /**
+     * Multiplies the amount by a whole number, e.g. a quantity.
+     *
+     * @param factor The factor
+     * @return A new amount holding the product
+     * @throws ArithmeticException If the result overflows
+     */
+    public Amount times(long factor) {
+        checkValue();
+        return new Amount(Math.multiplyExact(units, factor), scale, currency);
+    }
+
+    /**
+     * Negates the amount.
+     *
+     * @return A new amount with the opposite sign
+     * @throws ArithmeticException If the result overflows
+     */
+    public Amount negate() {
+        checkValue();
+        return new Amount(Math.negateExact(units), scale, currency);
+    }
+
+    /**
+     * Gets the sign of the value.
+     *
+     * @return -1, 0 or 1 as the value is negative, zero or positive
+     */
+    public int signum() {
+        checkValue();
+        return Long.signum(units);
+    }
+
+    /**
+     * Compares the values of two amounts of the same currency.
+     *
+     * @param other The amount to compare with
+     * @return A negative number, zero or a positive number as this amount is less than, equal to or greater than the other
+     * @throws IllegalArgumentException If the currencies differ
+     */
+    @Override
+    public int compareTo(Amount other) {
+        int common = commonScale(other);
+        long left = units;
+        long right = other.units;
+        try {
+            left = rescale(left, scale, common);
+            right = rescale(right, other.scale, common);
+        } catch (ArithmeticException e) {
+            // One side overflowed when rescaled, so it is the larger in magnitude
+            return scale < common ? Long.signum(units) : -Long.signum(other.units);
+        }
+        return Long.compare(left, right);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Amount amount = (Amount) o;
-        return Objects.equals(value, amount.value) &&
-                Objects.equals(currency, amount.currency);
+        if (hasValue != amount.hasValue || !Objects.equals(currency, amount.currency)) {
+            return false;
+        }
+        return !hasValue || compareTo(amount) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value, currency);
+        if (!hasValue) {
+            return Objects.hash(currency);
+        }
+        // "100.00" and "100.000" are equal, so hash the value without trailing zeros
+        long normalized = units;
+        int normalizedScale = scale;
+        while (normalizedScale > 0 && normalized % 10 == 0) {
+            normalized /= 10;
+            normalizedScale--;
+        }
+        return Objects.hash(normalized, normalizedScale, currency);
     }
 
     @Override
     public String toString() {
         return "{" +
-                "\"value\":\"" + value + "\"," +
-                "\"currency\":\"" + currency + "\"" +
+                "\"value\":" + (hasValue ? "\"" + getValue() + "\"" : "null") + "," +
+                "\"currency\":" + (currency != null ? "\"" + currency + "\"" : "null") +
                 "}";
     }
-}
\ No newline at end of file
+
+    private void checkValue() {
+        if (!hasValue) {
+            throw new IllegalStateException("Amount has no value");
+        }
+    }
+
+    private int commonScale(Amount other) {
+        Objects.requireNonNull(other, "other must not be null");
+        if (!Objects.equals(currency, other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+        checkValue();
+        other.checkValue();
+        return Math.max(scale, other.scale);
+    }
+
+    /**
+     * Gets the number of minor-unit digits of a currency. SNAP amounts of currencies
+     * unknown to the JVM, and of amounts without a currency, use 2 decimals.
+     */
+    static int scaleOf(String currency) {
+        if (currency == null || IDR.equals(currency)) {
+            return DEFAULT_SCALE;
+        }
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits >= 0 ? digits : DEFAULT_SCALE;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_SCALE;
+        }
+    }
+
+    static long rescale(long units, int fromScale, int toScale) {
+        if (fromScale == toScale) {
+            return units;
+        }
+        if (fromScale < toScale) {
+            return Math.multiplyExact(units, POWERS_OF_TEN[toScale - fromScale]);
+        }
+        long divisor = POWERS_OF_TEN[fromScale - toScale];
+        if (units % divisor != 0) {
+            throw new ArithmeticException("Amount has more than " + toScale + " decimals");
+        }
+        return units / divisor;
+    }
+
+    /**
+     * Counts the digits after the decimal point of a decimal number.
+     */
+    static int fractionDigits(char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] == '.') {
+                return offset + length - i - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Parses a decimal number such as "-10000.50" into units at the given scale, which
+     * must be at least the number's own fraction digits.
+     *
+     * @throws IllegalArgumentException If the characters are not a decimal number
+     * @throws ArithmeticException If the value does not fit a long at the given scale
+     */
+    static long parse(char[] chars, int offset, int length, int fractionDigits, int scale) {
+        if (scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Amount has more than " + MAX_SCALE + " decimals");
+        }
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        // Accumulate negatively so Long.MIN_VALUE parses without overflow
+        long result = 0;
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c == '.' && !point) {
+                point = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid amount: " + new String(chars, offset, length));
+            }
+            result = Math.subtractExact(Math.multiplyExact(result, 10), c - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Invalid amount: " + new String(chars, offset, length));
+        }
+        result = Math.multiplyExact(result, POWERS_OF_TEN[scale - fractionDigits]);
+        return negative ? result : Math.negateExact(result);
+    }
+
+    static int formatCapacity(int scale) {
+        // Sign, 19 digits, point, and leading zeros of values below 1
+        return 22 + scale;
+    }
+
+    /**
+     * Formats units at the given scale into the end of the buffer.
+     *
+     * @return The index of the first character written
+     */
+    static int format(long units, int scale, char[] buffer) {
+        int pos = buffer.length;
+        // Work on the negative value so Long.MIN_VALUE formats without overflow
+        long remaining = units < 0 ? units : -units;
+        int digits = 0;
+        do {
+            buffer[--pos] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+            if (++digits == scale) {
+                buffer[--pos] = '.';
+            }
+        } while (remaining != 0 || digits <= scale);
+        if (units < 0) {
+            buffer[--pos] = '-';
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,79 @@
+package id.co.faspay.snap.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads an {@link Amount} from {@code {"value":"10000.00","currency":"IDR"}}.
+ * The value is parsed from the parser's character buffer into fixed-point units, and the
+ * common currency code is reused instead of allocated, so a row of a large statement costs
+ * one {@link Amount} object. The value keeps the decimals it was sent with. The fields may come
+ * in any order and unknown fields are skipped.
+ */
+public final class AmountDeserializer extends StdDeserializer<Amount> {
+
+    public AmountDeserializer() {
+        super(Amount.class);
+    }
+
+    @Override
+    public Amount deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (Amount) context.handleUnexpectedToken(Amount.class, parser);
+        }
+
+        long units = 0;
+        int fractionDigits = 0;
+        boolean hasValue = false;
+        String currency = null;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if ("value".equals(field)) {
+                if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    char[] chars = parser.getTextCharacters();
+                    int offset = parser.getTextOffset();
+                    int length = parser.getTextLength();
+                    if (length > 0) {
+                        fractionDigits = Amount.fractionDigits(chars, offset, length);
+                        try {
+                            // Kept at its own scale, so the value is written back as it was received
+                            units = Amount.parse(chars, offset, length, fractionDigits, fractionDigits);
+                        } catch (IllegalArgumentException | ArithmeticException e) {
+                            return (Amount) context.handleWeirdStringValue(Amount.class, parser.getText(), e.getMessage());
+                        }
+                        hasValue = true;
+                    }
+                } else if (token != JsonToken.VALUE_NULL) {
+                    return (Amount) context.handleUnexpectedToken(Amount.class, parser);
+                }
+            } else if ("currency".equals(field)) {
+                currency = token == JsonToken.VALUE_NULL ? null : readCurrency(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (!hasValue) {
+            // An empty value string is read as no value
+            return new Amount().setCurrency(currency);
+        }
+        return new Amount(units, fractionDigits, currency);
+    }
+
+    private static String readCurrency(JsonParser parser) throws IOException {
+        if (parser.getTextLength() == 3) {
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            if (chars[offset] == 'I' && chars[offset + 1] == 'D' && chars[offset + 2] == 'R') {
+                return Amount.IDR;
+            }
+        }
+        return parser.getText();
+    }
+}
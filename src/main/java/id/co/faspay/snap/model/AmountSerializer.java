@@ -0,0 +1,34 @@
+package id.co.faspay.snap.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link Amount} as {@code {"value":"10000.00","currency":"IDR"}}.
+ * The value is formatted from its fixed-point units straight into the generator, with the
+ * decimals it was given; an amount without a value is written with a null value.
+ */
+public final class AmountSerializer extends StdSerializer<Amount> {
+
+    public AmountSerializer() {
+        super(Amount.class);
+    }
+
+    @Override
+    public void serialize(Amount amount, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(amount);
+        generator.writeFieldName("value");
+        if (amount.hasValue()) {
+            char[] buffer = new char[Amount.formatCapacity(amount.getScale())];
+            int start = Amount.format(amount.getUnscaledValue(), amount.getScale(), buffer);
+            generator.writeString(buffer, start, buffer.length - start);
+        } else {
+            generator.writeNull();
+        }
+        generator.writeStringField("currency", amount.getCurrency());
+        generator.writeEndObject();
+    }
+}
@@ -1,7 +1,7 @@
 package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 /**
  * Represents a request for bill inquiry.
@@ -152,11 +152,7 @@ public class BillInquiryRequest {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "Bill Inquiry{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
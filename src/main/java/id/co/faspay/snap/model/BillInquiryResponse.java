@@ -2,12 +2,12 @@ package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.Map;
 import java.util.Objects;
 
-public class BillInquiryResponse {
+public class BillInquiryResponse implements SnapResponse {
 
     @JsonProperty("responseCode")
     private String responseCode;
@@ -131,11 +131,7 @@ public class BillInquiryResponse {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "BillInquiry{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -1,7 +1,7 @@
 package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 public class BillPaymentRequest {
     
@@ -175,11 +175,7 @@ public class BillPaymentRequest {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "Bill Payment{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
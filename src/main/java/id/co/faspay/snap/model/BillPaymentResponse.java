@@ -2,11 +2,11 @@ package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.Objects;
 
-public class BillPaymentResponse {
+public class BillPaymentResponse implements SnapResponse {
     
     @JsonProperty("responseCode")
     private String responseCode;
@@ -292,11 +292,7 @@ public class BillPaymentResponse {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "BillPayment{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -1,11 +1,11 @@
 package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.Map;
 
-public class CustomerTopupResponse {
+public class CustomerTopupResponse implements SnapResponse {
     private String responseCode;
     private String responseMessage;
     private String referenceNo;
@@ -241,11 +241,7 @@ public class CustomerTopupResponse {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "CustomerTopup{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -2,7 +2,7 @@ package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -12,7 +12,7 @@ import java.util.Objects;
  * Response model for the Customer Topup Status API.
  * This class represents the response payload from checking customer topup status.
  */
-public class CustomerTopupStatusResponse {
+public class CustomerTopupStatusResponse implements SnapResponse {
 
     @JsonProperty("responseCode")
     private String responseCode;
@@ -257,6 +257,17 @@ public class CustomerTopupStatusResponse {
         return Objects.equals(latestTransactionStatus, "03");
     }
 
+    /**
+     * Checks if the transaction has reached a final status: success (00), refunded (04),
+     * cancelled (05) or failed (06).
+     *
+     * @return True if the status will not change anymore, false otherwise
+     */
+    @JsonIgnore
+    public boolean isTransactionFinal() {
+        return StatusTransferResponse.isFinalStatus(latestTransactionStatus);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -282,11 +293,7 @@ public class CustomerTopupStatusResponse {
     @Override
     public String toString() {
         try {
-            ObjectMapper mapper = new ObjectMapper()
-                    .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-                    .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-//            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(this);
-            return mapper.writeValueAsString(this);
+            return JsonCodecs.toJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "CustomerTopupStatus{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -1,7 +1,7 @@
 package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.Objects;
 
@@ -65,9 +65,7 @@ public class InquiryBalanceRequest {
     @Override
     public String toString() {
         try {
-            return new ObjectMapper()
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(this);
+            return JsonCodecs.toPrettyJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "InquiryBalanceRequest{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
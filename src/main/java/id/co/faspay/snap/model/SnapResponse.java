@@ -0,0 +1,28 @@
+package id.co.faspay.snap.model;
+
+/**
+ * Common view of the response models of all endpoints.
+ */
+public interface SnapResponse {
+
+    /**
+     * Gets the response code.
+     *
+     * @return The response code
+     */
+    String getResponseCode();
+
+    /**
+     * Gets the response message.
+     *
+     * @return The response message
+     */
+    String getResponseMessage();
+
+    /**
+     * Checks if the response indicates success.
+     *
+     * @return True if the response indicates success, false otherwise
+     */
+    boolean isSuccess();
+}
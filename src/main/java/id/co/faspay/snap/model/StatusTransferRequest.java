@@ -1,7 +1,7 @@
 package id.co.faspay.snap.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
 
 import java.util.Objects;
 
@@ -117,9 +117,7 @@ public class StatusTransferRequest {
     @Override
     public String toString() {
         try {
-            return new ObjectMapper()
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(this);
+            return JsonCodecs.toPrettyJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "StatusTransferRequest{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
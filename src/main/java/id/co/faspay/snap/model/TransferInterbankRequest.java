@@ -3,10 +3,9 @@ package id.co.faspay.snap.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.faspay.snap.util.JsonCodecs;
+import id.co.faspay.snap.util.TimestampCache;
 
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -251,8 +250,7 @@ public class TransferInterbankRequest {
 
     @JsonIgnore
     public String getTimestamp() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
-        return ZonedDateTime.now().format(formatter);
+        return TimestampCache.now();
     }
 
     /**
@@ -261,9 +259,7 @@ public class TransferInterbankRequest {
      * @return This TransferInterbankRequest object
      */
     public TransferInterbankRequest setTransactionDate() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
-
-        this.transactionDate = ZonedDateTime.now().format(formatter);
+        this.transactionDate = TimestampCache.now();
         return this;
     }
 
@@ -461,9 +457,7 @@ public class TransferInterbankRequest {
     @Override
     public String toString() {
         try {
-            return new ObjectMapper()
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(this);
+            return JsonCodecs.toPrettyJson(this);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             return "TransferInterbankRequest{error: \"Failed to convert to JSON: " + e.getMessage() + "\"}";
         }
@@ -1,6 +1,10 @@
 package id.co.faspay.snap.service;
 
+import id.co.faspay.snap.cache.AccountInquiryCache;
+import id.co.faspay.snap.cache.CacheStats;
 import id.co.faspay.snap.client.AccountInquiryClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
 import id.co.faspay.snap.model.AccountInquiryRequest;
@@ -9,6 +13,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Service for account inquiry operations.
@@ -18,6 +24,7 @@ public class AccountInquiryService {
     private static final Logger logger = LoggerFactory.getLogger(AccountInquiryService.class);
 
     private final AccountInquiryClient accountInquiryClient;
+    private final AccountInquiryCache cache;
 
     /**
      * Creates a new Account Inquiry service with the provided configuration.
@@ -27,6 +34,26 @@ public class AccountInquiryService {
     public AccountInquiryService(FaspaySnapConfig config) {
         Objects.requireNonNull(config, "config must not be null");
         this.accountInquiryClient = new AccountInquiryClient(config);
+        this.cache = createCache(config);
+    }
+
+    /**
+     * Creates a new service on top of a shared HTTP client.
+     *
+     * @param httpClient The shared HTTP client for the Faspay SendMe Snap API
+     */
+    public AccountInquiryService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.accountInquiryClient = new AccountInquiryClient(httpClient);
+        this.cache = createCache(httpClient.getConfig());
+    }
+
+    private static AccountInquiryCache createCache(FaspaySnapConfig config) {
+        if (config.getAccountInquiryCacheSize() == 0) {
+            return null;
+        }
+        return new AccountInquiryCache(config.getAccountInquiryCacheSize(),
+                config.getAccountInquiryCacheTtlMillis(), config.getAccountInquiryNegativeCacheTtlMillis());
     }
 
     /**
@@ -47,7 +74,7 @@ public class AccountInquiryService {
         logger.debug("Processing account inquiry request for account {} at bank {}", accountNumber, bankCode);
 
         // Here we could add additional business logic before making the API call
-        // For example, validation, transformation, caching, etc.
+        // For example, validation, transformation, etc.
 
         AccountInquiryRequest request = new AccountInquiryRequest(bankCode, accountNumber, partnerReferenceNumber);
         return inquire(request);
@@ -61,21 +88,123 @@ public class AccountInquiryService {
      * @throws FaspaySnapApiException If an error occurs while making the request
      */
     public AccountInquiryResponse inquire(AccountInquiryRequest request) throws FaspaySnapApiException {
+        return inquire(request, null);
+    }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @param deadline The deadline of the call, or null for none
+     * @return The response from the API
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public AccountInquiryResponse inquire(AccountInquiryRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing account inquiry request: {}", request);
 
-        // Here we could add additional business logic before making the API call
+        AccountInquiryResponse cached = lookup(request);
+        if (cached != null) {
+            return cached;
+        }
 
         try {
 
             // Here we could add additional business logic after receiving the API response
-            // For example, enrichment, transformation, caching, etc.
+            // For example, enrichment, transformation, etc.
 
-            return accountInquiryClient.inquire(request);
+            AccountInquiryResponse response = accountInquiryClient.inquire(request, deadline);
+            store(request, response);
+            return response;
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing account inquiry: {}", e.getMessage());
             throw e;
         }
     }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<AccountInquiryResponse> inquireAsync(AccountInquiryRequest request) {
+        return inquireAsync(request, null);
+    }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<AccountInquiryResponse> inquireAsync(AccountInquiryRequest request, Executor executor) {
+        return inquireAsync(request, null, executor);
+    }
+
+    /**
+     * Inquires about a bank account.
+     *
+     * @param request The request object containing the account details
+     * @param deadline The deadline of the call, or null for none
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<AccountInquiryResponse> inquireAsync(AccountInquiryRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing account inquiry request: {}", request);
+
+        AccountInquiryResponse cached = lookup(request);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<AccountInquiryResponse> future = accountInquiryClient.inquireAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing account inquiry: {}", e.getMessage());
+            } else {
+                store(request, response);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Gets the account inquiry cache.
+     *
+     * @return The cache, or null if caching is disabled in the configuration
+     */
+    public AccountInquiryCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets the hit and miss counters of the account inquiry cache.
+     *
+     * @return The cache statistics, or null if caching is disabled in the configuration
+     */
+    public CacheStats getCacheStats() {
+        return cache != null ? cache.getStats() : null;
+    }
+
+    private AccountInquiryResponse lookup(AccountInquiryRequest request) {
+        if (cache == null || request.getBankCode() == null || request.getAccountNumber() == null) {
+            return null;
+        }
+        AccountInquiryResponse cached = cache.get(request.getBankCode(), request.getAccountNumber(), request.getPartnerReferenceNumber());
+        if (cached != null) {
+            logger.debug("Account inquiry for account {} at bank {} served from cache", request.getAccountNumber(), request.getBankCode());
+        }
+        return cached;
+    }
+
+    private void store(AccountInquiryRequest request, AccountInquiryResponse response) {
+        if (cache != null && response != null && request.getBankCode() != null && request.getAccountNumber() != null) {
+            cache.put(request.getBankCode(), request.getAccountNumber(), response);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.BillInquiryClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
 import id.co.faspay.snap.model.BillInquiryRequest;
@@ -9,6 +11,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class BillInquiryService {
     private static final Logger logger = LoggerFactory.getLogger(BillInquiryService.class);
@@ -19,7 +23,16 @@ public class BillInquiryService {
         this.billInquiryClient = new BillInquiryClient(config);
     }
 
+    public BillInquiryService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.billInquiryClient = new BillInquiryClient(httpClient);
+    }
+
     public BillInquiryResponse inquiry(BillInquiryRequest request) throws FaspaySnapApiException {
+        return inquiry(request, null);
+    }
+
+    public BillInquiryResponse inquiry(BillInquiryRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing bill inquiry request: {}", request);
@@ -29,10 +42,32 @@ public class BillInquiryService {
             // Here we could add additional business logic after receiving the API response
             // For example, enrichment, transformation, caching, etc.
 
-            return billInquiryClient.billInquiry(request);
+            return billInquiryClient.billInquiry(request, deadline);
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing transfer status inquiry: {}", e.getMessage());
             throw e;
         }
     }
+
+    public CompletableFuture<BillInquiryResponse> inquiryAsync(BillInquiryRequest request) {
+        return inquiryAsync(request, null);
+    }
+
+    public CompletableFuture<BillInquiryResponse> inquiryAsync(BillInquiryRequest request, Executor executor) {
+        return inquiryAsync(request, null, executor);
+    }
+
+    public CompletableFuture<BillInquiryResponse> inquiryAsync(BillInquiryRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing bill inquiry request: {}", request);
+
+        CompletableFuture<BillInquiryResponse> future = billInquiryClient.billInquiryAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing transfer status inquiry: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -1,6 +1,8 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.BillPaymentClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.client.TransferStatusClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
@@ -10,6 +12,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class BillPaymentService {
     private static final Logger logger = LoggerFactory.getLogger(BillPaymentService.class);
@@ -20,7 +24,16 @@ public class BillPaymentService {
         this.billPaymentClient = new BillPaymentClient(config);
     }
 
+    public BillPaymentService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.billPaymentClient = new BillPaymentClient(httpClient);
+    }
+
     public BillPaymentResponse payment(BillPaymentRequest request) throws FaspaySnapApiException {
+        return payment(request, null);
+    }
+
+    public BillPaymentResponse payment(BillPaymentRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing bill payment request: {}", request);
@@ -30,10 +43,32 @@ public class BillPaymentService {
             // Here we could add additional business logic after receiving the API response
             // For example, enrichment, transformation, caching, etc.
 
-            return billPaymentClient.billPayment(request);
+            return billPaymentClient.billPayment(request, deadline);
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing transfer status inquiry: {}", e.getMessage());
             throw e;
         }
     }
+
+    public CompletableFuture<BillPaymentResponse> paymentAsync(BillPaymentRequest request) {
+        return paymentAsync(request, null);
+    }
+
+    public CompletableFuture<BillPaymentResponse> paymentAsync(BillPaymentRequest request, Executor executor) {
+        return paymentAsync(request, null, executor);
+    }
+
+    public CompletableFuture<BillPaymentResponse> paymentAsync(BillPaymentRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing bill payment request: {}", request);
+
+        CompletableFuture<BillPaymentResponse> future = billPaymentClient.billPaymentAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing transfer status inquiry: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -1,6 +1,8 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.CustomerTopupClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
 import id.co.faspay.snap.model.CustomerTopupRequest;
@@ -9,6 +11,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class CustomerTopupService {
     private static final Logger logger = LoggerFactory.getLogger(CustomerTopupService.class);
@@ -19,16 +23,47 @@ public class CustomerTopupService {
         this.customerTopupClient = new CustomerTopupClient(config);
     }
 
+    public CustomerTopupService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.customerTopupClient = new CustomerTopupClient(httpClient);
+    }
+
     public CustomerTopupResponse topup (CustomerTopupRequest request) throws FaspaySnapApiException {
+        return topup(request, null);
+    }
+
+    public CustomerTopupResponse topup(CustomerTopupRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing customer topup request: {}", request);
 
         try {
-            return customerTopupClient.topup(request);
+            return customerTopupClient.topup(request, deadline);
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing customer topup: {}", e.getMessage());
             throw e;
         }
     }
+
+    public CompletableFuture<CustomerTopupResponse> topupAsync(CustomerTopupRequest request) {
+        return topupAsync(request, null);
+    }
+
+    public CompletableFuture<CustomerTopupResponse> topupAsync(CustomerTopupRequest request, Executor executor) {
+        return topupAsync(request, null, executor);
+    }
+
+    public CompletableFuture<CustomerTopupResponse> topupAsync(CustomerTopupRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing customer topup request: {}", request);
+
+        CompletableFuture<CustomerTopupResponse> future = customerTopupClient.topupAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing customer topup: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
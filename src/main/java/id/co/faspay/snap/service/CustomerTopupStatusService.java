@@ -1,6 +1,8 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.CustomerTopupStatusClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
 import id.co.faspay.snap.model.CustomerTopupStatusRequest;
@@ -9,6 +11,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class CustomerTopupStatusService {
     private static final Logger logger = LoggerFactory.getLogger(CustomerTopupStatusService.class);
@@ -19,13 +23,22 @@ public class CustomerTopupStatusService {
         this.customerTopupStatusClient = new CustomerTopupStatusClient(config);
     }
 
+    public CustomerTopupStatusService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.customerTopupStatusClient = new CustomerTopupStatusClient(httpClient);
+    }
+
     public CustomerTopupStatusResponse status(CustomerTopupStatusRequest request) throws FaspaySnapApiException {
+        return status(request, null);
+    }
+
+    public CustomerTopupStatusResponse status(CustomerTopupStatusRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing customer topup status request: {}", request);
 
         try {
-            CustomerTopupStatusResponse response = customerTopupStatusClient.status(request);
+            CustomerTopupStatusResponse response = customerTopupStatusClient.status(request, deadline);
 
             logger.info("customer topup status completed with response code: {}", response.getResponseCode());
 
@@ -35,4 +48,28 @@ public class CustomerTopupStatusService {
             throw e;
         }
     }
+
+    public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request) {
+        return statusAsync(request, null);
+    }
+
+    public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request, Executor executor) {
+        return statusAsync(request, null, executor);
+    }
+
+    public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing customer topup status request: {}", request);
+
+        CompletableFuture<CustomerTopupStatusResponse> future = customerTopupStatusClient.statusAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e == null) {
+                logger.info("customer topup status completed with response code: {}", response.getResponseCode());
+            } else {
+                logger.error("Error processing transfer status inquiry: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
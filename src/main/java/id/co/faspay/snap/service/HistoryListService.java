@@ -1,6 +1,8 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.HistoryListClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.client.InquiryBalanceClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
@@ -10,6 +12,9 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 public class HistoryListService {
     private static final Logger logger = LoggerFactory.getLogger(HistoryListService.class);
@@ -20,7 +25,16 @@ public class HistoryListService {
         this.historyListService = new HistoryListClient(config);
     }
 
+    public HistoryListService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.historyListService = new HistoryListClient(httpClient);
+    }
+
     public HistoryListResponse list(HistoryListRequest request) throws FaspaySnapApiException {
+        return list(request, (Deadline) null);
+    }
+
+    public HistoryListResponse list(HistoryListRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing history list request: {}", request);
@@ -30,10 +44,71 @@ public class HistoryListService {
             // Here we could add additional business logic after receiving the API response
             // For example, enrichment, transformation, caching, etc.
 
-            return historyListService.historyList(request);
+            return historyListService.historyList(request, deadline);
+        } catch (FaspaySnapApiException e) {
+            logger.error("Error processing history list: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the transaction history and streams each detail entry to the consumer as it is
+     * parsed. Memory use stays flat regardless of the statement size.
+     *
+     * @param request The history list request
+     * @param consumer The receiver of each detail entry, in response order
+     * @return The response without detail entries (response code, message and additional info)
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public HistoryListResponse list(HistoryListRequest request, Consumer<HistoryListResponse.DetailData> consumer)
+            throws FaspaySnapApiException {
+        return list(request, consumer, null);
+    }
+
+    /**
+     * Retrieves the transaction history and streams each detail entry to the consumer as it is
+     * parsed. Memory use stays flat regardless of the statement size.
+     *
+     * @param request The history list request
+     * @param consumer The receiver of each detail entry, in response order
+     * @param deadline The deadline of the call, or null for none
+     * @return The response without detail entries (response code, message and additional info)
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public HistoryListResponse list(HistoryListRequest request, Consumer<HistoryListResponse.DetailData> consumer, Deadline deadline)
+            throws FaspaySnapApiException {
+        Objects.requireNonNull(request, "request must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+
+        logger.debug("Processing streaming history list request: {}", request);
+
+        try {
+            return historyListService.historyList(request, consumer, deadline);
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing history list: {}", e.getMessage());
             throw e;
         }
     }
+
+    public CompletableFuture<HistoryListResponse> listAsync(HistoryListRequest request) {
+        return listAsync(request, null);
+    }
+
+    public CompletableFuture<HistoryListResponse> listAsync(HistoryListRequest request, Executor executor) {
+        return listAsync(request, null, executor);
+    }
+
+    public CompletableFuture<HistoryListResponse> listAsync(HistoryListRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing history list request: {}", request);
+
+        CompletableFuture<HistoryListResponse> future = historyListService.historyListAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing history list: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -2,6 +2,8 @@ package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.AccountInquiryClient;
 import id.co.faspay.snap.client.InquiryBalanceClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
 import id.co.faspay.snap.model.InquiryBalanceRequest;
@@ -10,6 +12,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class InquiryBalanceService {
     private static final Logger logger = LoggerFactory.getLogger(InquiryBalanceService.class);
@@ -20,7 +24,16 @@ public class InquiryBalanceService {
         this.inquiryBalanceClient = new InquiryBalanceClient(config);
     }
 
+    public InquiryBalanceService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.inquiryBalanceClient = new InquiryBalanceClient(httpClient);
+    }
+
     public InquiryBalanceResponse balance(InquiryBalanceRequest request) throws FaspaySnapApiException {
+        return balance(request, null);
+    }
+
+    public InquiryBalanceResponse balance(InquiryBalanceRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing inquiry balance request: {}", request);
@@ -30,10 +43,32 @@ public class InquiryBalanceService {
             // Here we could add additional business logic after receiving the API response
             // For example, enrichment, transformation, caching, etc.
 
-            return inquiryBalanceClient.inquiryBalance(request);
+            return inquiryBalanceClient.inquiryBalance(request, deadline);
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing inquiry balance: {}", e.getMessage());
             throw e;
         }
     }
+
+    public CompletableFuture<InquiryBalanceResponse> balanceAsync(InquiryBalanceRequest request) {
+        return balanceAsync(request, null);
+    }
+
+    public CompletableFuture<InquiryBalanceResponse> balanceAsync(InquiryBalanceRequest request, Executor executor) {
+        return balanceAsync(request, null, executor);
+    }
+
+    public CompletableFuture<InquiryBalanceResponse> balanceAsync(InquiryBalanceRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing inquiry balance request: {}", request);
+
+        CompletableFuture<InquiryBalanceResponse> future = inquiryBalanceClient.inquiryBalanceAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing inquiry balance: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
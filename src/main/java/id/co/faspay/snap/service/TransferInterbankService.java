@@ -1,16 +1,25 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.TransferInterbankClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
+import id.co.faspay.snap.exception.DuplicateTransferException;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.journal.TransferJournal;
 import id.co.faspay.snap.model.Amount;
 import id.co.faspay.snap.model.TransferInterbankRequest;
 import id.co.faspay.snap.model.TransferInterbankResponse;
 import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
+import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Service for interbank transfer operations.
@@ -20,6 +29,7 @@ public class TransferInterbankService {
     private static final Logger logger = LoggerFactory.getLogger(TransferInterbankService.class);
 
     private final TransferInterbankClient transferInterbankClient;
+    private final TransferJournal journal;
 
     /**
      * Creates a new Transfer Interbank service with the provided configuration.
@@ -29,6 +39,18 @@ public class TransferInterbankService {
     public TransferInterbankService(FaspaySnapConfig config) {
         Objects.requireNonNull(config, "config must not be null");
         this.transferInterbankClient = new TransferInterbankClient(config);
+        this.journal = config.getTransferJournal();
+    }
+
+    /**
+     * Creates a new service on top of a shared HTTP client.
+     *
+     * @param httpClient The shared HTTP client for the Faspay SendMe Snap API
+     */
+    public TransferInterbankService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.transferInterbankClient = new TransferInterbankClient(httpClient);
+        this.journal = httpClient.getConfig().getTransferJournal();
     }
 
     /**
@@ -76,21 +98,152 @@ public class TransferInterbankService {
      * @throws FaspaySnapApiException If an error occurs while making the request
      */
     public TransferInterbankResponse transfer(TransferInterbankRequest request) throws FaspaySnapApiException {
+        return transfer(request, null);
+    }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @param deadline The deadline of the call, or null for none
+     * @return The response from the API
+     * @throws DuplicateTransferException If a transfer journal is configured and already holds
+     *         the partner reference number as accepted or in doubt
+     * @throws FaspaySnapApiException If an error occurs while making the request
+     */
+    public TransferInterbankResponse transfer(TransferInterbankRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing interbank transfer request: {}", request);
 
-        // Here we could add additional business logic before making the API call
+        // The intent must be durable before the request can reach the API
+        journalIntent(request);
 
+        TransferInterbankResponse response = null;
+        Throwable error = null;
         try {
 
             // Here we could add additional business logic after receiving the API response
             // For example, enrichment, transformation, caching, etc.
 
-            return transferInterbankClient.transfer(request);
-        } catch (FaspaySnapApiException e) {
+            response = transferInterbankClient.transfer(request, deadline);
+            return response;
+        } catch (FaspaySnapApiException | RuntimeException e) {
+            error = e;
             logger.error("Error processing interbank transfer: {}", e.getMessage());
             throw e;
+        } finally {
+            journalOutcome(request, response, error);
+        }
+    }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<TransferInterbankResponse> transferAsync(TransferInterbankRequest request) {
+        return transferAsync(request, null);
+    }
+
+    /**
+     * Transfers money between banks.
+     *
+     * @param request The request object containing the transfer details
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<TransferInterbankResponse> transferAsync(TransferInterbankRequest request, Executor executor) {
+        return transferAsync(request, null, executor);
+    }
+
+    /**
+     * Transfers money between banks.
+     * With a transfer journal, the intent is made durable by the journal's sync thread and the
+     * request is then sent from the given executor, or the common pool if there is none.
+     *
+     * @param request The request object containing the transfer details
+     * @param deadline The deadline of the call, or null for none
+     * @param executor The executor that completes the returned future, or null for the HTTP dispatcher thread
+     * @return A future completed with the response from the API
+     */
+    public CompletableFuture<TransferInterbankResponse> transferAsync(TransferInterbankRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing interbank transfer request: {}", request);
+
+        if (journal == null) {
+            CompletableFuture<TransferInterbankResponse> future = transferInterbankClient.transferAsync(request, deadline, executor);
+            future.whenComplete((response, e) -> {
+                if (e != null) {
+                    logger.error("Error processing interbank transfer: {}", e.getMessage());
+                }
+            });
+            return future;
+        }
+
+        // The journal's sync thread makes the intent durable; the request is sent once it is,
+        // handed off so that serializing and signing do not hold up the next sync
+        CompletableFuture<TransferInterbankResponse> future = new CompletableFuture<>();
+        journal.recordIntentAsync(request).whenCompleteAsync((entry, intentError) -> {
+            if (intentError != null) {
+                future.completeExceptionally(toJournalException(request, intentError));
+                return;
+            }
+            transferInterbankClient.transferAsync(request, deadline, executor).whenComplete((response, e) -> {
+                journalOutcome(request, response, e);
+                if (e != null) {
+                    logger.error("Error processing interbank transfer: {}", e.getMessage());
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(response);
+                }
+            });
+        }, executor != null ? executor : ForkJoinPool.commonPool());
+        return future;
+    }
+
+    /**
+     * Gets the journal transfers are recorded in.
+     *
+     * @return The transfer journal, or null if transfers are not journaled
+     */
+    public TransferJournal getJournal() {
+        return journal;
+    }
+
+    private void journalIntent(TransferInterbankRequest request) throws FaspaySnapApiException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.recordIntent(request);
+        } catch (IOException e) {
+            throw toJournalException(request, e);
+        }
+    }
+
+    private static FaspaySnapApiException toJournalException(TransferInterbankRequest request, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof FaspaySnapApiException) {
+            return (FaspaySnapApiException) error;
+        }
+        logger.error("Error journaling interbank transfer {}: {}", request.getPartnerReferenceNumber(), error.getMessage());
+        return new FaspaySnapApiException("Error journaling interbank transfer: " + error.getMessage(), error);
+    }
+
+    private void journalOutcome(TransferInterbankRequest request, TransferInterbankResponse response, Throwable error) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.recordOutcome(request.getPartnerReferenceNumber(), response, error);
+        } catch (IOException | RuntimeException e) {
+            // The transfer stays in doubt and is settled by a status inquiry
+            logger.error("Error journaling outcome of interbank transfer {}: {}", request.getPartnerReferenceNumber(), e.getMessage());
         }
     }
 
@@ -1,6 +1,8 @@
 package id.co.faspay.snap.service;
 
 import id.co.faspay.snap.client.TransferStatusClient;
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.client.FaspaySnapHttpClient;
 import id.co.faspay.snap.config.FaspaySnapConfig;
 import id.co.faspay.snap.exception.FaspaySnapApiException;
 import id.co.faspay.snap.model.StatusTransferRequest;
@@ -9,6 +11,8 @@ import id.co.faspay.snap.logging.Logger;
 import id.co.faspay.snap.logging.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class TransferStatusService {
     private static final Logger logger = LoggerFactory.getLogger(TransferStatusService.class);
@@ -19,7 +23,16 @@ public class TransferStatusService {
         this.transferStatusClient = new TransferStatusClient(config);
     }
 
+    public TransferStatusService(FaspaySnapHttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient must not be null");
+        this.transferStatusClient = new TransferStatusClient(httpClient);
+    }
+
     public StatusTransferResponse status(StatusTransferRequest request) throws FaspaySnapApiException {
+        return status(request, null);
+    }
+
+    public StatusTransferResponse status(StatusTransferRequest request, Deadline deadline) throws FaspaySnapApiException {
         Objects.requireNonNull(request, "request must not be null");
 
         logger.debug("Processing transfer status request: {}", request);
@@ -29,10 +42,32 @@ public class TransferStatusService {
             // Here we could add additional business logic after receiving the API response
             // For example, enrichment, transformation, caching, etc.
 
-            return transferStatusClient.status(request);
+            return transferStatusClient.status(request, deadline);
         } catch (FaspaySnapApiException e) {
             logger.error("Error processing transfer status inquiry: {}", e.getMessage());
             throw e;
         }
     }
+
+    public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request) {
+        return statusAsync(request, null);
+    }
+
+    public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request, Executor executor) {
+        return statusAsync(request, null, executor);
+    }
+
+    public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request, Deadline deadline, Executor executor) {
+        Objects.requireNonNull(request, "request must not be null");
+
+        logger.debug("Processing transfer status request: {}", request);
+
+        CompletableFuture<StatusTransferResponse> future = transferStatusClient.statusAsync(request, deadline, executor);
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                logger.error("Error processing transfer status inquiry: {}", e.getMessage());
+            }
+        });
+        return future;
+    }
 }
@@ -0,0 +1,30 @@
+package id.co.faspay.snap.sync;
+
+import java.io.IOException;
+
+/**
+ * Storage for the sync state of each account. The state is a small opaque blob written by
+ * {@link HistorySync}: the high-water mark and the fingerprints of the rows near it.
+ * Implement this to keep checkpoints in a database or shared cache; {@link FileCheckpointStore}
+ * keeps them in local files.
+ */
+public interface CheckpointStore {
+
+    /**
+     * Loads the state of an account.
+     *
+     * @param accountNo The account number
+     * @return The state last saved for the account, or null if there is none
+     * @throws IOException If the state cannot be read
+     */
+    byte[] load(String accountNo) throws IOException;
+
+    /**
+     * Saves the state of an account, replacing the previous state.
+     *
+     * @param accountNo The account number
+     * @param state The state
+     * @throws IOException If the state cannot be written
+     */
+    void save(String accountNo, byte[] state) throws IOException;
+}
@@ -0,0 +1,78 @@
+package id.co.faspay.snap.sync;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Keeps each account's checkpoint in its own file in a directory. A checkpoint is written
+ * to a temporary file, synced to disk and then moved over the old one, so a crash never
+ * leaves a torn file.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+    private final Path directory;
+
+    /**
+     * Creates a new store, creating the directory if it does not exist.
+     *
+     * @param directory The directory holding the checkpoint files
+     * @throws IOException If the directory cannot be created
+     */
+    public FileCheckpointStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(Objects.requireNonNull(directory, "directory must not be null"));
+    }
+
+    @Override
+    public byte[] load(String accountNo) throws IOException {
+        try {
+            return Files.readAllBytes(fileOf(accountNo));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void save(String accountNo, byte[] state) throws IOException {
+        Path file = fileOf(accountNo);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(state);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // Otherwise the rename can reach the disk before the data, leaving an empty file after a crash
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Gets the directory holding the checkpoint files.
+     *
+     * @return The directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path fileOf(String accountNo) {
+        Objects.requireNonNull(accountNo, "accountNo must not be null");
+        // Account numbers are digits; anything else is replaced so the name stays inside the directory
+        return directory.resolve("history-" + accountNo.replaceAll("[^A-Za-z0-9_-]", "_") + ".checkpoint");
+    }
+}
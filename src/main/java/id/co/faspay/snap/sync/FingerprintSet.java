@@ -0,0 +1,162 @@
+package id.co.faspay.snap.sync;
+
+/**
+ * Open-addressing multiset of 64-bit row fingerprints, stored in flat arrays at about
+ * 20 bytes per entry. Each fingerprint carries how many rows with that fingerprint were
+ * seen and the row's time, which is what entries are pruned by. Grows as needed.
+ * Not thread-safe.
+ */
+final class FingerprintSet {
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private long[] keys;
+    // 0 marks an empty slot
+    private int[] counts;
+    private long[] times;
+    private int mask;
+    private int size;
+
+    FingerprintSet() {
+        allocate(MIN_TABLE_SIZE);
+    }
+
+    /**
+     * Gets the count of a fingerprint.
+     *
+     * @return The count, or 0 if absent
+     */
+    int count(long key) {
+        for (int i = slot(key); counts[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return counts[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Increments the count of a fingerprint.
+     *
+     * @return The new count
+     */
+    int increment(long key, long time) {
+        int i = slot(key);
+        while (counts[i] != 0) {
+            if (keys[i] == key) {
+                return ++counts[i];
+            }
+            i = (i + 1) & mask;
+        }
+        insert(i, key, 1, time);
+        return 1;
+    }
+
+    /**
+     * Sets the count of a fingerprint.
+     */
+    void put(long key, int count, long time) {
+        int i = slot(key);
+        while (counts[i] != 0) {
+            if (keys[i] == key) {
+                counts[i] = count;
+                times[i] = time;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        insert(i, key, count, time);
+    }
+
+    /**
+     * Removes the fingerprints of rows older than the cutoff.
+     */
+    void removeOlderThan(long cutoff) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        long[] oldTimes = times;
+        int live = 0;
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] != 0 && oldTimes[i] >= cutoff) {
+                live++;
+            }
+        }
+        if (live == size) {
+            return;
+        }
+        allocate(tableSizeFor(live));
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] != 0 && oldTimes[i] >= cutoff) {
+                put(oldKeys[i], oldCounts[i], oldTimes[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the length of the backing arrays; slots are read with the accessors below.
+     */
+    int capacity() {
+        return counts.length;
+    }
+
+    boolean isOccupied(int slot) {
+        return counts[slot] != 0;
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int countAt(int slot) {
+        return counts[slot];
+    }
+
+    long timeAt(int slot) {
+        return times[slot];
+    }
+
+    private void insert(int i, long key, int count, long time) {
+        keys[i] = key;
+        counts[i] = count;
+        times[i] = time;
+        if (++size * 2 > counts.length) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        long[] oldTimes = times;
+        allocate(oldCounts.length * 2);
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] != 0) {
+                put(oldKeys[i], oldCounts[i], oldTimes[i]);
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        counts = new int[tableSize];
+        times = new long[tableSize];
+        mask = tableSize - 1;
+        size = 0;
+    }
+
+    private static int tableSizeFor(int entries) {
+        int tableSize = MIN_TABLE_SIZE;
+        while (tableSize < entries * 2 + 2) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,480 @@
+package id.co.faspay.snap.sync;
+
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.HistoryListRequest;
+import id.co.faspay.snap.model.HistoryListResponse;
+import id.co.faspay.snap.service.HistoryListService;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fetches a long History List range as several shorter slices, a bounded number of them in
+ * parallel, and merges the rows back into one stream in slice order.
+ *
+ * One History List call over a long range is slow and may run into the read timeout. The
+ * fetcher instead plans one slice at a time, whenever a parallel slot is free, and sizes it
+ * from what earlier slices returned: how many rows per second of range, and how long the call
+ * took per second of range. Each slice aims at the configured row count and latency, and
+ * grows at most twofold per step, so quiet nights are fetched in a few long slices and busy
+ * hours in many short ones. A slice that fails with a transport error, such as a read
+ * timeout, is split in half and fetched again until it reaches the minimum slice length.
+ *
+ * Slices are requested with both ends inclusive, so a row stamped exactly on a boundary is
+ * kept only by the slice that starts there. Rows of a slice are held in memory until the
+ * stream reaches them, so at most the fan-out times the target row count is buffered.
+ */
+public class HistoryRangeFetcher {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryRangeFetcher.class);
+    // Weight of the newest slice in the moving averages
+    private static final double SMOOTHING = 0.5;
+
+    private final HistoryListService historyListService;
+    private final int maxParallelism;
+
+    private volatile long initialSliceMillis = 60 * 60 * 1000L;
+    private volatile long minSliceMillis = 60 * 1000L;
+    private volatile long maxSliceMillis = 24 * 60 * 60 * 1000L;
+    private volatile int targetRowsPerSlice = 1000;
+    private volatile long targetLatencyMillis = 10 * 1000L;
+    private volatile ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Creates a new fetcher.
+     *
+     * @param historyListService The service used to fetch the slices
+     * @param maxParallelism The maximum number of slices fetched at once
+     */
+    public HistoryRangeFetcher(HistoryListService historyListService, int maxParallelism) {
+        this.historyListService = Objects.requireNonNull(historyListService, "historyListService must not be null");
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism must be at least 1");
+        }
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Streams the history of an account over a range, oldest slice first. Slices are fetched
+     * ahead of the stream as it is consumed; closing the stream stops planning new slices.
+     * A failed slice ends the stream with a {@link CompletionException} whose cause is the
+     * {@link FaspaySnapApiException}.
+     *
+     * @param accountNo The account number
+     * @param from The start of the range
+     * @param to The end of the range
+     * @return The rows of the range, in slice order and in response order within a slice
+     */
+    public Stream<HistoryListResponse.DetailData> stream(String accountNo, OffsetDateTime from, OffsetDateTime to) {
+        Objects.requireNonNull(accountNo, "accountNo must not be null");
+        Objects.requireNonNull(from, "from must not be null");
+        Objects.requireNonNull(to, "to must not be null");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        Fetch fetch = new Fetch(accountNo, from.toEpochSecond(), to.toEpochSecond());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(fetch,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(fetch::close);
+    }
+
+    /**
+     * Fetches the history of an account over a range and passes each row to the consumer, in
+     * the order of {@link #stream}. Blocks until the range is fetched.
+     *
+     * @param accountNo The account number
+     * @param from The start of the range
+     * @param to The end of the range
+     * @param consumer The receiver of each row
+     * @return The number of rows passed to the consumer
+     * @throws FaspaySnapApiException If a slice cannot be fetched
+     */
+    public long fetch(String accountNo, OffsetDateTime from, OffsetDateTime to,
+                      Consumer<HistoryListResponse.DetailData> consumer) throws FaspaySnapApiException {
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        long rows = 0;
+        try (Stream<HistoryListResponse.DetailData> details = stream(accountNo, from, to)) {
+            Iterator<HistoryListResponse.DetailData> iterator = details.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                rows++;
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof FaspaySnapApiException) {
+                throw (FaspaySnapApiException) e.getCause();
+            }
+            throw e;
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the maximum number of slices fetched at once.
+     *
+     * @return The maximum parallelism
+     */
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * Gets the length of the first slice of a range.
+     *
+     * @return The initial slice length in milliseconds
+     */
+    public long getInitialSliceMillis() {
+        return initialSliceMillis;
+    }
+
+    /**
+     * Sets the length of the first slice of a range, used until a slice has returned.
+     * Defaults to 1 hour.
+     *
+     * @param initialSliceMillis The initial slice length in milliseconds
+     */
+    public void setInitialSliceMillis(long initialSliceMillis) {
+        if (initialSliceMillis < 1000) {
+            throw new IllegalArgumentException("initialSliceMillis must be at least one second");
+        }
+        this.initialSliceMillis = initialSliceMillis;
+    }
+
+    /**
+     * Gets the shortest slice; failed slices are not split below it.
+     *
+     * @return The minimum slice length in milliseconds
+     */
+    public long getMinSliceMillis() {
+        return minSliceMillis;
+    }
+
+    /**
+     * Sets the shortest slice; failed slices are not split below it. Defaults to 1 minute.
+     *
+     * @param minSliceMillis The minimum slice length in milliseconds
+     */
+    public void setMinSliceMillis(long minSliceMillis) {
+        if (minSliceMillis < 1000) {
+            throw new IllegalArgumentException("minSliceMillis must be at least one second");
+        }
+        this.minSliceMillis = minSliceMillis;
+    }
+
+    /**
+     * Gets the longest slice.
+     *
+     * @return The maximum slice length in milliseconds
+     */
+    public long getMaxSliceMillis() {
+        return maxSliceMillis;
+    }
+
+    /**
+     * Sets the longest slice. Defaults to 24 hours.
+     *
+     * @param maxSliceMillis The maximum slice length in milliseconds
+     */
+    public void setMaxSliceMillis(long maxSliceMillis) {
+        if (maxSliceMillis < 1000) {
+            throw new IllegalArgumentException("maxSliceMillis must be at least one second");
+        }
+        this.maxSliceMillis = maxSliceMillis;
+    }
+
+    /**
+     * Gets the number of rows each slice aims at.
+     *
+     * @return The target rows per slice
+     */
+    public int getTargetRowsPerSlice() {
+        return targetRowsPerSlice;
+    }
+
+    /**
+     * Sets the number of rows each slice aims at. Defaults to 1000.
+     *
+     * @param targetRowsPerSlice The target rows per slice
+     */
+    public void setTargetRowsPerSlice(int targetRowsPerSlice) {
+        if (targetRowsPerSlice < 1) {
+            throw new IllegalArgumentException("targetRowsPerSlice must be at least 1");
+        }
+        this.targetRowsPerSlice = targetRowsPerSlice;
+    }
+
+    /**
+     * Gets the call latency each slice aims at.
+     *
+     * @return The target latency in milliseconds
+     */
+    public long getTargetLatencyMillis() {
+        return targetLatencyMillis;
+    }
+
+    /**
+     * Sets the call latency each slice aims at. Should stay well below the read timeout.
+     * Defaults to 10 seconds.
+     *
+     * @param targetLatencyMillis The target latency in milliseconds
+     */
+    public void setTargetLatencyMillis(long targetLatencyMillis) {
+        if (targetLatencyMillis < 1) {
+            throw new IllegalArgumentException("targetLatencyMillis must be at least 1");
+        }
+        this.targetLatencyMillis = targetLatencyMillis;
+    }
+
+    /**
+     * Gets the time zone of the date times sent to the API.
+     *
+     * @return The time zone
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Sets the time zone of the date times sent to the API. Defaults to the system time zone.
+     *
+     * @param zone The time zone
+     */
+    public void setZone(ZoneId zone) {
+        this.zone = Objects.requireNonNull(zone, "zone must not be null");
+    }
+
+    private static boolean isTransportError(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One History List call over [start, end], in epoch seconds. The response is null until
+     * the call is sent.
+     */
+    private static final class Slice {
+        final long start;
+        final long end;
+        final boolean last;
+        long startedAt;
+        CompletableFuture<HistoryListResponse> response;
+
+        Slice(long start, long end, boolean last) {
+            this.start = start;
+            this.end = end;
+            this.last = last;
+        }
+    }
+
+    /**
+     * State of one {@link #stream} call. Only the consuming thread plans slices and reads
+     * their results; completions on the HTTP threads only update the estimates.
+     */
+    private final class Fetch implements Iterator<HistoryListResponse.DetailData> {
+        final String accountNo;
+        final long end;
+        // Slices in range order; the half of a split slice may wait here unsent for a free slot
+        final ArrayDeque<Slice> inFlight = new ArrayDeque<>();
+        long nextStart;
+        long lastSliceSeconds;
+        // Moving averages per second of range; negative until a slice has returned
+        double rowsPerSecond = -1;
+        double millisPerSecond = -1;
+        Slice current;
+        Iterator<HistoryListResponse.DetailData> rows = Collections.emptyIterator();
+        HistoryListResponse.DetailData next;
+        boolean closed;
+        int slices;
+
+        Fetch(String accountNo, long start, long end) {
+            this.accountNo = accountNo;
+            this.nextStart = start;
+            this.end = end;
+            this.lastSliceSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(initialSliceMillis));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (closed) {
+                    return false;
+                }
+                while (rows.hasNext()) {
+                    HistoryListResponse.DetailData detail = rows.next();
+                    // Boundary rows belong to the slice that starts there
+                    if (current.last || HistoryTimes.timeOf(detail, Long.MIN_VALUE) < current.end) {
+                        next = detail;
+                        return true;
+                    }
+                }
+                plan();
+                if (inFlight.isEmpty()) {
+                    logger.debug("History range of account {} fetched in {} slices", accountNo, slices);
+                    return false;
+                }
+                take(inFlight.pollFirst());
+            }
+            return true;
+        }
+
+        @Override
+        public HistoryListResponse.DetailData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            HistoryListResponse.DetailData detail = next;
+            next = null;
+            return detail;
+        }
+
+        void close() {
+            closed = true;
+            for (Slice slice : inFlight) {
+                if (slice.response != null) {
+                    slice.response.cancel(false);
+                }
+            }
+            inFlight.clear();
+        }
+
+        private void take(Slice slice) {
+            current = slice;
+            if (slice.response == null) {
+                submit(slice);
+            }
+            HistoryListResponse response;
+            try {
+                response = slice.response.join();
+            } catch (CompletionException e) {
+                long seconds = slice.end - slice.start;
+                if (isTransportError(e.getCause()) && seconds > TimeUnit.MILLISECONDS.toSeconds(minSliceMillis)) {
+                    long middle = slice.start + seconds / 2;
+                    logger.warn("History slice {}s of account {} failed, splitting: {}", seconds, accountNo, e.getCause().getMessage());
+                    lastSliceSeconds = Math.min(lastSliceSeconds, Math.max(1, seconds / 2));
+                    // Both halves go ahead of the slices already in flight; the taken slice freed
+                    // one slot, so the second half waits in the queue until plan finds another
+                    inFlight.addFirst(new Slice(middle, slice.end, slice.last));
+                    inFlight.addFirst(submit(new Slice(slice.start, middle, false)));
+                    rows = Collections.emptyIterator();
+                    return;
+                }
+                close();
+                throw e;
+            }
+            if (!response.isSuccess()) {
+                close();
+                throw new CompletionException(new FaspaySnapApiException("History List failed for account " + accountNo + ": "
+                        + response.getResponseCode() + " " + response.getResponseMessage()));
+            }
+            List<HistoryListResponse.DetailData> details = response.getDetailData();
+            rows = details != null ? details.iterator() : Collections.<HistoryListResponse.DetailData>emptyIterator();
+        }
+
+        private void plan() {
+            if (closed) {
+                return;
+            }
+            int sent = 0;
+            for (Slice slice : inFlight) {
+                if (slice.response != null) {
+                    sent++;
+                }
+            }
+            // Waiting halves come before any new slice
+            for (Slice slice : inFlight) {
+                if (sent >= maxParallelism) {
+                    break;
+                }
+                if (slice.response == null) {
+                    submit(slice);
+                    sent++;
+                }
+            }
+            while (sent < maxParallelism && nextStart < end) {
+                long seconds = nextSliceSeconds();
+                long sliceEnd = end - nextStart <= seconds ? end : nextStart + seconds;
+                inFlight.addLast(submit(new Slice(nextStart, sliceEnd, sliceEnd == end)));
+                nextStart = sliceEnd;
+                sent++;
+            }
+            // An empty range is still one call, so its response code is checked
+            if (slices == 0 && nextStart == end && inFlight.isEmpty()) {
+                inFlight.addLast(submit(new Slice(end, end, true)));
+            }
+        }
+
+        private long nextSliceSeconds() {
+            long min = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(minSliceMillis));
+            long max = Math.max(min, TimeUnit.MILLISECONDS.toSeconds(maxSliceMillis));
+            double seconds;
+            synchronized (this) {
+                if (rowsPerSecond < 0) {
+                    seconds = lastSliceSeconds;
+                } else {
+                    seconds = Math.min(
+                            rowsPerSecond > 0 ? targetRowsPerSlice / rowsPerSecond : Double.MAX_VALUE,
+                            millisPerSecond > 0 ? targetLatencyMillis / millisPerSecond : Double.MAX_VALUE);
+                    // Grow gradually, a busy hour may follow a quiet one
+                    seconds = Math.min(seconds, lastSliceSeconds * 2.0);
+                }
+            }
+            long sliceSeconds = (long) Math.max(min, Math.min(max, seconds));
+            lastSliceSeconds = sliceSeconds;
+            return sliceSeconds;
+        }
+
+        private Slice submit(Slice slice) {
+            slice.startedAt = System.nanoTime();
+            slices++;
+            HistoryListRequest request = new HistoryListRequest(
+                    HistoryTimes.format(slice.start, zone),
+                    HistoryTimes.format(slice.end, zone),
+                    accountNo);
+            CompletableFuture<HistoryListResponse> future;
+            try {
+                future = historyListService.listAsync(request);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            slice.response = future.whenComplete((response, error) -> {
+                if (error == null && response.isSuccess()) {
+                    observe(slice, response);
+                }
+            });
+            return slice;
+        }
+
+        private void observe(Slice slice, HistoryListResponse response) {
+            double seconds = Math.max(1, slice.end - slice.start);
+            int rowCount = response.getDetailData() != null ? response.getDetailData().size() : 0;
+            double millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - slice.startedAt);
+            synchronized (this) {
+                rowsPerSecond = average(rowsPerSecond, rowCount / seconds);
+                millisPerSecond = average(millisPerSecond, millis / seconds);
+            }
+        }
+
+        private double average(double average, double sample) {
+            return average < 0 ? sample : average + SMOOTHING * (sample - average);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package id.co.faspay.snap.sync;
+
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.Amount;
+import id.co.faspay.snap.model.HistoryListRequest;
+import id.co.faspay.snap.model.HistoryListResponse;
+import id.co.faspay.snap.service.HistoryListService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Incremental transaction history sync. Remembers a high-water mark per account, so each
+ * {@link #sync} only fetches the time since the previous one, and passes on only rows it has
+ * not passed on before.
+ *
+ * Each sync starts a little before the high-water mark, by the configured overlap, so rows
+ * that are posted late with an earlier timestamp are still picked up. Rows in that overlap
+ * were usually seen already; they are recognized by a 64-bit fingerprint of their fields and
+ * skipped. History rows have no transaction ID, so two genuinely identical rows are possible;
+ * fingerprints are therefore counted, and a window with one more copy of a row than before
+ * emits that one copy. Only fingerprints of rows inside the overlap are kept, so the state of
+ * an account stays small. Long gaps are fetched in windows of at most the configured length.
+ *
+ * The state is saved to a {@link CheckpointStore} after every window, and also when a sync
+ * fails, so a failed sync is simply retried. Rows passed to the consumer just before a crash
+ * may be passed on again after the restart; everything else is passed on exactly once.
+ * Syncs of one account are serialized; different accounts can sync in parallel.
+ */
+public class HistorySync {
+    private static final Logger logger = LoggerFactory.getLogger(HistorySync.class);
+    private static final int STATE_VERSION = 1;
+
+    private final HistoryListService historyListService;
+    private final CheckpointStore store;
+    private final ConcurrentHashMap<String, AccountState> accounts = new ConcurrentHashMap<>();
+
+    private volatile long overlapMillis = 5 * 60 * 1000L;
+    private volatile long initialLookbackMillis = 24 * 60 * 60 * 1000L;
+    private volatile long maxWindowMillis = 24 * 60 * 60 * 1000L;
+    private volatile ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Creates a new sync.
+     *
+     * @param historyListService The service used to fetch the history
+     * @param store The store that keeps the checkpoint of each account
+     */
+    public HistorySync(HistoryListService historyListService, CheckpointStore store) {
+        this.historyListService = Objects.requireNonNull(historyListService, "historyListService must not be null");
+        this.store = Objects.requireNonNull(store, "store must not be null");
+    }
+
+    /**
+     * Fetches the history of an account since the previous sync and passes each new row to
+     * the consumer, oldest window first. The first sync of an account starts the initial
+     * lookback before now, unless a high-water mark was set.
+     *
+     * @param accountNo The account number
+     * @param consumer The receiver of new rows
+     * @return What was fetched and emitted
+     * @throws FaspaySnapApiException If a History List call fails or the checkpoint cannot be read or written
+     */
+    public SyncResult sync(String accountNo, Consumer<HistoryListResponse.DetailData> consumer) throws FaspaySnapApiException {
+        Objects.requireNonNull(accountNo, "accountNo must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        AccountState state = accounts.computeIfAbsent(accountNo, AccountState::new);
+
+        // Held across the History List calls; a lock rather than a monitor, so a virtual
+        // thread waiting on those calls does not pin its carrier thread
+        state.lock.lock();
+        try {
+            load(state);
+            long overlap = TimeUnit.MILLISECONDS.toSeconds(overlapMillis);
+            long maxWindow = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWindowMillis));
+            long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+            long from = state.highWaterMark != 0
+                    ? state.highWaterMark - overlap
+                    : now - TimeUnit.MILLISECONDS.toSeconds(initialLookbackMillis);
+
+            int windows = 0;
+            long[] counters = new long[2];
+            long windowStart = from;
+            try {
+                while (windowStart < now) {
+                    long windowEnd = Math.min(now, windowStart + maxWindow);
+                    fetchWindow(state, windowStart, windowEnd, consumer, counters);
+                    windows++;
+                    state.highWaterMark = Math.max(state.highWaterMark, windowEnd);
+                    // Rows before the next sync's start are never fetched again
+                    state.seen.removeOlderThan(state.highWaterMark - overlap);
+                    save(state);
+                    windowStart = windowEnd;
+                }
+            } catch (FaspaySnapApiException | RuntimeException e) {
+                // Keep the fingerprints of rows already emitted, so the retry skips them
+                saveQuietly(state);
+                throw e;
+            }
+
+            SyncResult result = new SyncResult(accountNo, toDateTime(from), toDateTime(Math.max(now, from)),
+                    windows, counters[0], counters[1]);
+            logger.debug("History sync {}", result);
+            return result;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the high-water mark of an account: the end of the last fetched window.
+     *
+     * @param accountNo The account number
+     * @return The high-water mark, or null if the account was never synced
+     * @throws FaspaySnapApiException If the checkpoint cannot be read
+     */
+    public OffsetDateTime getHighWaterMark(String accountNo) throws FaspaySnapApiException {
+        Objects.requireNonNull(accountNo, "accountNo must not be null");
+        AccountState state = accounts.computeIfAbsent(accountNo, AccountState::new);
+        state.lock.lock();
+        try {
+            load(state);
+            return state.highWaterMark != 0 ? toDateTime(state.highWaterMark) : null;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the high-water mark of an account, e.g. to start the first sync at a known point
+     * or to fetch a range again. Forgets the fingerprints of the account, so rows in the
+     * overlap before the new mark are passed on again.
+     *
+     * @param accountNo The account number
+     * @param highWaterMark The new high-water mark
+     * @throws FaspaySnapApiException If the checkpoint cannot be written
+     */
+    public void setHighWaterMark(String accountNo, OffsetDateTime highWaterMark) throws FaspaySnapApiException {
+        Objects.requireNonNull(accountNo, "accountNo must not be null");
+        Objects.requireNonNull(highWaterMark, "highWaterMark must not be null");
+        AccountState state = accounts.computeIfAbsent(accountNo, AccountState::new);
+        state.lock.lock();
+        try {
+            state.loaded = true;
+            state.highWaterMark = highWaterMark.toEpochSecond();
+            state.seen = new FingerprintSet();
+            save(state);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets how far before the high-water mark each sync starts.
+     *
+     * @return The overlap in milliseconds
+     */
+    public long getOverlapMillis() {
+        return overlapMillis;
+    }
+
+    /**
+     * Sets how far before the high-water mark each sync starts. Should cover how late
+     * rows can appear in the history after their timestamp. Defaults to 5 minutes.
+     *
+     * @param overlapMillis The overlap in milliseconds
+     */
+    public void setOverlapMillis(long overlapMillis) {
+        if (overlapMillis < 0) {
+            throw new IllegalArgumentException("overlapMillis must not be negative");
+        }
+        this.overlapMillis = overlapMillis;
+    }
+
+    /**
+     * Gets how far back the first sync of an account starts.
+     *
+     * @return The initial lookback in milliseconds
+     */
+    public long getInitialLookbackMillis() {
+        return initialLookbackMillis;
+    }
+
+    /**
+     * Sets how far back the first sync of an account starts. Defaults to 24 hours.
+     *
+     * @param initialLookbackMillis The initial lookback in milliseconds
+     */
+    public void setInitialLookbackMillis(long initialLookbackMillis) {
+        if (initialLookbackMillis < 1000) {
+            throw new IllegalArgumentException("initialLookbackMillis must be at least one second");
+        }
+        this.initialLookbackMillis = initialLookbackMillis;
+    }
+
+    /**
+     * Gets the longest range fetched by one History List call.
+     *
+     * @return The maximum window in milliseconds
+     */
+    public long getMaxWindowMillis() {
+        return maxWindowMillis;
+    }
+
+    /**
+     * Sets the longest range fetched by one History List call; longer gaps are fetched in
+     * several windows. Defaults to 24 hours.
+     *
+     * @param maxWindowMillis The maximum window in milliseconds
+     */
+    public void setMaxWindowMillis(long maxWindowMillis) {
+        if (maxWindowMillis < 1000) {
+            throw new IllegalArgumentException("maxWindowMillis must be at least one second");
+        }
+        this.maxWindowMillis = maxWindowMillis;
+    }
+
+    /**
+     * Gets the time zone of the date times sent to the API.
+     *
+     * @return The time zone
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Sets the time zone of the date times sent to the API. Defaults to the system time zone.
+     *
+     * @param zone The time zone
+     */
+    public void setZone(ZoneId zone) {
+        this.zone = Objects.requireNonNull(zone, "zone must not be null");
+    }
+
+    private void fetchWindow(AccountState state, long windowStart, long windowEnd,
+                             Consumer<HistoryListResponse.DetailData> consumer, long[] counters) throws FaspaySnapApiException {
+        HistoryListRequest request = new HistoryListRequest(
+                HistoryTimes.format(windowStart, zone),
+                HistoryTimes.format(windowEnd, zone),
+                state.accountNo);
+        FingerprintSet inWindow = new FingerprintSet();
+
+        HistoryListResponse response = historyListService.list(request, detail -> {
+            counters[0]++;
+            long key = fingerprint(detail);
+            long time = HistoryTimes.timeOf(detail, windowEnd);
+            int copy = inWindow.increment(key, time);
+            // A copy is new if earlier syncs saw fewer rows with this fingerprint
+            if (copy > state.seen.count(key)) {
+                consumer.accept(detail);
+                state.seen.put(key, copy, time);
+                counters[1]++;
+            }
+        });
+        if (!response.isSuccess()) {
+            throw new FaspaySnapApiException("History List failed for account " + state.accountNo + ": "
+                    + response.getResponseCode() + " " + response.getResponseMessage());
+        }
+    }
+
+    private OffsetDateTime toDateTime(long epochSecond) {
+        return HistoryTimes.toDateTime(epochSecond, zone);
+    }
+
+    /**
+     * 64-bit FNV-1a hash over the fields of a row.
+     */
+    static long fingerprint(HistoryListResponse.DetailData detail) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, detail.getDateTime());
+        Amount amount = detail.getAmount();
+        if (amount != null && amount.hasValue()) {
+            h = mix(h, amount.getUnscaledValue());
+            h = mix(h, amount.getScale());
+            h = mix(h, amount.getCurrency());
+        } else {
+            h = mix(h, 0x7FL);
+        }
+        h = mix(h, detail.getRemark());
+        h = mix(h, detail.getStatus());
+        h = mix(h, detail.getType());
+        h = mix(h, detail.getAdditionalInfo() != null ? detail.getAdditionalInfo().getDebitCredit() : null);
+        List<HistoryListResponse.SourceOfFunds> sources = detail.getSourceOfFunds();
+        if (sources != null) {
+            for (HistoryListResponse.SourceOfFunds source : sources) {
+                h = mix(h, source != null ? source.getSource() : null);
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, String value) {
+        if (value == null) {
+            return mix(h, 0xFFFFL);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // Field separator, so ("ab", "c") and ("a", "bc") differ
+        h ^= 0x1F;
+        return h * 0x100000001b3L;
+    }
+
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (value >>> (i * 8)) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private void load(AccountState state) throws FaspaySnapApiException {
+        if (state.loaded) {
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = store.load(state.accountNo);
+        } catch (IOException e) {
+            throw new FaspaySnapApiException("Cannot load history checkpoint of account " + state.accountNo + ": " + e.getMessage(), e);
+        }
+        if (bytes != null) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                int version = in.readInt();
+                if (version != STATE_VERSION) {
+                    throw new IOException("Unsupported checkpoint version " + version);
+                }
+                state.highWaterMark = in.readLong();
+                int size = in.readInt();
+                for (int i = 0; i < size; i++) {
+                    state.seen.put(in.readLong(), in.readInt(), in.readLong());
+                }
+            } catch (IOException e) {
+                throw new FaspaySnapApiException("Corrupt history checkpoint of account " + state.accountNo + ": " + e.getMessage(), e);
+            }
+        }
+        state.loaded = true;
+    }
+
+    private void save(AccountState state) throws FaspaySnapApiException {
+        FingerprintSet seen = state.seen;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + seen.size() * 20);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(STATE_VERSION);
+            out.writeLong(state.highWaterMark);
+            out.writeInt(seen.size());
+            for (int slot = 0; slot < seen.capacity(); slot++) {
+                if (seen.isOccupied(slot)) {
+                    out.writeLong(seen.keyAt(slot));
+                    out.writeInt(seen.countAt(slot));
+                    out.writeLong(seen.timeAt(slot));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode history checkpoint", e);
+        }
+        try {
+            store.save(state.accountNo, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new FaspaySnapApiException("Cannot save history checkpoint of account " + state.accountNo + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void saveQuietly(AccountState state) {
+        try {
+            save(state);
+        } catch (FaspaySnapApiException e) {
+            logger.error("{}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sync state of one account, guarded by its own lock.
+     */
+    private static final class AccountState {
+        final ReentrantLock lock = new ReentrantLock();
+        final String accountNo;
+        boolean loaded;
+        // Epoch second; 0 if never synced
+        long highWaterMark;
+        FingerprintSet seen = new FingerprintSet();
+
+        AccountState(String accountNo) {
+            this.accountNo = accountNo;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package id.co.faspay.snap.sync;
+
+import id.co.faspay.snap.model.HistoryListResponse;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Date time helpers shared by the History List syncs.
+ */
+final class HistoryTimes {
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+    private HistoryTimes() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Converts epoch seconds to a date time in the given zone.
+     *
+     * @param epochSecond the time in epoch seconds
+     * @param zone the time zone
+     * @return the date time
+     */
+    static OffsetDateTime toDateTime(long epochSecond, ZoneId zone) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone);
+    }
+
+    /**
+     * Formats epoch seconds as a History List request date time.
+     *
+     * @param epochSecond the time in epoch seconds
+     * @param zone the time zone of the formatted date time
+     * @return the formatted date time
+     */
+    static String format(long epochSecond, ZoneId zone) {
+        return DATE_TIME_FORMAT.format(toDateTime(epochSecond, zone));
+    }
+
+    /**
+     * Gets the time of a History List row.
+     *
+     * @param detail the row
+     * @param fallback the time returned when the row has no parsable date time
+     * @return the time of the row in epoch seconds
+     */
+    static long timeOf(HistoryListResponse.DetailData detail, long fallback) {
+        if (detail.getDateTime() == null) {
+            return fallback;
+        }
+        try {
+            return OffsetDateTime.parse(detail.getDateTime()).toEpochSecond();
+        } catch (DateTimeException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package id.co.faspay.snap.sync;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Outcome of one {@link HistorySync#sync} call.
+ */
+public class SyncResult {
+    private final String accountNo;
+    private final OffsetDateTime fromDateTime;
+    private final OffsetDateTime toDateTime;
+    private final int windows;
+    private final long fetched;
+    private final long emitted;
+
+    SyncResult(String accountNo, OffsetDateTime fromDateTime, OffsetDateTime toDateTime, int windows, long fetched, long emitted) {
+        this.accountNo = accountNo;
+        this.fromDateTime = fromDateTime;
+        this.toDateTime = toDateTime;
+        this.windows = windows;
+        this.fetched = fetched;
+        this.emitted = emitted;
+    }
+
+    /**
+     * Gets the account number.
+     *
+     * @return The account number
+     */
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    /**
+     * Gets the start of the fetched range, including the overlap with the previous sync.
+     *
+     * @return The start of the fetched range
+     */
+    public OffsetDateTime getFromDateTime() {
+        return fromDateTime;
+    }
+
+    /**
+     * Gets the end of the fetched range, which is the new high-water mark.
+     *
+     * @return The end of the fetched range
+     */
+    public OffsetDateTime getToDateTime() {
+        return toDateTime;
+    }
+
+    /**
+     * Gets the number of History List calls made.
+     *
+     * @return The number of windows fetched
+     */
+    public int getWindows() {
+        return windows;
+    }
+
+    /**
+     * Gets the number of rows returned by the API, including already seen ones.
+     *
+     * @return The number of fetched rows
+     */
+    public long getFetched() {
+        return fetched;
+    }
+
+    /**
+     * Gets the number of new rows passed to the consumer.
+     *
+     * @return The number of emitted rows
+     */
+    public long getEmitted() {
+        return emitted;
+    }
+
+    /**
+     * Gets the number of rows skipped because an earlier sync already emitted them.
+     *
+     * @return The number of duplicate rows
+     */
+    public long getDuplicates() {
+        return fetched - emitted;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncResult{" +
+                "accountNo='" + accountNo + '\'' +
+                ", fromDateTime=" + fromDateTime +
+                ", toDateTime=" + toDateTime +
+                ", windows=" + windows +
+                ", fetched=" + fetched +
+                ", emitted=" + emitted +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package id.co.faspay.snap.tracker;
+
+/**
+ * Open-addressing hash map from {@code long} keys to non-negative {@code int} values,
+ * stored in two flat arrays so lookups allocate nothing and entries cost 12 bytes.
+ * The table has a fixed size chosen for the expected number of entries and uses
+ * linear probing with backward-shift deletion, so it never needs tombstones.
+ * Not thread-safe.
+ */
+final class LongIntIndex {
+    private static final int ABSENT = -1;
+
+    private final long[] keys;
+    // Value + 1, so that 0 marks an empty slot
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    /**
+     * Creates a new index.
+     *
+     * @param capacity The maximum number of entries; the table is sized for a load factor of at most 0.5
+     */
+    LongIntIndex(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.keys = new long[tableSize];
+        this.values = new int[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key
+     * @return The value, or -1 if the key is absent
+     */
+    int get(long key) {
+        for (int i = slot(key); values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i] - 1;
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Associates a value with a key. The caller must not exceed the capacity.
+     *
+     * @param key The key
+     * @param value The non-negative value
+     */
+    void put(long key, int value) {
+        int i = slot(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        size++;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key The key
+     * @return True if the key was present
+     */
+    boolean remove(long key) {
+        int i = slot(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void shiftBack(int hole) {
+        // Move later entries of the probe run into the hole so lookups never stop early
+        int i = (hole + 1) & mask;
+        while (values[i] != 0) {
+            int home = slot(keys[i]);
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        values[hole] = 0;
+        keys[hole] = 0;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
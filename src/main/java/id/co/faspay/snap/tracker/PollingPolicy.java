@@ -0,0 +1,113 @@
+package id.co.faspay.snap.tracker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff schedule for status polling.
+ * The n-th poll after the first waits {@code initialDelay * multiplier^n}, capped at
+ * the maximum delay, with up to 10% random jitter so polls for transfers created in
+ * the same burst spread out. Tracking gives up once the maximum wait has passed.
+ */
+public class PollingPolicy {
+    private static final double JITTER = 0.1;
+
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final long maxWaitMillis;
+
+    /**
+     * Creates a new policy.
+     *
+     * @param initialDelayMillis The delay before the first poll, in milliseconds
+     * @param maxDelayMillis The longest delay between two polls, in milliseconds
+     * @param multiplier The factor applied to the delay after each poll
+     * @param maxWaitMillis How long to keep polling before giving up, in milliseconds
+     */
+    public PollingPolicy(long initialDelayMillis, long maxDelayMillis, double multiplier, long maxWaitMillis) {
+        if (initialDelayMillis < 1) {
+            throw new IllegalArgumentException("initialDelayMillis must be positive");
+        }
+        if (maxDelayMillis < initialDelayMillis) {
+            throw new IllegalArgumentException("maxDelayMillis must not be less than initialDelayMillis");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        if (maxWaitMillis < 1) {
+            throw new IllegalArgumentException("maxWaitMillis must be positive");
+        }
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.multiplier = multiplier;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Creates the default policy: first poll after 2 seconds, doubling up to one minute
+     * between polls, for at most 30 minutes.
+     *
+     * @return The default policy
+     */
+    public static PollingPolicy defaults() {
+        return new PollingPolicy(2_000, 60_000, 2.0, 30 * 60_000);
+    }
+
+    /**
+     * Gets the delay before the given poll.
+     *
+     * @param attempt The number of polls already made
+     * @return The delay in milliseconds
+     */
+    public long delayMillis(int attempt) {
+        double delay = Math.min(maxDelayMillis, initialDelayMillis * Math.pow(multiplier, attempt));
+        double jitter = 1.0 - JITTER + 2 * JITTER * ThreadLocalRandom.current().nextDouble();
+        return Math.max(1, (long) (delay * jitter));
+    }
+
+    /**
+     * Gets the delay before the first poll.
+     *
+     * @return The initial delay in milliseconds
+     */
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * Gets the longest delay between two polls.
+     *
+     * @return The maximum delay in milliseconds
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Gets the factor applied to the delay after each poll.
+     *
+     * @return The multiplier
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Gets how long to keep polling before giving up.
+     *
+     * @return The maximum wait in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PollingPolicy{" +
+                "initialDelayMillis=" + initialDelayMillis +
+                ", maxDelayMillis=" + maxDelayMillis +
+                ", multiplier=" + multiplier +
+                ", maxWaitMillis=" + maxWaitMillis +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package id.co.faspay.snap.tracker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free rate limiter based on the generic cell rate algorithm (GCRA), which is
+ * equivalent to a token bucket but keeps a single timestamp instead of a token count.
+ * Callers never block; a denied caller is told how long to wait.
+ */
+final class RateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param permitsPerSecond The sustained rate
+     * @param burst The number of permits that may be taken at once after an idle period
+     */
+    RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = (burst - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return 0 if a permit was taken, otherwise the nanoseconds until the next permit
+     */
+    long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long base = arrival - now > 0 ? arrival : now;
+            long wait = base - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
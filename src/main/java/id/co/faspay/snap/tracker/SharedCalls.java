@@ -0,0 +1,113 @@
+package id.co.faspay.snap.tracker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Status calls in flight, keyed by {@code originalPartnerReferenceNo}. A call for a
+ * reference that already has one in flight joins it instead of sending another request;
+ * once a call completes, the next one for the reference is sent again.
+ *
+ * @param <T> The type of the status response
+ */
+final class SharedCalls<T> {
+    private final ConcurrentHashMap<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Gets the call in flight for a reference, or starts one.
+     *
+     * @param reference The reference of the transaction
+     * @param call Sends the status request; only invoked if no call is in flight
+     * @return The shared future of the call; callers that hand it out should {@link #relay} it
+     */
+    CompletableFuture<T> call(String reference, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> shared = inFlight.get(reference);
+        if (shared != null) {
+            coalesced.increment();
+            return shared;
+        }
+        CompletableFuture<T> created = new CompletableFuture<>();
+        shared = inFlight.putIfAbsent(reference, created);
+        if (shared != null) {
+            coalesced.increment();
+            return shared;
+        }
+
+        calls.increment();
+        CompletableFuture<T> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = failed(e);
+        }
+        response.whenComplete((value, error) -> {
+            // Leave the map first so a lookup arriving after completion starts a fresh call
+            inFlight.remove(reference, created);
+            if (error != null) {
+                created.completeExceptionally(unwrap(error));
+            } else {
+                created.complete(value);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Checks if a call for a reference is in flight.
+     *
+     * @param reference The reference of the transaction
+     * @return True if a new call for the reference would join one in flight
+     */
+    boolean isInFlight(String reference) {
+        return inFlight.containsKey(reference);
+    }
+
+    /**
+     * Gets the number of calls sent.
+     *
+     * @return The number of calls
+     */
+    long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * Gets the number of calls that joined one already in flight.
+     *
+     * @return The number of coalesced calls
+     */
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Gives each caller its own future, so one caller cancelling or completing it
+     * does not affect the others sharing the same call or schedule.
+     */
+    static <V> CompletableFuture<V> relay(CompletableFuture<V> shared) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        shared.whenComplete((value, error) -> {
+            if (error != null) {
+                own.completeExceptionally(unwrap(error));
+            } else {
+                own.complete(value);
+            }
+        });
+        return own;
+    }
+
+    static <V> CompletableFuture<V> failed(Throwable error) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
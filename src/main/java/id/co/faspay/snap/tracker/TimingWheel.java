@@ -0,0 +1,148 @@
+package id.co.faspay.snap.tracker;
+
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel that fires large numbers of delayed tasks from a single thread.
+ * Scheduling only appends to a lock-free queue; the wheel thread moves new tasks into
+ * their bucket on the next tick. Each tick fires the tasks of one bucket whose round
+ * count has reached zero, so the cost per tick does not depend on how far in the future
+ * the other tasks are. Due tasks are handed to an executor, never run on the wheel thread.
+ * Delays are rounded up to the tick duration.
+ */
+class TimingWheel implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] buckets;
+    private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final Thread thread;
+    private final long startNanos;
+
+    // Only touched by the wheel thread
+    private long tick;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates and starts a new wheel.
+     *
+     * @param threadName The name of the wheel thread
+     * @param tickMillis The tick duration in milliseconds
+     * @param wheelSize The number of buckets, rounded up to a power of two
+     * @param executor The executor that runs due tasks
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(String threadName, long tickMillis, int wheelSize, Executor executor) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("wheelSize must be at least 2");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = size - 1;
+        this.buckets = (ArrayDeque<Timeout>[]) new ArrayDeque<?>[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        this.startNanos = System.nanoTime();
+
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task The task to run
+     * @param delayMillis The delay in milliseconds
+     * @return False if the wheel is closed and the task was not scheduled
+     */
+    boolean schedule(Runnable task, long delayMillis) {
+        Objects.requireNonNull(task, "task must not be null");
+        if (closed) {
+            return false;
+        }
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        incoming.add(new Timeout(task, deadline));
+        return true;
+    }
+
+    /**
+     * Stops the wheel thread. Tasks that have not fired yet are discarded.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (!closed) {
+            long nextTick = (tick + 1) * tickNanos;
+            long sleep = nextTick - (System.nanoTime() - startNanos);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferIncoming();
+            fire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+        incoming.clear();
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            // Round up so a task never fires before its deadline
+            long ticks = Math.max(tick, (timeout.deadlineNanos + tickNanos - 1) / tickNanos);
+            timeout.remainingRounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void fire(ArrayDeque<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            try {
+                executor.execute(timeout.task);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Timing wheel executor rejected a task: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Timeout {
+        final Runnable task;
+        final long deadlineNanos;
+        long remainingRounds;
+
+        Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package id.co.faspay.snap.tracker;
+
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.CustomerTopupStatusRequest;
+import id.co.faspay.snap.model.CustomerTopupStatusResponse;
+import id.co.faspay.snap.service.CustomerTopupStatusService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks pending e-money topups until {@code latestTransactionStatus} reaches a final value.
+ * Works like {@link TransferStatusTracker}, with three additions for large bursts of topups:
+ * - Memory is bounded: pending topups live in preallocated parallel arrays indexed by a
+ *   64-bit hash of {@code originalPartnerReferenceNo}, so tracking allocates no per-entry
+ *   map nodes and the tracker refuses work beyond its capacity instead of growing.
+ * - Status calls are rate limited; a poll that finds no free permit is moved to the time
+ *   the next permit frees up instead of waiting on a thread.
+ * - The number of pending topups is kept per {@code platformCode}, so a slow wallet
+ *   provider shows up as a growing gauge.
+ * Duplicate tracks share one schedule and concurrent polls for the same reference share
+ * one API call.
+ */
+public class TopupStatusTracker implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TopupStatusTracker.class);
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final double DEFAULT_CALLS_PER_SECOND = 50;
+    private static final String UNKNOWN_PLATFORM = "UNKNOWN";
+
+    private final CustomerTopupStatusService statusService;
+    private final PollingPolicy policy;
+    private final TimingWheel wheel;
+    private final RateLimiter rateLimiter;
+    private final int capacity;
+
+    // Slot storage, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongIntIndex index;
+    private final String[] references;
+    private final CustomerTopupStatusRequest[] requests;
+    private final CompletableFuture<CustomerTopupStatusResponse>[] futures;
+    private final int[] platforms;
+    private final int[] attempts;
+    private final int[] generations;
+    private final long[] startedAt;
+    private final int[] freeSlots;
+    private int freeCount;
+    private final Map<String, Integer> platformIds = new HashMap<>();
+    private final List<String> platformCodes = new ArrayList<>();
+    private int[] pendingByPlatform = new int[8];
+
+    private final SharedCalls<CustomerTopupStatusResponse> calls = new SharedCalls<>();
+    private final LongAdder throttled = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new tracker with the default polling policy, room for 10,000 pending
+     * topups and at most 50 status calls per second.
+     *
+     * @param statusService The service used to query topup status
+     */
+    public TopupStatusTracker(CustomerTopupStatusService statusService) {
+        this(statusService, PollingPolicy.defaults(), DEFAULT_CAPACITY, DEFAULT_CALLS_PER_SECOND, null);
+    }
+
+    /**
+     * Creates a new tracker.
+     *
+     * @param statusService The service used to query topup status
+     * @param policy The polling schedule
+     * @param capacity The maximum number of pending topups
+     * @param maxCallsPerSecond The maximum rate of status calls
+     * @param pollExecutor The executor that signs and sends polls, or null for the common pool
+     */
+    @SuppressWarnings("unchecked")
+    public TopupStatusTracker(CustomerTopupStatusService statusService, PollingPolicy policy, int capacity,
+                              double maxCallsPerSecond, Executor pollExecutor) {
+        this.statusService = Objects.requireNonNull(statusService, "statusService must not be null");
+        this.policy = Objects.requireNonNull(policy, "policy must not be null");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.rateLimiter = new RateLimiter(maxCallsPerSecond, (int) Math.max(1, Math.ceil(maxCallsPerSecond)));
+
+        this.index = new LongIntIndex(capacity);
+        this.references = new String[capacity];
+        this.requests = new CustomerTopupStatusRequest[capacity];
+        this.futures = (CompletableFuture<CustomerTopupStatusResponse>[]) new CompletableFuture<?>[capacity];
+        this.platforms = new int[capacity];
+        this.attempts = new int[capacity];
+        this.generations = new int[capacity];
+        this.startedAt = new long[capacity];
+        this.freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        this.freeCount = capacity;
+
+        this.wheel = new TimingWheel("faspay-snap-topup-tracker", TICK_MILLIS, WHEEL_SIZE,
+                pollExecutor != null ? pollExecutor : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts tracking a pending topup.
+     * If the topup is already tracked, the existing schedule is shared.
+     *
+     * @param request The status request identifying the topup
+     * @param platformCode The e-wallet platform code of the topup, used for the pending gauges; may be null
+     * @return A future completed with the first final status response, or exceptionally with a
+     *         FaspaySnapApiException if no final status arrived within the policy's maximum wait
+     *         or the tracker is full
+     */
+    public CompletableFuture<CustomerTopupStatusResponse> track(CustomerTopupStatusRequest request, String platformCode) {
+        String reference = referenceOf(request);
+        long key = hash(reference);
+        CompletableFuture<CustomerTopupStatusResponse> future;
+        int slot;
+        int generation;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return SharedCalls.failed(new IllegalStateException("Topup status tracker is closed"));
+            }
+            int existing = index.get(key);
+            if (existing >= 0) {
+                if (!references[existing].equals(reference)) {
+                    return SharedCalls.failed(new IllegalStateException("Reference hash collision for " + reference));
+                }
+                return SharedCalls.relay(futures[existing]);
+            }
+            if (freeCount == 0) {
+                return SharedCalls.failed(new FaspaySnapApiException("Topup status tracker is full (" + capacity + " pending topups)"));
+            }
+
+            slot = freeSlots[--freeCount];
+            future = new CompletableFuture<>();
+            int platform = platformId(platformCode != null ? platformCode : UNKNOWN_PLATFORM);
+            index.put(key, slot);
+            references[slot] = reference;
+            requests[slot] = request;
+            futures[slot] = future;
+            platforms[slot] = platform;
+            attempts[slot] = 0;
+            startedAt[slot] = System.nanoTime();
+            generation = generations[slot];
+            pendingByPlatform[platform]++;
+        } finally {
+            lock.unlock();
+        }
+
+        logger.debug("Tracking pending topup {}", reference);
+        schedule(slot, generation, policy.delayMillis(0));
+        return SharedCalls.relay(future);
+    }
+
+    /**
+     * Queries the current status of a topup once. Lookups are not held back by the rate
+     * limit, which only paces the tracker's own polls. Concurrent lookups for the same
+     * reference, including the tracker's own polls, are answered by a single API call.
+     *
+     * @param request The status request identifying the topup
+     * @return A future completed with the status response
+     */
+    public CompletableFuture<CustomerTopupStatusResponse> lookup(CustomerTopupStatusRequest request) {
+        return SharedCalls.relay(sharedCall(referenceOf(request), request));
+    }
+
+    /**
+     * Completes a tracked topup from a status that arrived another way, such as a
+     * {@link id.co.faspay.snap.callback.CallbackReceiver} callback, so it needs no further polls.
+     * Statuses that are not final, or for topups that are not tracked, are ignored.
+     *
+     * @param response The status of the topup
+     * @return True if a tracked topup was completed
+     */
+    public boolean complete(CustomerTopupStatusResponse response) {
+        Objects.requireNonNull(response, "response must not be null");
+        String reference = response.getOriginalPartnerReferenceNo();
+        if (reference == null || !response.isTransactionFinal()) {
+            return false;
+        }
+        int slot;
+        int generation;
+        lock.lock();
+        try {
+            slot = index.get(hash(reference));
+            if (slot < 0 || !references[slot].equals(reference)) {
+                return false;
+            }
+            generation = generations[slot];
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Topup {} reached final status {} by notification", reference, response.getLatestTransactionStatus());
+        return finish(slot, generation, response, null);
+    }
+
+    /**
+     * Gets the number of topups being tracked.
+     *
+     * @return The number of pending topups
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return capacity - freeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of pending topups of one e-wallet platform.
+     *
+     * @param platformCode The platform code
+     * @return The number of pending topups of the platform
+     */
+    public int getPendingCount(String platformCode) {
+        lock.lock();
+        try {
+            Integer id = platformIds.get(platformCode);
+            return id != null ? pendingByPlatform[id] : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of pending topups per e-wallet platform. Topups tracked without
+     * a platform code are counted under {@code UNKNOWN}.
+     *
+     * @return A snapshot of the pending counts keyed by platform code
+     */
+    public Map<String, Integer> getPendingByPlatform() {
+        lock.lock();
+        try {
+            Map<String, Integer> snapshot = new HashMap<>();
+            for (int i = 0; i < platformCodes.size(); i++) {
+                snapshot.put(platformCodes.get(i), pendingByPlatform[i]);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of status API calls made.
+     *
+     * @return The number of calls
+     */
+    public long getCallCount() {
+        return calls.getCallCount();
+    }
+
+    /**
+     * Gets the number of lookups and polls that joined a call already in flight.
+     *
+     * @return The number of coalesced lookups
+     */
+    public long getCoalescedCount() {
+        return calls.getCoalescedCount();
+    }
+
+    /**
+     * Gets the number of polls postponed by the rate limit.
+     *
+     * @return The number of throttled polls
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Stops polling. Futures of topups still being tracked are cancelled.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<CustomerTopupStatusResponse>> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            closed = true;
+            for (int slot = 0; slot < capacity; slot++) {
+                if (futures[slot] != null) {
+                    pending.add(futures[slot]);
+                    release(slot);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        wheel.close();
+        for (CompletableFuture<CustomerTopupStatusResponse> future : pending) {
+            future.completeExceptionally(new CancellationException("Topup status tracker closed"));
+        }
+    }
+
+    private void schedule(int slot, int generation, long delayMillis) {
+        if (!wheel.schedule(() -> poll(slot, generation), delayMillis)) {
+            finish(slot, generation, null, new CancellationException("Topup status tracker closed"));
+        }
+    }
+
+    private void poll(int slot, int generation) {
+        CustomerTopupStatusRequest request;
+        String reference;
+        lock.lock();
+        try {
+            if (generations[slot] != generation || futures[slot] == null) {
+                return;
+            }
+            request = requests[slot];
+            reference = references[slot];
+        } finally {
+            lock.unlock();
+        }
+
+        // Joining a call in flight costs nothing; anything else needs a permit
+        if (!calls.isInFlight(reference)) {
+            long waitNanos = rateLimiter.tryAcquire();
+            if (waitNanos > 0) {
+                throttled.increment();
+                schedule(slot, generation, Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+                return;
+            }
+        }
+
+        sharedCall(reference, request).whenComplete((response, error) -> onPollResult(slot, generation, reference, response, error));
+    }
+
+    private void onPollResult(int slot, int generation, String reference, CustomerTopupStatusResponse response, Throwable error) {
+        if (error == null && response.isSuccess() && response.isTransactionFinal()) {
+            logger.debug("Topup {} reached final status {}", reference, response.getLatestTransactionStatus());
+            finish(slot, generation, response, null);
+            return;
+        }
+        if (error != null) {
+            logger.warn("Status poll for topup {} failed: {}", reference, error.getMessage());
+        }
+
+        int attempt;
+        long waitedMillis;
+        lock.lock();
+        try {
+            if (generations[slot] != generation || futures[slot] == null) {
+                return;
+            }
+            attempt = ++attempts[slot];
+            waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt[slot]);
+        } finally {
+            lock.unlock();
+        }
+
+        if (waitedMillis >= policy.getMaxWaitMillis()) {
+            finish(slot, generation, null, new FaspaySnapApiException(
+                    "Topup " + reference + " did not reach a final status within " + waitedMillis + " ms"));
+            return;
+        }
+        schedule(slot, generation, Math.min(policy.delayMillis(attempt), policy.getMaxWaitMillis() - waitedMillis));
+    }
+
+    private boolean finish(int slot, int generation, CustomerTopupStatusResponse response, Throwable error) {
+        CompletableFuture<CustomerTopupStatusResponse> future;
+        lock.lock();
+        try {
+            if (generations[slot] != generation || futures[slot] == null) {
+                return false;
+            }
+            future = futures[slot];
+            release(slot);
+        } finally {
+            lock.unlock();
+        }
+        if (error != null) {
+            return future.completeExceptionally(error);
+        }
+        return future.complete(response);
+    }
+
+    // Must hold lock
+    private void release(int slot) {
+        index.remove(hash(references[slot]));
+        pendingByPlatform[platforms[slot]]--;
+        references[slot] = null;
+        requests[slot] = null;
+        futures[slot] = null;
+        // Invalidates timing wheel tasks still pointing at this slot
+        generations[slot]++;
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Must hold lock
+    private int platformId(String platformCode) {
+        Integer id = platformIds.get(platformCode);
+        if (id == null) {
+            id = platformCodes.size();
+            platformIds.put(platformCode, id);
+            platformCodes.add(platformCode);
+            if (id == pendingByPlatform.length) {
+                pendingByPlatform = Arrays.copyOf(pendingByPlatform, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private CompletableFuture<CustomerTopupStatusResponse> sharedCall(String reference, CustomerTopupStatusRequest request) {
+        return calls.call(reference, () -> statusService.statusAsync(request));
+    }
+
+    private static String referenceOf(CustomerTopupStatusRequest request) {
+        Objects.requireNonNull(request, "request must not be null");
+        return Objects.requireNonNull(request.getOriginalPartnerReferenceNo(), "originalPartnerReferenceNo must not be null");
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the reference's characters.
+     */
+    private static long hash(String reference) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < reference.length(); i++) {
+            h ^= reference.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,223 @@
+package id.co.faspay.snap.tracker;
+
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+import id.co.faspay.snap.model.StatusTransferRequest;
+import id.co.faspay.snap.model.StatusTransferResponse;
+import id.co.faspay.snap.service.TransferStatusService;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks pending interbank transfers until they reach a final status.
+ * Pending transfers are polled through {@link TransferStatusService} on a timing wheel
+ * with exponential backoff, instead of each caller running its own polling loop.
+ * Everything is keyed by {@code originalPartnerReferenceNo}: tracking the same transfer
+ * twice shares one schedule, and lookups for a reference that already has a status
+ * call in flight join that call instead of sending another one.
+ */
+public class TransferStatusTracker implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TransferStatusTracker.class);
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    private final TransferStatusService statusService;
+    private final PollingPolicy policy;
+    private final TimingWheel wheel;
+
+    private final ConcurrentHashMap<String, Tracked> tracked = new ConcurrentHashMap<>();
+    private final SharedCalls<StatusTransferResponse> calls = new SharedCalls<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new tracker with the default polling policy.
+     *
+     * @param statusService The service used to query transfer status
+     */
+    public TransferStatusTracker(TransferStatusService statusService) {
+        this(statusService, PollingPolicy.defaults(), null);
+    }
+
+    /**
+     * Creates a new tracker.
+     *
+     * @param statusService The service used to query transfer status
+     * @param policy The polling schedule
+     * @param pollExecutor The executor that signs and sends polls, or null for the common pool
+     */
+    public TransferStatusTracker(TransferStatusService statusService, PollingPolicy policy, Executor pollExecutor) {
+        this.statusService = Objects.requireNonNull(statusService, "statusService must not be null");
+        this.policy = Objects.requireNonNull(policy, "policy must not be null");
+        this.wheel = new TimingWheel("faspay-snap-transfer-tracker", TICK_MILLIS, WHEEL_SIZE,
+                pollExecutor != null ? pollExecutor : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts tracking a pending transfer.
+     * If the transfer is already tracked, the existing schedule is shared.
+     *
+     * @param request The status request identifying the transfer
+     * @return A future completed with the first final status response, or exceptionally with a
+     *         FaspaySnapApiException if no final status arrived within the policy's maximum wait
+     */
+    public CompletableFuture<StatusTransferResponse> track(StatusTransferRequest request) {
+        String reference = referenceOf(request);
+        if (closed) {
+            return SharedCalls.failed(new IllegalStateException("Transfer status tracker is closed"));
+        }
+
+        Tracked entry = new Tracked(request);
+        Tracked existing = tracked.putIfAbsent(reference, entry);
+        if (existing != null) {
+            return SharedCalls.relay(existing.future);
+        }
+
+        logger.debug("Tracking pending transfer {}", reference);
+        schedule(entry, policy.delayMillis(0));
+        return SharedCalls.relay(entry.future);
+    }
+
+    /**
+     * Queries the current status of a transfer once.
+     * Concurrent lookups for the same reference, including the tracker's own polls,
+     * are answered by a single API call.
+     *
+     * @param request The status request identifying the transfer
+     * @return A future completed with the status response
+     */
+    public CompletableFuture<StatusTransferResponse> lookup(StatusTransferRequest request) {
+        return SharedCalls.relay(sharedLookup(referenceOf(request), request));
+    }
+
+    /**
+     * Completes a tracked transfer from a status that arrived another way, such as a
+     * {@link id.co.faspay.snap.callback.CallbackReceiver} callback, so it needs no further polls.
+     * Statuses that are not final, or for transfers that are not tracked, are ignored.
+     *
+     * @param response The status of the transfer
+     * @return True if a tracked transfer was completed
+     */
+    public boolean complete(StatusTransferResponse response) {
+        Objects.requireNonNull(response, "response must not be null");
+        String reference = response.getOriginalPartnerReferenceNo();
+        if (reference == null || !response.isTransactionFinal()) {
+            return false;
+        }
+        Tracked entry = tracked.remove(reference);
+        if (entry == null) {
+            return false;
+        }
+        logger.debug("Transfer {} reached final status {} by notification", reference, response.getLatestTransactionStatus());
+        return entry.future.complete(response);
+    }
+
+    /**
+     * Gets the number of transfers being tracked.
+     *
+     * @return The number of pending transfers
+     */
+    public int getPendingCount() {
+        return tracked.size();
+    }
+
+    /**
+     * Gets the number of status API calls made.
+     *
+     * @return The number of calls
+     */
+    public long getCallCount() {
+        return calls.getCallCount();
+    }
+
+    /**
+     * Gets the number of lookups and polls that joined a call already in flight.
+     *
+     * @return The number of coalesced lookups
+     */
+    public long getCoalescedCount() {
+        return calls.getCoalescedCount();
+    }
+
+    /**
+     * Stops polling. Futures of transfers still being tracked are cancelled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        wheel.close();
+        for (Tracked entry : tracked.values()) {
+            entry.future.completeExceptionally(new CancellationException("Transfer status tracker closed"));
+        }
+        tracked.clear();
+    }
+
+    private CompletableFuture<StatusTransferResponse> sharedLookup(String reference, StatusTransferRequest request) {
+        return calls.call(reference, () -> statusService.statusAsync(request));
+    }
+
+    private void schedule(Tracked entry, long delayMillis) {
+        if (!wheel.schedule(() -> poll(entry), delayMillis)) {
+            tracked.remove(referenceOf(entry.request), entry);
+            entry.future.completeExceptionally(new CancellationException("Transfer status tracker closed"));
+        }
+    }
+
+    private void poll(Tracked entry) {
+        String reference = referenceOf(entry.request);
+        if (closed || entry.future.isDone()) {
+            tracked.remove(reference, entry);
+            return;
+        }
+
+        entry.attempts++;
+        sharedLookup(reference, entry.request).whenComplete((response, error) -> {
+            if (error == null && response.isSuccess() && response.isTransactionFinal()) {
+                tracked.remove(reference, entry);
+                logger.debug("Transfer {} reached final status {} after {} polls", reference,
+                        response.getLatestTransactionStatus(), entry.attempts);
+                entry.future.complete(response);
+                return;
+            }
+            if (error != null) {
+                logger.warn("Status poll for transfer {} failed: {}", reference, error.getMessage());
+            }
+
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.startedAt);
+            if (waitedMillis >= policy.getMaxWaitMillis()) {
+                tracked.remove(reference, entry);
+                entry.future.completeExceptionally(new FaspaySnapApiException(
+                        "Transfer " + reference + " did not reach a final status within " + waitedMillis + " ms"));
+                return;
+            }
+            schedule(entry, Math.min(policy.delayMillis(entry.attempts), policy.getMaxWaitMillis() - waitedMillis));
+        });
+    }
+
+    private static String referenceOf(StatusTransferRequest request) {
+        Objects.requireNonNull(request, "request must not be null");
+        return Objects.requireNonNull(request.getOriginalPartnerReferenceNo(), "originalPartnerReferenceNo must not be null");
+    }
+
+    /**
+     * A transfer being tracked. Polls of one transfer never overlap, so the attempt
+     * counter is only touched by one thread at a time.
+     */
+    private static final class Tracked {
+        final StatusTransferRequest request;
+        final CompletableFuture<StatusTransferResponse> future = new CompletableFuture<>();
+        final long startedAt = System.nanoTime();
+        volatile int attempts;
+
+        Tracked(StatusTransferRequest request) {
+            this.request = request;
+        }
+    }
+}
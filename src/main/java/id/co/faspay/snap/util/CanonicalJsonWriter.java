@@ -0,0 +1,128 @@
+package id.co.faspay.snap.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Writes request objects as minified UTF-8 JSON in a single pass.
+ * The output lands in a per-thread buffer that is reused between calls, so the
+ * same bytes can be hashed for the signature and sent as the request body
+ * without intermediate Strings.
+ */
+public class CanonicalJsonWriter {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final ClassValue<ObjectWriter> writers;
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(() -> new Buffer(INITIAL_CAPACITY));
+
+    /**
+     * Creates a new writer using the per-type writers of {@link JsonCodecs}, whose
+     * serializers are already resolved.
+     */
+    public CanonicalJsonWriter() {
+        this(JsonCodecs.mapper());
+    }
+
+    /**
+     * Creates a new writer using the configuration of the given mapper.
+     * Indentation is always disabled so the output is already in canonical form.
+     *
+     * @param mapper The mapper providing serializers and modules
+     */
+    public CanonicalJsonWriter(ObjectMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper must not be null");
+        boolean shared = mapper == JsonCodecs.mapper();
+        // One writer per class, so the root serializer is looked up once rather than per call
+        this.writers = new ClassValue<ObjectWriter>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                ObjectWriter writer = shared ? JsonCodecs.writerFor(type) : mapper.writerFor(type);
+                return writer.without(SerializationFeature.INDENT_OUTPUT);
+            }
+        };
+    }
+
+    /**
+     * Serializes the value into this thread's buffer.
+     * The returned buffer is only valid until the next call to this method on the same thread.
+     * On virtual threads a new buffer is returned for each call.
+     *
+     * @param value The value to serialize
+     * @return The buffer holding the minified JSON bytes
+     * @throws IOException If the value cannot be serialized
+     */
+    public Buffer write(Object value) throws IOException {
+        ObjectWriter writer = writers.get(value != null ? value.getClass() : Object.class);
+        if (VirtualThreads.isCurrentThreadVirtual()) {
+            // Virtual threads are short-lived and rarely reused, so a thread-local buffer would
+            // only populate a new ThreadLocalMap per call; a fresh buffer is cheaper
+            Buffer buffer = new Buffer(INITIAL_CAPACITY);
+            writer.writeValue(buffer, value);
+            return buffer;
+        }
+        Buffer buffer = buffers.get();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            // Don't pin a huge array to the thread after one oversized payload
+            buffer = new Buffer(INITIAL_CAPACITY);
+            buffers.set(buffer);
+        }
+        buffer.reset();
+        writer.writeValue(buffer, value);
+        return buffer;
+    }
+
+    /**
+     * Growable byte buffer that exposes its backing array to avoid copies.
+     */
+    public static class Buffer extends ByteArrayOutputStream {
+
+        Buffer(int capacity) {
+            super(capacity);
+        }
+
+        /**
+         * Gets the backing array. Only the first {@link #size()} bytes are valid.
+         *
+         * @return The backing array
+         */
+        public byte[] array() {
+            return buf;
+        }
+
+        /**
+         * Gets the size of the backing array.
+         *
+         * @return The capacity in bytes
+         */
+        public int capacity() {
+            return buf.length;
+        }
+
+        /**
+         * Copies the valid bytes into a new array that stays stable after the buffer is reused.
+         *
+         * @return A copy of the JSON bytes
+         */
+        public byte[] copy() {
+            return Arrays.copyOf(buf, count);
+        }
+
+        /**
+         * Decodes the buffer as UTF-8. Only used for logging.
+         *
+         * @return The JSON as a String
+         */
+        @Override
+        public String toString() {
+            return new String(buf, 0, count, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package id.co.faspay.snap.util;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates {@code X-EXTERNAL-ID} values that are unique across threads and, given
+ * distinct node IDs, across processes sharing a partner ID. An ID is the partner ID,
+ * the three-digit node ID and a 16-digit sequence. The sequence starts from the wall
+ * clock in microseconds and is advanced with a single atomic update, so concurrent
+ * callers never see the same value. Bursts of more than 1000 IDs per millisecond borrow
+ * from the following milliseconds instead of repeating, and a restarted process resumes
+ * above the values it issued unless it sustained such bursts until the restart.
+ * Instances are thread-safe; an ID costs one atomic update and the returned String.
+ */
+public final class ExternalIdGenerator {
+
+    /**
+     * The largest node ID; node IDs are written as three digits.
+     */
+    public static final int MAX_NODE_ID = 999;
+
+    private final String partnerId;
+    private final String prefix;
+    private final int nodeId;
+    private final AtomicLong sequence;
+
+    /**
+     * Creates a generator for the given partner and node.
+     *
+     * @param partnerId The partner ID that prefixes every ID
+     * @param nodeId The node ID, between 0 and {@link #MAX_NODE_ID}, unique among the
+     *               processes that send requests with this partner ID
+     * @throws IllegalArgumentException If the node ID is out of range
+     */
+    public ExternalIdGenerator(String partnerId, int nodeId) {
+        this(partnerId, nodeId, new AtomicLong());
+    }
+
+    private ExternalIdGenerator(String partnerId, int nodeId, AtomicLong sequence) {
+        this.partnerId = Objects.requireNonNull(partnerId, "partnerId must not be null");
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.prefix = String.format("%s%03d", partnerId, nodeId);
+        this.sequence = sequence;
+    }
+
+    /**
+     * Creates a generator for another node ID that shares this generator's sequence. A
+     * fresh generator could repeat the values this one borrowed ahead of the clock when
+     * the node ID is set back to one used before; a shared sequence never does, even while
+     * callers still hold this generator.
+     *
+     * @param nodeId The node ID, between 0 and {@link #MAX_NODE_ID}
+     * @return The generator for the node
+     * @throws IllegalArgumentException If the node ID is out of range
+     */
+    public ExternalIdGenerator withNodeId(int nodeId) {
+        return new ExternalIdGenerator(partnerId, nodeId, sequence);
+    }
+
+    /**
+     * Picks a random node ID, for processes that are not assigned one.
+     * Two processes pick the same one with a probability of 1 in 1000.
+     *
+     * @return A node ID between 0 and {@link #MAX_NODE_ID}
+     */
+    public static int randomNodeId() {
+        return new SecureRandom().nextInt(MAX_NODE_ID + 1);
+    }
+
+    /**
+     * Generates the next external ID.
+     *
+     * @return The external ID
+     */
+    public String next() {
+        long now = System.currentTimeMillis() * 1000;
+        // The concatenation is sized up front and writes the digits straight into the result
+        return prefix + sequence.accumulateAndGet(now, (last, floor) -> Math.max(last + 1, floor));
+    }
+
+    /**
+     * Gets the node ID written into every ID.
+     *
+     * @return The node ID
+     */
+    public int getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,155 @@
+package id.co.faspay.snap.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.co.faspay.snap.model.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Shared JSON configuration with pre-built {@link ObjectWriter} and {@link ObjectReader}
+ * instances for every model class.
+ * Building a mapper and introspecting a class is expensive, so this happens once, when this
+ * class is initialized: the readers and writers are created with their root serializers and
+ * deserializers already resolved, and the resulting registry is never modified afterwards.
+ * Readers and writers are immutable and thread-safe. The HTTP client, the callback receiver
+ * and the models' {@code toString()} all use this registry.
+ */
+public final class JsonCodecs {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final Class<?>[] MODEL_TYPES = {
+            AccountInquiryRequest.class, AccountInquiryResponse.class,
+            TransferInterbankRequest.class, TransferInterbankResponse.class,
+            StatusTransferRequest.class, StatusTransferResponse.class,
+            InquiryBalanceRequest.class, InquiryBalanceResponse.class,
+            HistoryListRequest.class, HistoryListResponse.class,
+            HistoryListResponse.DetailData.class, HistoryListResponse.AdditionalInfo.class,
+            CustomerTopupRequest.class, CustomerTopupResponse.class,
+            CustomerTopupStatusRequest.class, CustomerTopupStatusResponse.class,
+            BillPaymentRequest.class, BillPaymentResponse.class,
+            BillInquiryRequest.class, BillInquiryResponse.class,
+            Amount.class
+    };
+
+    private static final Map<Class<?>, ObjectWriter> WRITERS;
+    private static final Map<Class<?>, ObjectWriter> PRETTY_WRITERS;
+    private static final Map<Class<?>, ObjectReader> READERS;
+
+    static {
+        Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+        Map<Class<?>, ObjectWriter> prettyWriters = new HashMap<>();
+        Map<Class<?>, ObjectReader> readers = new HashMap<>();
+        for (Class<?> type : MODEL_TYPES) {
+            // writerFor/readerFor resolve the root serializer and deserializer eagerly
+            ObjectWriter writer = MAPPER.writerFor(type);
+            writers.put(type, writer);
+            prettyWriters.put(type, writer.withDefaultPrettyPrinter());
+            readers.put(type, MAPPER.readerFor(type));
+        }
+        WRITERS = Collections.unmodifiableMap(writers);
+        PRETTY_WRITERS = Collections.unmodifiableMap(prettyWriters);
+        READERS = Collections.unmodifiableMap(readers);
+    }
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * Runs every registered reader and writer once, on an empty instance of its model.
+     * Resolving the root serializers leaves the serializers of nested properties and the
+     * generated property accessors to the first real use; this call pays for them up front.
+     * Called when a client is created, so the first request does not pay for them.
+     *
+     * @return The number of model classes that were written and read back
+     */
+    public static int warmUp() {
+        int warmed = 0;
+        for (Class<?> type : MODEL_TYPES) {
+            try {
+                Object empty = type.getDeclaredConstructor().newInstance();
+                byte[] json = WRITERS.get(type).writeValueAsBytes(empty);
+                READERS.get(type).readValue(json);
+                warmed++;
+            } catch (ReflectiveOperationException | IOException | RuntimeException e) {
+                // A model that cannot be created empty is simply warmed by its first use
+            }
+        }
+        return warmed;
+    }
+
+    /**
+     * Gets the shared mapper behind the registry.
+     * The mapper is shared by every client in the JVM and must not be reconfigured.
+     *
+     * @return The shared mapper
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Gets the writer for a type.
+     *
+     * @param type The type to write
+     * @return The registered writer, or a new writer from the shared mapper for unregistered types
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        ObjectWriter writer = WRITERS.get(Objects.requireNonNull(type, "type must not be null"));
+        return writer != null ? writer : MAPPER.writerFor(type);
+    }
+
+    /**
+     * Gets the indenting writer for a type.
+     *
+     * @param type The type to write
+     * @return The registered writer, or a new writer from the shared mapper for unregistered types
+     */
+    public static ObjectWriter prettyWriterFor(Class<?> type) {
+        ObjectWriter writer = PRETTY_WRITERS.get(Objects.requireNonNull(type, "type must not be null"));
+        return writer != null ? writer : MAPPER.writerFor(type).withDefaultPrettyPrinter();
+    }
+
+    /**
+     * Gets the reader for a type.
+     *
+     * @param type The type to read
+     * @return The registered reader, or a new reader from the shared mapper for unregistered types
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        ObjectReader reader = READERS.get(Objects.requireNonNull(type, "type must not be null"));
+        return reader != null ? reader : MAPPER.readerFor(type);
+    }
+
+    /**
+     * Writes a value as compact JSON with the writer registered for its class.
+     *
+     * @param value The value to write
+     * @return The JSON string
+     * @throws JsonProcessingException If the value cannot be serialized
+     */
+    public static String toJson(Object value) throws JsonProcessingException {
+        return writerFor(value.getClass()).writeValueAsString(value);
+    }
+
+    /**
+     * Writes a value as indented JSON with the writer registered for its class.
+     *
+     * @param value The value to write
+     * @return The JSON string
+     * @throws JsonProcessingException If the value cannot be serialized
+     */
+    public static String toPrettyJson(Object value) throws JsonProcessingException {
+        return prettyWriterFor(value.getClass()).writeValueAsString(value);
+    }
+}
@@ -0,0 +1,97 @@
+package id.co.faspay.snap.util;
+
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * SHA256withRSA signer bound to a single private key.
+ * The PEM key is parsed once on construction and initialized {@link Signature}
+ * instances are recycled through a lock-free pool, so signing a request is only
+ * hash + RSA. The pool is not tied to threads, which keeps reuse effective when
+ * requests run on short-lived virtual threads. Instances are thread-safe.
+ */
+public class RsaSigner {
+    private static final Logger logger = LoggerFactory.getLogger(RsaSigner.class);
+    private static final String RSA_SHA256 = "SHA256withRSA";
+
+    private final PrivateKey privateKey;
+    // Grows to the peak number of concurrent signers; signing is CPU-bound, so that stays small
+    private final ConcurrentLinkedQueue<Signature> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new signer for the given PEM encoded private key.
+     *
+     * @param privateKeyPem The private key in PKCS#1 or PKCS#8 PEM format
+     * @throws IllegalStateException If the key cannot be parsed
+     */
+    public RsaSigner(String privateKeyPem) {
+        Objects.requireNonNull(privateKeyPem, "privateKeyPem must not be null");
+        try {
+            this.privateKey = SignatureUtil.loadPrivateKey(privateKeyPem);
+        } catch (Exception e) {
+            logger.error("Error loading private key: {}", e.getMessage());
+            throw new IllegalStateException("Error loading private key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Signs the given string with SHA256withRSA.
+     *
+     * @param stringToSign The string to sign
+     * @return The Base64 encoded signature
+     */
+    public String sign(String stringToSign) {
+        return sign(stringToSign.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Signs the given bytes with SHA256withRSA.
+     *
+     * @param data The bytes to sign
+     * @return The Base64 encoded signature
+     */
+    public String sign(byte[] data) {
+        Signature signature = idle.poll();
+        if (signature == null) {
+            signature = newSignature();
+        }
+        try {
+            // sign() resets the instance to its initialized state, ready for the next call
+            signature.update(data);
+            String encoded = Base64.getEncoder().encodeToString(signature.sign());
+            idle.offer(signature);
+            return encoded;
+        } catch (GeneralSecurityException e) {
+            // Don't return an instance in an unknown state to the pool
+            logger.error("Error generating RSA signature: {}", e.getMessage());
+            throw new IllegalStateException("Error generating RSA signature: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the parsed private key.
+     *
+     * @return The private key
+     */
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    Signature newSignature() {
+        try {
+            Signature signature = Signature.getInstance(RSA_SHA256);
+            signature.initSign(privateKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error initializing RSA signature: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package id.co.faspay.snap.util;
+
+import id.co.faspay.snap.client.Deadline;
+import id.co.faspay.snap.exception.DeadlineExceededException;
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated threads that sign with SHA256withRSA on behalf of other threads, so that the
+ * RSA work of a request does not run on the I/O or event-loop thread that issued it, and
+ * the CPU spent signing is bounded by the number of workers. Signing requests go into one
+ * queue; each worker owns a {@link Signature} instance and takes every request waiting
+ * when it wakes, up to a batch limit, before blocking again. Callers get a future that the
+ * worker completes; stages attached without an executor run on the worker thread and
+ * should be short. A request whose future is already done (for example cancelled by a
+ * caller that stopped waiting) or whose deadline has passed is not signed. Instances are
+ * thread-safe.
+ */
+public class RsaSigningPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RsaSigningPool.class);
+    private static final int MAX_BATCH = 32;
+
+    private final RsaSigner signer;
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final Thread[] workers;
+    private final LongAdder signedCount = new LongAdder();
+    private final LongAdder signNanos = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool with one worker per available processor.
+     *
+     * @param signer The signer holding the private key
+     */
+    public RsaSigningPool(RsaSigner signer) {
+        this(signer, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a pool and starts its workers.
+     *
+     * @param signer The signer holding the private key
+     * @param threads The number of worker threads
+     * @throws IllegalArgumentException If threads is not positive
+     */
+    public RsaSigningPool(RsaSigner signer, int threads) {
+        this.signer = Objects.requireNonNull(signer, "signer must not be null");
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            // Created here, so a key that cannot be used fails the pool instead of every request
+            Signature signature = signer.newSignature();
+            Thread worker = new Thread(() -> work(signature), "faspay-snap-sign-" + (i + 1));
+            worker.setDaemon(true);
+            workers[i] = worker;
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Signs the given string with SHA256withRSA on a worker thread.
+     *
+     * @param stringToSign The string to sign
+     * @return A future completed with the Base64 encoded signature, or exceptionally with an
+     *         IllegalStateException if signing fails or a RejectedExecutionException if the
+     *         pool is closed
+     */
+    public CompletableFuture<String> sign(String stringToSign) {
+        return sign(stringToSign, null);
+    }
+
+    /**
+     * Signs the given string with SHA256withRSA on a worker thread, unless the deadline
+     * passes while the request waits for a worker.
+     *
+     * @param stringToSign The string to sign
+     * @param deadline The deadline of the call the signature is for, or null for none
+     * @return A future completed with the Base64 encoded signature, or exceptionally with an
+     *         IllegalStateException if signing fails, a DeadlineExceededException if the
+     *         deadline passed before a worker took the request, or a RejectedExecutionException
+     *         if the pool is closed
+     */
+    public CompletableFuture<String> sign(String stringToSign, Deadline deadline) {
+        return sign(stringToSign.getBytes(StandardCharsets.UTF_8), deadline);
+    }
+
+    /**
+     * Signs the given bytes with SHA256withRSA on a worker thread.
+     *
+     * @param data The bytes to sign
+     * @return A future completed with the Base64 encoded signature, or exceptionally with an
+     *         IllegalStateException if signing fails or a RejectedExecutionException if the
+     *         pool is closed
+     */
+    public CompletableFuture<String> sign(byte[] data) {
+        return sign(data, null);
+    }
+
+    /**
+     * Signs the given bytes with SHA256withRSA on a worker thread, unless the deadline
+     * passes while the request waits for a worker.
+     *
+     * @param data The bytes to sign
+     * @param deadline The deadline of the call the signature is for, or null for none
+     * @return A future completed with the Base64 encoded signature, or exceptionally with an
+     *         IllegalStateException if signing fails, a DeadlineExceededException if the
+     *         deadline passed before a worker took the request, or a RejectedExecutionException
+     *         if the pool is closed
+     */
+    public CompletableFuture<String> sign(byte[] data, Deadline deadline) {
+        Objects.requireNonNull(data, "data must not be null");
+        Task task = new Task(data, deadline);
+        if (closed) {
+            task.future.completeExceptionally(new RejectedExecutionException("RSA signing pool is closed"));
+            return task.future;
+        }
+        queue.add(task);
+        // A task added while the pool was closing may have missed the final drain
+        if (closed && queue.remove(task)) {
+            task.future.completeExceptionally(new RejectedExecutionException("RSA signing pool is closed"));
+        }
+        return task.future;
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return The number of workers
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Gets the number of signing requests waiting for a worker.
+     *
+     * @return The queue length
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of signatures produced.
+     *
+     * @return The number of signatures
+     */
+    public long getSignedCount() {
+        return signedCount.sum();
+    }
+
+    /**
+     * Gets the total time workers spent signing.
+     *
+     * @return The signing time in nanoseconds
+     */
+    public long getSignNanos() {
+        return signNanos.sum();
+    }
+
+    /**
+     * Gets the total time signing requests waited in the queue.
+     *
+     * @return The queueing time in nanoseconds
+     */
+    public long getQueueNanos() {
+        return queueNanos.sum();
+    }
+
+    /**
+     * Stops the workers. Requests still queued fail with a RejectedExecutionException;
+     * signatures in progress are completed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        Task task;
+        while ((task = queue.poll()) != null) {
+            task.future.completeExceptionally(new RejectedExecutionException("RSA signing pool is closed"));
+        }
+    }
+
+    private void work(Signature initial) {
+        Signature signature = initial;
+        List<Task> batch = new ArrayList<>(MAX_BATCH);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            for (Task task : batch) {
+                long start = System.nanoTime();
+                queueNanos.add(start - task.queuedAt);
+                if (task.future.isDone()) {
+                    // The caller stopped waiting
+                    continue;
+                }
+                if (task.deadline != null && task.deadline.isExpired()) {
+                    task.future.completeExceptionally(new DeadlineExceededException(
+                            "Deadline exceeded waiting for a signing thread", false));
+                    continue;
+                }
+                try {
+                    // sign() resets the instance to its initialized state, ready for the next call
+                    signature.update(task.data);
+                    String encoded = Base64.getEncoder().encodeToString(signature.sign());
+                    signNanos.add(System.nanoTime() - start);
+                    signedCount.increment();
+                    task.future.complete(encoded);
+                } catch (GeneralSecurityException | RuntimeException e) {
+                    logger.error("Error generating RSA signature: {}", e.getMessage());
+                    task.future.completeExceptionally(new IllegalStateException("Error generating RSA signature: " + e.getMessage(), e));
+                    // Don't keep using an instance in an unknown state
+                    try {
+                        signature = signer.newSignature();
+                    } catch (IllegalStateException ise) {
+                        logger.error("Error replacing RSA signature instance: {}", ise.getMessage());
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private static final class Task {
+        final byte[] data;
+        final Deadline deadline;
+        final long queuedAt = System.nanoTime();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        Task(byte[] data, Deadline deadline) {
+            this.data = data;
+            this.deadline = deadline;
+        }
+    }
+}
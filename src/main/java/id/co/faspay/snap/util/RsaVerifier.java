@@ -0,0 +1,95 @@
+package id.co.faspay.snap.util;
+
+import id.co.faspay.snap.logging.Logger;
+import id.co.faspay.snap.logging.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * SHA256withRSA verifier bound to a single public key, the counterpart of {@link RsaSigner}
+ * for signatures made by Faspay. The PEM key is parsed once on construction and initialized
+ * {@link Signature} instances are recycled through a lock-free pool. Instances are thread-safe.
+ */
+public class RsaVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(RsaVerifier.class);
+    private static final String RSA_SHA256 = "SHA256withRSA";
+
+    private final PublicKey publicKey;
+    private final ConcurrentLinkedQueue<Signature> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new verifier for the given PEM encoded public key or certificate.
+     *
+     * @param publicKeyPem The public key in X.509 or PKCS#1 PEM format, or a PEM certificate
+     * @throws IllegalStateException If the key cannot be parsed
+     */
+    public RsaVerifier(String publicKeyPem) {
+        Objects.requireNonNull(publicKeyPem, "publicKeyPem must not be null");
+        try {
+            this.publicKey = SignatureUtil.loadPublicKey(publicKeyPem);
+        } catch (Exception e) {
+            logger.error("Error loading public key: {}", e.getMessage());
+            throw new IllegalStateException("Error loading public key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verifies a SHA256withRSA signature over the given string.
+     *
+     * @param signedString The string that was signed
+     * @param base64Signature The Base64 encoded signature
+     * @return True if the signature is valid; false if it is invalid or malformed
+     */
+    public boolean verify(String signedString, String base64Signature) {
+        if (signedString == null || base64Signature == null) {
+            return false;
+        }
+        byte[] signatureBytes;
+        try {
+            signatureBytes = Base64.getDecoder().decode(base64Signature.trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        Signature signature = idle.poll();
+        if (signature == null) {
+            signature = newSignature();
+        }
+        try {
+            // verify() resets the instance, even when it returns false
+            signature.update(signedString.getBytes(StandardCharsets.UTF_8));
+            boolean valid = signature.verify(signatureBytes);
+            idle.offer(signature);
+            return valid;
+        } catch (GeneralSecurityException e) {
+            // Malformed signature; don't return an instance in an unknown state to the pool
+            logger.debug("Error verifying RSA signature: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Gets the parsed public key.
+     *
+     * @return The public key
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    private Signature newSignature() {
+        try {
+            Signature signature = Signature.getInstance(RSA_SHA256);
+            signature.initVerify(publicKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error initializing RSA signature: " + e.getMessage(), e);
+        }
+    }
+}
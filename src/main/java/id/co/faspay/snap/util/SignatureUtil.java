@@ -10,11 +10,15 @@ import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
+import java.security.cert.CertificateFactory;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.RSAPrivateCrtKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 import java.util.regex.Pattern;
 
@@ -87,6 +91,32 @@ public class SignatureUtil {
         }
     }
 
+    public static PublicKey loadPublicKey(String pem) throws Exception {
+        pem = pem.replace("\r", "").trim();
+
+        if (pem.contains("-----BEGIN CERTIFICATE-----")) {
+            CertificateFactory factory = CertificateFactory.getInstance("X.509");
+            return factory.generateCertificate(new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII))).getPublicKey();
+        } else if (pem.contains("-----BEGIN RSA PUBLIC KEY-----")) {
+            String base64 = pem.replace("-----BEGIN RSA PUBLIC KEY-----", "")
+                    .replace("-----END RSA PUBLIC KEY-----", "")
+                    .replaceAll("\\s+", "");
+            byte[] keyBytes = Base64.getDecoder().decode(base64);
+            org.bouncycastle.asn1.pkcs.RSAPublicKey rsa = org.bouncycastle.asn1.pkcs.RSAPublicKey.getInstance(ASN1Sequence.fromByteArray(keyBytes));
+            KeyFactory keyFactory = KeyFactory.getInstance(RSA);
+            return keyFactory.generatePublic(new RSAPublicKeySpec(rsa.getModulus(), rsa.getPublicExponent()));
+        } else if (pem.contains("-----BEGIN PUBLIC KEY-----")) {
+            String base64 = pem.replace("-----BEGIN PUBLIC KEY-----", "")
+                    .replace("-----END PUBLIC KEY-----", "")
+                    .replaceAll("\\s+", "");
+            byte[] keyBytes = Base64.getDecoder().decode(base64);
+            KeyFactory keyFactory = KeyFactory.getInstance(RSA);
+            return keyFactory.generatePublic(new X509EncodedKeySpec(keyBytes));
+        } else {
+            throw new IllegalArgumentException("Unsupported key format or corrupted PEM");
+        }
+    }
+
     public static String createStringToSign(String httpMethod, String endpointUrl, String requestBody, String timestamp) {
         try {
             String minifiedBody = minifyJson(requestBody);
@@ -100,6 +130,18 @@ public class SignatureUtil {
         }
     }
 
+    public static String createStringToSign(String httpMethod, String endpointUrl, byte[] minifiedBody, int offset, int length, String timestamp) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(SHA256);
+            digest.update(minifiedBody, offset, length);
+            String hexHash = Hex.encodeHexString(digest.digest());
+            return httpMethod + ":" + endpointUrl + ":" + hexHash + ":" + timestamp;
+        } catch (NoSuchAlgorithmException e) {
+            logger.error("Error creating string to sign: {}", e.getMessage());
+            throw new IllegalStateException("Error creating string to sign: " + e.getMessage(), e);
+        }
+    }
+
     private static String minifyJson(String json) {
         if (json == null || json.trim().isEmpty()) return json;
 
@@ -0,0 +1,48 @@
+package id.co.faspay.snap.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats {@code X-TIMESTAMP} values ({@code yyyy-MM-dd'T'HH:mm:ssXXX} in the system time
+ * zone). The text only changes once a second, so the last formatted second is cached and
+ * calls within the same second return the same String without formatting or allocating.
+ * The cache is a single immutable entry replaced without locking; threads that race at a
+ * second boundary each format once and one of their entries is kept.
+ */
+public final class TimestampCache {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+    private static volatile Entry last = new Entry(Long.MIN_VALUE, null);
+
+    private TimestampCache() {
+    }
+
+    /**
+     * Gets the current time as a SNAP timestamp.
+     *
+     * @return The current timestamp, e.g. {@code 2024-01-31T13:45:00+07:00}
+     */
+    public static String now() {
+        long second = Math.floorDiv(System.currentTimeMillis(), 1000L);
+        Entry entry = last;
+        if (entry.second == second) {
+            return entry.text;
+        }
+        // Looked up on each refresh, so a change of the default zone shows within a second
+        String text = FORMATTER.format(Instant.ofEpochSecond(second).atZone(ZoneId.systemDefault()));
+        last = new Entry(second, text);
+        return text;
+    }
+
+    private static final class Entry {
+        final long second;
+        final String text;
+
+        Entry(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package id.co.faspay.snap.util;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads without raising the SDK's baseline above Java 11.
+ * This is the Java 11 variant, which reports virtual threads as unsupported. The
+ * multi-release jar carries a Java 21 variant under {@code META-INF/versions/21}
+ * that is picked up automatically when the SDK runs on Java 21 or later.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks if the running JVM supports virtual threads.
+     *
+     * @return True on Java 21 or later, false otherwise
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Checks if the current thread is a virtual thread.
+     *
+     * @return True if the current thread is virtual, false otherwise
+     */
+    public static boolean isCurrentThreadVirtual() {
+        return false;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @param namePrefix The prefix of the thread names
+     * @return The executor
+     * @throws UnsupportedOperationException If the running JVM does not support virtual threads
+     */
+    public static ExecutorService newExecutor(String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+}
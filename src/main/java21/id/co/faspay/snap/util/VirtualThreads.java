@@ -0,0 +1,44 @@
+package id.co.faspay.snap.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads without raising the SDK's baseline above Java 11.
+ * This is the Java 21 variant, packaged under {@code META-INF/versions/21} of the
+ * multi-release jar; it must keep the same public API as the Java 11 variant.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks if the running JVM supports virtual threads.
+     *
+     * @return True on Java 21 or later, false otherwise
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Checks if the current thread is a virtual thread.
+     *
+     * @return True if the current thread is virtual, false otherwise
+     */
+    public static boolean isCurrentThreadVirtual() {
+        return Thread.currentThread().isVirtual();
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @param namePrefix The prefix of the thread names
+     * @return The executor
+     * @throws UnsupportedOperationException If the running JVM does not support virtual threads
+     */
+    public static ExecutorService newExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+}
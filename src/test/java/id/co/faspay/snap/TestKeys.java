@@ -0,0 +1,58 @@
+package id.co.faspay.snap;
+
+import id.co.faspay.snap.config.FaspaySnapConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A throwaway RSA key pair and self-signed certificate for tests, loaded from
+ * {@code src/test/resources/keys}. Tests that need Faspay's side of a signature use
+ * the same pair, so whatever the SDK signs it can also verify.
+ */
+public final class TestKeys {
+    public static final String PARTNER_ID = "99999";
+
+    private TestKeys() {
+    }
+
+    /**
+     * Gets the private key in PKCS#8 PEM format.
+     *
+     * @return The private key
+     */
+    public static String privateKeyPem() {
+        return resource("/keys/test-private-key.pem");
+    }
+
+    /**
+     * Gets the self-signed certificate of the key pair in PEM format.
+     *
+     * @return The certificate
+     */
+    public static String certificatePem() {
+        return resource("/keys/test-certificate.pem");
+    }
+
+    /**
+     * Creates a sandbox configuration signed with the test key.
+     *
+     * @return A new configuration
+     */
+    public static FaspaySnapConfig config() {
+        return new FaspaySnapConfig(PARTNER_ID, privateKeyPem(), certificatePem());
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = TestKeys.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing test resource " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
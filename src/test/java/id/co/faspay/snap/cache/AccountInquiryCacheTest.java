@@ -0,0 +1,70 @@
+package id.co.faspay.snap.cache;
+
+import id.co.faspay.snap.model.AccountInquiryResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AccountInquiryCacheTest {
+
+    @Test
+    void hitsReturnACopyWithTheCallersReference() {
+        AccountInquiryCache cache = new AccountInquiryCache(10, 60_000, 60_000);
+        AccountInquiryResponse response = found("first-ref");
+        cache.put("014", "0123456789", response);
+        // Changes to the original after it was cached do not reach later callers
+        response.setAccountHolderName("CHANGED");
+
+        AccountInquiryResponse first = cache.get("014", "0123456789", "second-ref");
+        assertEquals("second-ref", first.getPartnerReferenceNumber());
+        assertNull(first.getReferenceNo());
+        assertEquals("JOHN DOE", first.getAccountHolderName());
+        assertEquals("active", first.getAdditionalInfo().get("status"));
+
+        first.addAdditionalInfo("status", "tampered");
+        AccountInquiryResponse second = cache.get("014", "0123456789", "third-ref");
+        assertNotSame(first, second);
+        assertEquals("third-ref", second.getPartnerReferenceNumber());
+        assertEquals("active", second.getAdditionalInfo().get("status"));
+        assertEquals(2, cache.getStats().getHits());
+    }
+
+    @Test
+    void onlySuccessAndNotFoundAreCached() {
+        AccountInquiryCache cache = new AccountInquiryCache(10, 60_000, 60_000);
+        cache.put("014", "1", found("ref"));
+        cache.put("014", "2", new AccountInquiryResponse().setResponseCode("4041611"));
+        cache.put("014", "3", new AccountInquiryResponse().setResponseCode("5001600"));
+
+        assertEquals("2001600", cache.get("014", "1").getResponseCode());
+        assertEquals("4041611", cache.get("014", "2").getResponseCode());
+        assertNull(cache.get("014", "3"));
+        assertEquals(1, cache.getStats().getNegativeHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void oldestEntriesAreEvictedFirst() {
+        AccountInquiryCache cache = new AccountInquiryCache(2, 60_000, 60_000);
+        cache.put("014", "1", found("ref"));
+        cache.put("014", "2", found("ref"));
+        cache.put("014", "3", found("ref"));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("014", "1"));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    private static AccountInquiryResponse found(String partnerReferenceNumber) {
+        return new AccountInquiryResponse()
+                .setResponseCode("2001600")
+                .setReferenceNo("FASPAY-1")
+                .setPartnerReferenceNumber(partnerReferenceNumber)
+                .setAccountHolderName("JOHN DOE")
+                .setAccountNumber("0123456789")
+                .setBankCode("014")
+                .addAdditionalInfo("status", "active");
+    }
+}
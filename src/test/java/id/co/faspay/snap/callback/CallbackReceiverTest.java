@@ -0,0 +1,199 @@
+package id.co.faspay.snap.callback;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.model.CustomerTopupStatusResponse;
+import id.co.faspay.snap.model.StatusTransferResponse;
+import id.co.faspay.snap.util.RsaSigner;
+import id.co.faspay.snap.util.SignatureUtil;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallbackReceiverTest {
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final String TRANSFER_PATH = "/faspay/callback/transfer";
+    private static final String TOPUP_PATH = "/faspay/callback/topup";
+
+    private final RsaSigner faspaySigner = new RsaSigner(TestKeys.privateKeyPem());
+    private final OkHttpClient http = new OkHttpClient();
+    private CallbackReceiver receiver;
+
+    @BeforeEach
+    void createReceiver() {
+        receiver = new CallbackReceiver(TestKeys.certificatePem(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void closeReceiver() {
+        receiver.close();
+    }
+
+    @Test
+    void signedCallbackIsAcknowledgedAndHandled() throws Exception {
+        LinkedBlockingQueue<StatusTransferResponse> handled = new LinkedBlockingQueue<>();
+        receiver.onTransfer(handled::add);
+        receiver.start();
+
+        try (Response response = post(TRANSFER_PATH, transfer("A", "00"), timestamp(0), true)) {
+            assertEquals(200, response.code());
+            assertTrue(response.body().string().contains("\"2000000\""));
+        }
+        StatusTransferResponse notification = handled.poll(5, TimeUnit.SECONDS);
+        assertEquals("A", notification.getOriginalPartnerReferenceNo());
+        assertTrue(notification.isTransactionFinal());
+        assertEquals(1, receiver.getReceivedCount());
+    }
+
+    @Test
+    void badSignaturesAreRejected() throws Exception {
+        LinkedBlockingQueue<StatusTransferResponse> handled = new LinkedBlockingQueue<>();
+        receiver.onTransfer(handled::add);
+        receiver.start();
+        String body = transfer("A", "00");
+        String timestamp = timestamp(0);
+
+        // Signed over a different body
+        String forged = faspaySigner.sign(SignatureUtil.createStringToSign("POST", TRANSFER_PATH, transfer("A", "06"), timestamp));
+        Request tampered = request(TRANSFER_PATH, body)
+                .header("X-TIMESTAMP", timestamp)
+                .header("X-SIGNATURE", forged)
+                .build();
+        try (Response response = http.newCall(tampered).execute()) {
+            assertEquals(401, response.code());
+        }
+        try (Response response = post(TRANSFER_PATH, body, timestamp, false)) {
+            assertEquals(401, response.code());
+        }
+        // Correctly signed, but outside the allowed clock skew
+        try (Response response = post(TRANSFER_PATH, body, timestamp(-10), true)) {
+            assertEquals(401, response.code());
+        }
+
+        assertEquals(3, receiver.getRejectedCount());
+        assertNull(handled.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void fullHandlerQueueAnswersTooManyRequests() throws Exception {
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LinkedBlockingQueue<CustomerTopupStatusResponse> handled = new LinkedBlockingQueue<>();
+        receiver.setHandlerThreads(1);
+        receiver.setQueueCapacity(1);
+        receiver.onTopup(notification -> {
+            handling.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(notification);
+        });
+        receiver.start();
+
+        // The first callback occupies the handler thread, the second fills its queue
+        assertEquals(200, postAndClose(TOPUP_PATH, topup("A")));
+        assertTrue(handling.await(5, TimeUnit.SECONDS));
+        assertEquals(200, postAndClose(TOPUP_PATH, topup("B")));
+        assertEquals(429, postAndClose(TOPUP_PATH, topup("C")));
+        assertEquals(1, receiver.getDroppedCount());
+
+        release.countDown();
+        assertEquals("A", handled.poll(5, TimeUnit.SECONDS).getOriginalPartnerReferenceNo());
+        assertEquals("B", handled.poll(5, TimeUnit.SECONDS).getOriginalPartnerReferenceNo());
+        // Faspay's retry of the dropped callback is accepted once there is room
+        assertEquals(200, postAndClose(TOPUP_PATH, topup("C")));
+        assertEquals("C", handled.poll(5, TimeUnit.SECONDS).getOriginalPartnerReferenceNo());
+    }
+
+    @Test
+    void closeHandlesEveryAcknowledgedCallback() throws Exception {
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LinkedBlockingQueue<CustomerTopupStatusResponse> handled = new LinkedBlockingQueue<>();
+        receiver.setHandlerThreads(1);
+        receiver.onTopup(notification -> {
+            handling.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(notification);
+        });
+        receiver.start();
+
+        assertEquals(200, postAndClose(TOPUP_PATH, topup("A")));
+        assertTrue(handling.await(5, TimeUnit.SECONDS));
+        assertEquals(200, postAndClose(TOPUP_PATH, topup("B")));
+
+        Thread closing = new Thread(receiver::close);
+        closing.start();
+        Thread.sleep(100);
+        release.countDown();
+        closing.join(10_000);
+
+        assertFalse(closing.isAlive());
+        assertEquals(2, handled.size());
+        assertThrows(IOException.class, () -> postAndClose(TOPUP_PATH, topup("C")));
+    }
+
+    private int postAndClose(String path, String body) throws IOException {
+        try (Response response = post(path, body, timestamp(0), true)) {
+            return response.code();
+        }
+    }
+
+    private Response post(String path, String body, String timestamp, boolean signed) throws IOException {
+        String signature = signed
+                ? faspaySigner.sign(SignatureUtil.createStringToSign("POST", path, body, timestamp))
+                : "bm90IGEgc2lnbmF0dXJl";
+        Request request = request(path, body)
+                .header("X-TIMESTAMP", timestamp)
+                .header("X-SIGNATURE", signature)
+                .build();
+        return http.newCall(request).execute();
+    }
+
+    private Request.Builder request(String path, String body) {
+        return new Request.Builder()
+                .url("http://127.0.0.1:" + receiver.getPort() + path)
+                .post(RequestBody.create(body, JSON));
+    }
+
+    private static String timestamp(int offsetMinutes) {
+        return OffsetDateTime.now().plusMinutes(offsetMinutes).truncatedTo(ChronoUnit.SECONDS)
+                .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    private static String transfer(String reference, String latestTransactionStatus) {
+        return "{\"responseCode\":\"2003600\",\"originalPartnerReferenceNo\":\"" + reference
+                + "\",\"latestTransactionStatus\":\"" + latestTransactionStatus + "\",\"unknownField\":1}";
+    }
+
+    private static String topup(String reference) {
+        return "{\"responseCode\":\"2003900\",\"originalPartnerReferenceNo\":\"" + reference
+                + "\",\"latestTransactionStatus\":\"00\"}";
+    }
+}
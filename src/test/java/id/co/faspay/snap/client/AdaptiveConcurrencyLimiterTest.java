@@ -0,0 +1,118 @@
+package id.co.faspay.snap.client;
+
+import id.co.faspay.snap.config.ConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void waitersAreGrantedInOrderAsPermitsAreReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("/test", new ConcurrencyLimit(2, 1, 10));
+        assertTrue(limiter.acquire().isDone());
+        assertTrue(limiter.acquire().isDone());
+
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+        assertFalse(first.isDone());
+        assertEquals(2, limiter.getQueued());
+
+        limiter.release();
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getQueued());
+    }
+
+    @Test
+    void cancelledWaiterIsSkipped() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("/test", new ConcurrencyLimit(1, 1, 10));
+        limiter.acquire();
+        CompletableFuture<Void> cancelled = limiter.acquire();
+        CompletableFuture<Void> next = limiter.acquire();
+
+        limiter.cancel(cancelled);
+        assertTrue(cancelled.isCancelled());
+        assertEquals(1, limiter.getQueued());
+
+        limiter.release();
+        assertTrue(next.isDone());
+        assertFalse(next.isCancelled());
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void cancellingAGrantedPermitReleasesIt() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("/test", new ConcurrencyLimit(1, 1, 10));
+        CompletableFuture<Void> granted = limiter.acquire();
+        CompletableFuture<Void> waiter = limiter.acquire();
+
+        limiter.cancel(granted);
+        assertTrue(waiter.isDone());
+        limiter.cancel(waiter);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void concurrentCancelAndGrantNeverLeaksOrExceedsTheLimit() throws Exception {
+        int limit = 4;
+        int threads = 16;
+        int iterations = 20_000;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("/test", new ConcurrencyLimit(limit, limit, limit));
+        AtomicInteger holding = new AtomicInteger();
+        AtomicInteger maxHolding = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < iterations; i++) {
+                        CompletableFuture<Void> permit = limiter.acquire();
+                        if (!permit.isDone() && random.nextBoolean()) {
+                            // Gives the permit back if it was granted in the meantime
+                            limiter.cancel(permit);
+                            continue;
+                        }
+                        permit.get(10, TimeUnit.SECONDS);
+                        int now = holding.incrementAndGet();
+                        maxHolding.accumulateAndGet(now, Math::max);
+                        holding.decrementAndGet();
+                        limiter.release();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, limiter.getInFlight(), "permits leaked");
+        assertEquals(0, limiter.getQueued(), "waiters left behind");
+        assertTrue(maxHolding.get() <= limit, "limit exceeded: " + maxHolding.get());
+        // The limit is free again
+        assertTrue(limiter.acquire().isDone());
+    }
+}
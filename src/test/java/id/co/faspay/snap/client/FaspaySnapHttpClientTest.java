@@ -0,0 +1,64 @@
+package id.co.faspay.snap.client;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.config.FaspaySnapConfig;
+import id.co.faspay.snap.config.Timeouts;
+import id.co.faspay.snap.model.Constants;
+import id.co.faspay.snap.model.StatusTransferRequest;
+import id.co.faspay.snap.model.StatusTransferResponse;
+import id.co.faspay.snap.service.TransferStatusService;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FaspaySnapHttpClientTest {
+    private final MockWebServer server = new MockWebServer();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void timeoutsChangedAfterCreationDoNotApply() throws Exception {
+        String endpoint = new Constants().getEndpointTransferInquiryStatus();
+        FaspaySnapConfig config = config();
+        config.setDefaultTimeouts(new Timeouts(1000, 200, 1000));
+        config.setTimeouts(endpoint, new Timeouts(1000, 5000, 1000));
+
+        try (FaspaySnapHttpClient client = new FaspaySnapHttpClient(config)) {
+            // Swapped after creation: the endpoint now has the old default read timeout, and
+            // its own timeouts equal the new default
+            config.setDefaultTimeouts(new Timeouts(1000, 5000, 1000));
+            config.setTimeouts(endpoint, new Timeouts(1000, 200, 1000));
+
+            server.enqueue(new MockResponse()
+                    .setBody("{\"responseCode\":\"2003600\",\"latestTransactionStatus\":\"00\"}")
+                    .setBodyDelay(600, TimeUnit.MILLISECONDS));
+            StatusTransferResponse response = new TransferStatusService(client).status(new StatusTransferRequest()
+                    .setOriginalPartnerReferenceNo("A")
+                    .setServiceCode("18"));
+            assertEquals("2003600", response.getResponseCode());
+        }
+    }
+
+    private FaspaySnapConfig config() {
+        return new FaspaySnapConfig(TestKeys.PARTNER_ID, TestKeys.privateKeyPem(), TestKeys.certificatePem()) {
+            {
+                baseUrl = server.url("/").toString();
+            }
+        };
+    }
+}
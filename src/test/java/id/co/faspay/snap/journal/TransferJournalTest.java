@@ -0,0 +1,277 @@
+package id.co.faspay.snap.journal;
+
+import id.co.faspay.snap.exception.DeadlineExceededException;
+import id.co.faspay.snap.exception.DuplicateTransferException;
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.model.Amount;
+import id.co.faspay.snap.model.TransferInterbankRequest;
+import id.co.faspay.snap.model.TransferInterbankResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferJournalTest {
+    private static final int CAPACITY = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayRestoresIntentsAndOutcomes() throws Exception {
+        Path file = dir.resolve("transfers.journal");
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            journal.recordIntent(request("accepted"));
+            journal.recordOutcome("accepted", new TransferInterbankResponse()
+                    .setResponseCode("2001800").setReferenceNumber("REF-1"), null);
+            journal.recordIntent(request("rejected"));
+            journal.recordOutcome("rejected", null, new FaspaySnapApiException("Bad Request", 400));
+            journal.recordIntent(request("conflict"));
+            journal.recordOutcome("conflict", null, new FaspaySnapApiException("Conflict", 409));
+            journal.recordIntent(request("timeout"));
+            journal.recordOutcome("timeout", null, new DeadlineExceededException("timed out", true));
+        }
+
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            assertEquals(4, journal.size());
+            JournalEntry accepted = journal.get("accepted");
+            assertEquals(JournalEntry.State.ACCEPTED, accepted.getState());
+            assertEquals("REF-1", accepted.getReferenceNo());
+            assertEquals("2001800", accepted.getResponseCode());
+            assertEquals(new Amount("10000.00", "IDR"), accepted.getAmount());
+            assertEquals("0123456789", accepted.getBeneficiaryAccountNo());
+
+            assertEquals(JournalEntry.State.REJECTED, journal.get("rejected").getState());
+            assertEquals("HTTP_400", journal.get("rejected").getResponseCode());
+            // A 409 means the API may already hold the transfer
+            assertEquals(JournalEntry.State.IN_DOUBT, journal.get("conflict").getState());
+            assertEquals(JournalEntry.State.IN_DOUBT, journal.get("timeout").getState());
+            assertEquals(2, journal.getInDoubt().size());
+        }
+    }
+
+    @Test
+    void duplicateReferenceIsRefusedUnlessRejected() throws Exception {
+        try (TransferJournal journal = new TransferJournal(dir.resolve("transfers.journal"), CAPACITY)) {
+            journal.recordIntent(request("A"));
+            DuplicateTransferException e = assertThrows(DuplicateTransferException.class,
+                    () -> journal.recordIntent(request("A")));
+            assertEquals("A", e.getPartnerReferenceNo());
+
+            journal.recordOutcome("A", null, new DeadlineExceededException("not sent", false));
+            assertEquals(JournalEntry.State.REJECTED, journal.get("A").getState());
+            JournalEntry retried = journal.recordIntent(request("A"));
+            assertTrue(retried.isInDoubt());
+        }
+    }
+
+    @Test
+    void tornTailIsDiscardedAndOverwritten() throws Exception {
+        Path file = dir.resolve("transfers.journal");
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            journal.recordIntent(request("A"));
+            journal.recordIntent(request("B"));
+        }
+
+        // A crash in the middle of an append: a length and part of a body, no valid checksum
+        int end = endOfRecords(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(40);
+            torn.putInt(200).putInt(0x12345678);
+            while (torn.hasRemaining()) {
+                torn.put((byte) 0x5A);
+            }
+            torn.flip();
+            channel.write(torn, end);
+        }
+
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            assertEquals(2, journal.size());
+            journal.recordIntent(request("C"));
+        }
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            assertEquals(3, journal.size());
+            assertNotNull(journal.get("C"));
+        }
+    }
+
+    @Test
+    void recordWithBadChecksumEndsReplay() throws Exception {
+        Path file = dir.resolve("transfers.journal");
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            journal.recordIntent(request("A"));
+            journal.recordIntent(request("B"));
+        }
+
+        // Flip the last byte of the second record's body
+        int end = endOfRecords(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, end - 1);
+            b.put(0, (byte) (b.get(0) ^ 0xFF));
+            b.rewind();
+            channel.write(b, end - 1);
+        }
+
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            assertEquals(1, journal.size());
+            assertNotNull(journal.get("A"));
+            assertNull(journal.get("B"));
+        }
+    }
+
+    @Test
+    void compactionGrowsTheFileAndKeepsLiveEntries() throws Exception {
+        Path file = dir.resolve("transfers.journal");
+        int transfers = 3000;
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            for (int i = 0; i < transfers; i++) {
+                journal.recordIntent(request("T" + i));
+                if (i % 2 == 0) {
+                    journal.recordOutcome("T" + i, new TransferInterbankResponse().setResponseCode("2001800"), null);
+                }
+            }
+            assertTrue(Files.size(file) > CAPACITY, "file should have grown");
+        }
+
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            assertEquals(transfers, journal.size());
+            assertEquals(transfers / 2, journal.getInDoubt().size());
+            assertEquals(JournalEntry.State.ACCEPTED, journal.get("T0").getState());
+            assertEquals(JournalEntry.State.IN_DOUBT, journal.get("T" + (transfers - 1)).getState());
+        }
+    }
+
+    @Test
+    void compactionDropsSettledEntriesPastRetention() throws Exception {
+        Path file = dir.resolve("transfers.journal");
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            journal.setRetentionMillis(0);
+            journal.recordIntent(request("settled"));
+            journal.recordOutcome("settled", new TransferInterbankResponse().setResponseCode("2001800"), null);
+            journal.recordIntent(request("pending"));
+            Thread.sleep(5);
+
+            // Fill the file until it is rewritten
+            int i = 0;
+            while (journal.get("settled") != null) {
+                journal.recordIntent(request("filler" + i));
+                journal.recordOutcome("filler" + i, null, new FaspaySnapApiException("Bad Request", 400));
+                i++;
+            }
+            assertNotNull(journal.get("pending"));
+        }
+        try (TransferJournal journal = new TransferJournal(file, CAPACITY)) {
+            assertNull(journal.get("settled"));
+            assertTrue(journal.get("pending").isInDoubt());
+        }
+    }
+
+    @Test
+    void concurrentIntentsShareSyncs() throws Exception {
+        int threads = 16;
+        int perThread = 200;
+        try (TransferJournal journal = new TransferJournal(dir.resolve("transfers.journal"))) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            try {
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            journal.recordIntent(request(thread + "-" + i));
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(threads * perThread, journal.size());
+            assertTrue(journal.getSyncCount() < threads * perThread,
+                    "expected fewer syncs than intents, got " + journal.getSyncCount());
+        }
+    }
+
+    @Test
+    void asyncIntentsAreSyncedInBatches() throws Exception {
+        int transfers = 1000;
+        try (TransferJournal journal = new TransferJournal(dir.resolve("transfers.journal"))) {
+            List<CompletableFuture<JournalEntry>> intents = new ArrayList<>();
+            for (int i = 0; i < transfers; i++) {
+                intents.add(journal.recordIntentAsync(request("T" + i)));
+            }
+            CompletableFuture<JournalEntry> duplicate = journal.recordIntentAsync(request("T0"));
+            for (CompletableFuture<JournalEntry> intent : intents) {
+                assertTrue(intent.join().isInDoubt());
+            }
+
+            CompletionException e = assertThrows(CompletionException.class, duplicate::join);
+            assertInstanceOf(DuplicateTransferException.class, e.getCause());
+            assertEquals(transfers, journal.size());
+            assertTrue(journal.getSyncCount() < transfers,
+                    "expected fewer syncs than intents, got " + journal.getSyncCount());
+        }
+    }
+
+    @Test
+    void asyncIntentFailsOnceClosed() throws Exception {
+        TransferJournal journal = new TransferJournal(dir.resolve("transfers.journal"), CAPACITY);
+        journal.close();
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> journal.recordIntentAsync(request("A")).join());
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    private static TransferInterbankRequest request(String reference) {
+        return new TransferInterbankRequest()
+                .setPartnerReferenceNumber(reference)
+                .setAmount(new Amount("10000.00", "IDR"))
+                .setSourceAccountNumber("9876543210")
+                .setBeneficiaryAccountNumber("0123456789")
+                .setBeneficiaryBankCode("014");
+    }
+
+    /**
+     * Walks the length prefixes of the records to find where the last one ends.
+     */
+    private static int endOfRecords(Path file) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        int offset = 0;
+        while (offset + 8 <= content.capacity()) {
+            int length = content.getInt(offset);
+            if (length <= 0) {
+                break;
+            }
+            offset += 8 + length;
+        }
+        return offset;
+    }
+}
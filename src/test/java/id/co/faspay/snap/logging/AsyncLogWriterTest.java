@@ -0,0 +1,177 @@
+package id.co.faspay.snap.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogWriterTest {
+    private final RecordingWriter delegate = new RecordingWriter();
+    private AsyncLogWriter writer;
+
+    @AfterEach
+    void closeWriter() {
+        delegate.release.countDown();
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void eventsWrapAroundTheRingInOrder() {
+        writer = new AsyncLogWriter(4, AsyncLogWriter.OverflowPolicy.BLOCK, delegate);
+        for (int i = 0; i < 1000; i++) {
+            log(i);
+        }
+        writer.close();
+
+        assertEquals(1000, delegate.lines.size());
+        List<String> lines = new ArrayList<>(delegate.lines);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("event " + i, lines.get(i));
+        }
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void dropPolicyCountsEventsThatDoNotFit() throws Exception {
+        writer = new AsyncLogWriter(4, AsyncLogWriter.OverflowPolicy.DROP, delegate);
+        delegate.blockFirst();
+        log(0);
+        // The writer thread is still writing the first event, whose slot stays taken until it
+        // returns, so three more fit
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            log(i);
+        }
+        assertEquals(7, writer.getDroppedCount());
+
+        delegate.release.countDown();
+        writer.close();
+        assertEquals(List.of("event 0", "event 1", "event 2", "event 3"), new ArrayList<>(delegate.lines));
+    }
+
+    @Test
+    void blockPolicyWaitsForRoom() throws Exception {
+        writer = new AsyncLogWriter(4, AsyncLogWriter.OverflowPolicy.BLOCK, delegate);
+        delegate.blockFirst();
+        log(0);
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= 5; i++) {
+                log(i);
+            }
+        });
+        producer.start();
+
+        // Three events fit next to the one being written; the fourth waits for the writer thread
+        producer.join(300);
+        assertTrue(producer.isAlive());
+        delegate.release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+
+        writer.close();
+        assertEquals(6, delegate.lines.size());
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void eventsLoggedDuringAndAfterCloseAreWritten() throws Exception {
+        writer = new AsyncLogWriter(64, AsyncLogWriter.OverflowPolicy.BLOCK, delegate);
+        AtomicInteger logged = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                while (!stop.get()) {
+                    log(0);
+                    logged.incrementAndGet();
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        Thread.sleep(50);
+
+        // Producers keep publishing while close takes the writer thread's last pass
+        writer.close();
+        Thread.sleep(50);
+        stop.set(true);
+        for (Thread producer : producers) {
+            producer.join(5000);
+        }
+        log(1);
+        logged.incrementAndGet();
+
+        assertEquals(logged.get(), delegate.lines.size());
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void mutableArgumentsAreLoggedAsTheyWereAtTheCall() throws Exception {
+        writer = new AsyncLogWriter(4, AsyncLogWriter.OverflowPolicy.BLOCK, delegate);
+        // Hold the writer thread, so the event below is formatted only after the change
+        delegate.blockFirst();
+        log(0);
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+
+        StringBuilder request = new StringBuilder("reference A");
+        Object[] args = {request, 7L};
+        writer.write(System.currentTimeMillis(), SimpleLogger.Level.INFO, "test", "{} {}", args, null);
+        request.setLength(0);
+        request.append("reference B");
+        delegate.release.countDown();
+        writer.close();
+
+        assertEquals(List.of("event 0", "reference A 7"), new ArrayList<>(delegate.lines));
+        // The caller's array is left as it was
+        assertSame(request, args[0]);
+    }
+
+    private void log(int i) {
+        writer.write(System.currentTimeMillis(), SimpleLogger.Level.INFO, "test", "event {}", new Object[] {i}, null);
+    }
+
+    /**
+     * Keeps each formatted message; can hold the writer thread inside the first write.
+     */
+    private static final class RecordingWriter implements LogWriter {
+        final ConcurrentLinkedQueue<String> lines = new ConcurrentLinkedQueue<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blockFirst;
+
+        void blockFirst() {
+            blockFirst = true;
+        }
+
+        @Override
+        public void write(long timestampMillis, SimpleLogger.Level level, String name, String format, Object[] args,
+                          Throwable throwable) {
+            if (blockFirst) {
+                blockFirst = false;
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder line = new StringBuilder();
+            LogFormat.appendWithArgs(line, format, args);
+            lines.add(line.toString());
+        }
+    }
+}
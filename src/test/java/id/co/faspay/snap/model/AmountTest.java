@@ -0,0 +1,139 @@
+package id.co.faspay.snap.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AmountTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void valueKeepsItsOwnDecimals() {
+        assertEquals("10000", new Amount("10000", "IDR").getValue());
+        assertEquals("10000.00", new Amount("10000.00", "IDR").getValue());
+        assertEquals("10000.5", new Amount("10000.5", "IDR").getValue());
+        assertEquals("0.125", new Amount("0.125", "IDR").getValue());
+        assertEquals("-0.01", new Amount("-0.01", "IDR").getValue());
+        assertEquals("0.5", new Amount(".5", "IDR").getValue());
+        assertEquals("5", new Amount("+5", "IDR").getValue());
+    }
+
+    @Test
+    void invalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Amount("", "IDR"));
+        assertThrows(IllegalArgumentException.class, () -> new Amount("-", "IDR"));
+        assertThrows(IllegalArgumentException.class, () -> new Amount(".", "IDR"));
+        assertThrows(IllegalArgumentException.class, () -> new Amount("abc", "IDR"));
+        assertThrows(IllegalArgumentException.class, () -> new Amount("1.2.3", "IDR"));
+        assertThrows(IllegalArgumentException.class, () -> new Amount("1,000.00", "IDR"));
+        assertThrows(IllegalArgumentException.class, () -> new Amount("1.0000000000000000000", "IDR"));
+        assertThrows(NullPointerException.class, () -> new Amount(null, "IDR"));
+    }
+
+    @Test
+    void setValueNullClearsTheValue() {
+        Amount amount = new Amount("10.00", "IDR").setValue(null);
+        assertFalse(amount.hasValue());
+        assertNull(amount.getValue());
+        assertThrows(IllegalStateException.class, amount::getMinorUnits);
+    }
+
+    @Test
+    void longRangeIsParsedAndFormattedExactly() {
+        assertEquals("-9223372036854775808", new Amount("-9223372036854775808", "IDR").getValue());
+        assertEquals("92233720368547758.07", new Amount("92233720368547758.07", "IDR").getValue());
+        assertThrows(ArithmeticException.class, () -> new Amount("9223372036854775808", "IDR"));
+    }
+
+    @Test
+    void minorUnits() {
+        assertEquals(1000000, new Amount("10000", "IDR").getMinorUnits());
+        assertEquals(1000050, new Amount("10000.5", "IDR").getMinorUnits());
+        assertEquals(-5, new Amount("-0.05", "IDR").getMinorUnits());
+        assertThrows(ArithmeticException.class, () -> new Amount("1.005", "IDR").getMinorUnits());
+
+        assertEquals("10000.00", Amount.ofMinorUnits(1000000, "IDR").getValue());
+        assertEquals("-0.05", Amount.ofMinorUnits(-5, "IDR").getValue());
+        assertEquals("0.00", Amount.ofMinorUnits(0, "IDR").getValue());
+        assertEquals("500", Amount.ofMinorUnits(500, "JPY").getValue());
+    }
+
+    @Test
+    void equalityIsNumeric() {
+        Amount a = new Amount("100", "IDR");
+        Amount b = new Amount("100.00", "IDR");
+        Amount c = new Amount("100.0", "IDR");
+        assertEquals(a, b);
+        assertEquals(b, c);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(b.hashCode(), c.hashCode());
+        assertNotEquals(a, new Amount("100.01", "IDR"));
+        assertNotEquals(a, new Amount("100", "USD"));
+        assertEquals(new Amount(), new Amount());
+        assertNotEquals(new Amount(), new Amount().setValue("0"));
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        Amount sum = new Amount("100000", "IDR").plus(new Amount("6500.50", "IDR"));
+        assertEquals("106500.50", sum.getValue());
+        assertEquals("-6500.5", new Amount("0", "IDR").minus(new Amount("6500.5", "IDR")).getValue());
+        assertEquals("30.75", new Amount("10.25", "IDR").times(3).getValue());
+        assertEquals(-1, new Amount("-0.01", "IDR").signum());
+
+        assertThrows(ArithmeticException.class,
+                () -> Amount.ofMinorUnits(Long.MAX_VALUE, "IDR").plus(Amount.ofMinorUnits(1, "IDR")));
+        assertThrows(ArithmeticException.class, () -> Amount.ofMinorUnits(Long.MIN_VALUE, "IDR").negate());
+        assertThrows(IllegalArgumentException.class,
+                () -> new Amount("1", "IDR").plus(new Amount("1", "USD")));
+    }
+
+    @Test
+    void compareToAcrossScales() {
+        assertTrue(new Amount("100.01", "IDR").compareTo(new Amount("100", "IDR")) > 0);
+        assertEquals(0, new Amount("100", "IDR").compareTo(new Amount("100.000", "IDR")));
+        // Rescaling the left side overflows, so it is the larger one
+        assertTrue(new Amount("92233720368547758", "IDR").compareTo(new Amount("0.01", "IDR")) > 0);
+        assertTrue(new Amount("-92233720368547758", "IDR").compareTo(new Amount("0.01", "IDR")) < 0);
+    }
+
+    @Test
+    void jsonRoundTripKeepsTheValueAsSent() throws JsonProcessingException {
+        String json = "{\"value\":\"10000\",\"currency\":\"IDR\"}";
+        Amount amount = mapper.readValue(json, Amount.class);
+        assertEquals(1000000, amount.getMinorUnits());
+        assertEquals(json, mapper.writeValueAsString(amount));
+
+        String withDecimals = "{\"value\":\"10000.50\",\"currency\":\"IDR\"}";
+        assertEquals(withDecimals, mapper.writeValueAsString(mapper.readValue(withDecimals, Amount.class)));
+    }
+
+    @Test
+    void jsonAcceptsNumbersAndAnyFieldOrder() throws JsonProcessingException {
+        Amount amount = mapper.readValue("{\"currency\":\"IDR\",\"extra\":{\"a\":[1]},\"value\":10000.5}", Amount.class);
+        assertEquals("10000.5", amount.getValue());
+        assertEquals("IDR", amount.getCurrency());
+    }
+
+    @Test
+    void jsonEmptyValueIsReadAsNoValue() throws JsonProcessingException {
+        Amount amount = mapper.readValue("{\"value\":\"\",\"currency\":\"IDR\"}", Amount.class);
+        assertFalse(amount.hasValue());
+        assertEquals("{\"value\":null,\"currency\":\"IDR\"}", mapper.writeValueAsString(amount));
+    }
+
+    @Test
+    void jsonRejectsNonNumericValues() {
+        assertThrows(JsonProcessingException.class,
+                () -> mapper.readValue("{\"value\":\"ten\",\"currency\":\"IDR\"}", Amount.class));
+        assertThrows(JsonProcessingException.class,
+                () -> mapper.readValue("{\"value\":true,\"currency\":\"IDR\"}", Amount.class));
+    }
+}
@@ -0,0 +1,76 @@
+package id.co.faspay.snap.sync;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.model.HistoryListRequest;
+import id.co.faspay.snap.model.HistoryListResponse;
+import id.co.faspay.snap.service.HistoryListService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistoryRangeFetcherTest {
+    private static final OffsetDateTime FROM = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(7));
+
+    @Test
+    void splitSliceStaysWithinMaxParallelism() throws Exception {
+        StubHistoryService service = new StubHistoryService(1);
+        HistoryRangeFetcher fetcher = new HistoryRangeFetcher(service, 2);
+        fetcher.setZone(ZoneOffset.ofHours(7));
+
+        List<OffsetDateTime> times = new ArrayList<>();
+        long rows = fetcher.fetch("0123456789", FROM, FROM.plusHours(4), detail -> times.add(detail.getDateTimeAsOffsetDateTime()));
+
+        // The first hour failed and was fetched again as two halves
+        assertEquals(FROM.plusMinutes(30), times.get(1));
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i - 1).isBefore(times.get(i)), "rows out of order at " + i);
+        }
+        assertEquals(service.calls.get() - 1, rows);
+        assertEquals(2, service.maxInFlight.get());
+    }
+
+    /**
+     * Answers each call after a short delay with one row stamped at the start of its range;
+     * the first calls fail at once with a transport error.
+     */
+    private static final class StubHistoryService extends HistoryListService {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final int failures;
+
+        StubHistoryService(int failures) {
+            super(TestKeys.config());
+            this.failures = failures;
+        }
+
+        @Override
+        public CompletableFuture<HistoryListResponse> listAsync(HistoryListRequest request) {
+            CompletableFuture<HistoryListResponse> future = new CompletableFuture<>();
+            if (calls.incrementAndGet() <= failures) {
+                future.completeExceptionally(new IOException("timeout"));
+                return future;
+            }
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            HistoryListResponse response = new HistoryListResponse()
+                    .setResponseCode("2001200")
+                    .addDetailData(new HistoryListResponse.DetailData()
+                            .setDateTime(OffsetDateTime.parse(request.getFromDateTime())));
+            CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> {
+                inFlight.decrementAndGet();
+                future.complete(response);
+            });
+            return future;
+        }
+    }
+}
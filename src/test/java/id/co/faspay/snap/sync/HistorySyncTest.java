@@ -0,0 +1,192 @@
+package id.co.faspay.snap.sync;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.model.Amount;
+import id.co.faspay.snap.model.HistoryListRequest;
+import id.co.faspay.snap.model.HistoryListResponse;
+import id.co.faspay.snap.service.HistoryListService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HistorySyncTest {
+    private static final String ACCOUNT = "0123456789";
+    private static final OffsetDateTime NOW = OffsetDateTime.now(ZoneOffset.ofHours(7)).truncatedTo(ChronoUnit.SECONDS);
+
+    @TempDir
+    Path directory;
+
+    private final StubHistoryService service = new StubHistoryService();
+    private final MemoryStore store = new MemoryStore();
+
+    @Test
+    void overlappingSyncsEmitEachRowOnce() throws Exception {
+        service.add(row(-50, "A"));
+        service.add(row(-20, "B"));
+        service.add(row(-1, "C"));
+        HistorySync sync = newSync(store);
+
+        List<String> emitted = new ArrayList<>();
+        SyncResult first = sync.sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(List.of("A", "B", "C"), emitted);
+        // One hour of lookback in windows of at most 15 minutes
+        assertEquals(4, first.getWindows());
+
+        // Posted late, with a timestamp inside the overlap before the high-water mark
+        service.add(row(-2, "D"));
+        emitted.clear();
+        SyncResult second = sync.sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(List.of("D"), emitted);
+        assertEquals(2, second.getFetched());
+        assertEquals(1, second.getEmitted());
+    }
+
+    @Test
+    void identicalRowsAreEachEmitted() throws Exception {
+        service.add(row(-3, "TRANSFER FEE"));
+        service.add(row(-3, "TRANSFER FEE"));
+        HistorySync sync = newSync(store);
+
+        List<String> emitted = new ArrayList<>();
+        sync.sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(2, emitted.size());
+
+        emitted.clear();
+        sync.sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(0, emitted.size());
+
+        // A third copy shows up late; only that copy is new
+        service.add(row(-3, "TRANSFER FEE"));
+        sync.sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(List.of("TRANSFER FEE"), emitted);
+    }
+
+    @Test
+    void retriedWindowDoesNotEmitRowsAgain() throws Exception {
+        service.add(row(-4, "A"));
+        service.add(row(-3, "B"));
+        service.add(row(-2, "C"));
+        service.failAfterRows = 2;
+
+        List<String> emitted = new ArrayList<>();
+        assertThrows(FaspaySnapApiException.class, () -> newSync(store).sync(ACCOUNT, detail -> emitted.add(detail.getRemark())));
+        assertEquals(List.of("A", "B"), emitted);
+
+        // A new instance only has what was saved when the sync failed
+        service.failAfterRows = -1;
+        emitted.clear();
+        newSync(store).sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(List.of("C"), emitted);
+    }
+
+    @Test
+    void checkpointRoundTripsThroughFileStore() throws Exception {
+        service.add(row(-10, "A"));
+        service.add(row(-2, "B"));
+        service.add(row(-2, "B"));
+        FileCheckpointStore files = new FileCheckpointStore(directory);
+        HistorySync sync = newSync(files);
+        assertNull(sync.getHighWaterMark(ACCOUNT));
+        sync.sync(ACCOUNT, detail -> { });
+        OffsetDateTime highWaterMark = sync.getHighWaterMark(ACCOUNT);
+
+        HistorySync restarted = newSync(new FileCheckpointStore(directory));
+        assertEquals(highWaterMark.toEpochSecond(), restarted.getHighWaterMark(ACCOUNT).toEpochSecond());
+        List<String> emitted = new ArrayList<>();
+        restarted.sync(ACCOUNT, detail -> emitted.add(detail.getRemark()));
+        assertEquals(List.of(), emitted);
+
+        // Saving replaces the file and leaves no temporary files behind
+        files.save("other", new byte[] {1, 2, 3});
+        files.save("other", new byte[] {4});
+        assertArrayEquals(new byte[] {4}, files.load("other"));
+        assertNull(files.load("missing"));
+        try (Stream<Path> entries = Files.list(directory)) {
+            assertEquals(2, entries.count());
+        }
+    }
+
+    private HistorySync newSync(CheckpointStore checkpoints) {
+        HistorySync sync = new HistorySync(service, checkpoints);
+        sync.setZone(ZoneOffset.ofHours(7));
+        sync.setInitialLookbackMillis(60 * 60 * 1000L);
+        sync.setMaxWindowMillis(15 * 60 * 1000L);
+        return sync;
+    }
+
+    private static HistoryListResponse.DetailData row(int minutesFromNow, String remark) {
+        return new HistoryListResponse.DetailData()
+                .setDateTime(NOW.plusMinutes(minutesFromNow))
+                .setAmount(new Amount("10000.00", "IDR"))
+                .setRemark(remark)
+                .setStatus("SUCCESS")
+                .setType("DEBIT");
+    }
+
+    /**
+     * Answers each call with the rows whose time is in the requested range, both ends
+     * inclusive. With failAfterRows set, a call fails once it has passed on that many rows.
+     */
+    private static final class StubHistoryService extends HistoryListService {
+        private final List<HistoryListResponse.DetailData> rows = new ArrayList<>();
+        int failAfterRows = -1;
+
+        StubHistoryService() {
+            super(TestKeys.config());
+        }
+
+        void add(HistoryListResponse.DetailData row) {
+            rows.add(row);
+        }
+
+        @Override
+        public HistoryListResponse list(HistoryListRequest request, Consumer<HistoryListResponse.DetailData> consumer)
+                throws FaspaySnapApiException {
+            long from = OffsetDateTime.parse(request.getFromDateTime()).toEpochSecond();
+            long to = OffsetDateTime.parse(request.getToDateTime()).toEpochSecond();
+            for (HistoryListResponse.DetailData row : rows) {
+                long time = row.getDateTimeAsOffsetDateTime().toEpochSecond();
+                if (time < from || time > to) {
+                    continue;
+                }
+                if (failAfterRows == 0) {
+                    throw new FaspaySnapApiException("Error making POST request: Read timed out");
+                }
+                consumer.accept(row);
+                failAfterRows--;
+            }
+            return new HistoryListResponse().setResponseCode("2001200");
+        }
+    }
+
+    private static final class MemoryStore implements CheckpointStore {
+        private final Map<String, byte[]> states = new HashMap<>();
+
+        @Override
+        public byte[] load(String accountNo) {
+            return states.get(accountNo);
+        }
+
+        @Override
+        public void save(String accountNo, byte[] state) {
+            states.put(accountNo, state.clone());
+        }
+    }
+}
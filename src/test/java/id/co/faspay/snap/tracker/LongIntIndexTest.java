@@ -0,0 +1,81 @@
+package id.co.faspay.snap.tracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntIndexTest {
+
+    @Test
+    void putGetAndRemove() {
+        LongIntIndex index = new LongIntIndex(4);
+        assertEquals(-1, index.get(42));
+        index.put(42, 0);
+        index.put(-7, 3);
+        assertEquals(0, index.get(42));
+        assertEquals(3, index.get(-7));
+
+        index.put(42, 9);
+        assertEquals(9, index.get(42));
+        assertEquals(2, index.size());
+
+        assertTrue(index.remove(42));
+        assertFalse(index.remove(42));
+        assertEquals(-1, index.get(42));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void zeroIsAnOrdinaryKey() {
+        LongIntIndex index = new LongIntIndex(2);
+        index.put(0, 0);
+        assertEquals(0, index.get(0));
+        assertTrue(index.remove(0));
+        assertEquals(-1, index.get(0));
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntIndex(0));
+    }
+
+    @Test
+    void removalKeepsLaterProbesReachable() {
+        // A small, full table makes long probe runs that wrap around the end, so every
+        // removal has to shift entries back across the hole
+        int capacity = 8;
+        LongIntIndex index = new LongIntIndex(capacity);
+        Map<Long, Integer> expected = new HashMap<>();
+        List<Long> live = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 200_000; step++) {
+            if (live.size() < capacity && (live.isEmpty() || random.nextBoolean())) {
+                long key = random.nextInt(64) - 32;
+                int value = random.nextInt(1000);
+                if (expected.put(key, value) == null) {
+                    live.add(key);
+                }
+                index.put(key, value);
+            } else {
+                long key = live.remove(random.nextInt(live.size()));
+                expected.remove(key);
+                assertTrue(index.remove(key));
+            }
+
+            assertEquals(expected.size(), index.size());
+            for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue().intValue(), index.get(entry.getKey()), "lost key " + entry.getKey() + " at step " + step);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package id.co.faspay.snap.tracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedCallsTest {
+    private final SharedCalls<String> calls = new SharedCalls<>();
+
+    @Test
+    void callsInFlightAreJoinedAndReleasedOnCompletion() {
+        AtomicInteger sent = new AtomicInteger();
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = calls.call("A", () -> {
+            sent.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<String> joined = calls.call("A", () -> {
+            sent.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertSame(first, joined);
+        assertTrue(calls.isInFlight("A"));
+        assertFalse(calls.isInFlight("B"));
+
+        response.complete("done");
+        assertEquals("done", first.join());
+        assertFalse(calls.isInFlight("A"));
+        assertEquals(1, sent.get());
+        assertEquals(1, calls.getCallCount());
+        assertEquals(1, calls.getCoalescedCount());
+    }
+
+    @Test
+    void callThatThrowsFailsTheFutureAndIsNotKept() {
+        IllegalStateException error = new IllegalStateException("signing failed");
+        CompletableFuture<String> failed = calls.call("A", () -> {
+            throw error;
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertSame(error, e.getCause());
+        assertFalse(calls.isInFlight("A"));
+    }
+
+    @Test
+    void relayedFuturesAreIndependentAndUnwrapped() {
+        CompletableFuture<String> shared = new CompletableFuture<>();
+        CompletableFuture<String> cancelled = SharedCalls.relay(shared);
+        CompletableFuture<String> other = SharedCalls.relay(shared);
+        cancelled.cancel(true);
+        assertFalse(shared.isDone());
+
+        IllegalArgumentException cause = new IllegalArgumentException("bad");
+        shared.completeExceptionally(new CompletionException(cause));
+        CompletionException e = assertThrows(CompletionException.class, other::join);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertSame(cause, e.getCause());
+    }
+}
@@ -0,0 +1,181 @@
+package id.co.faspay.snap.tracker;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.model.CustomerTopupStatusRequest;
+import id.co.faspay.snap.model.CustomerTopupStatusResponse;
+import id.co.faspay.snap.service.CustomerTopupStatusService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopupStatusTrackerTest {
+    private static final String SUCCESS = "2003900";
+    private static final PollingPolicy NEVER = new PollingPolicy(60_000, 60_000, 1.0, 600_000);
+
+    private final StubStatusService service = new StubStatusService();
+    private TopupStatusTracker tracker;
+
+    @AfterEach
+    void closeTracker() {
+        if (tracker != null) {
+            tracker.close();
+        }
+    }
+
+    @Test
+    void lookupJoinsAPollInFlight() throws Exception {
+        tracker = new TopupStatusTracker(service, new PollingPolicy(20, 20, 1.0, 60_000), 16, 100, null);
+        CompletableFuture<CustomerTopupStatusResponse> tracked = tracker.track(request("A"), "OVO");
+        Call poll = service.next();
+
+        CompletableFuture<CustomerTopupStatusResponse> lookup = tracker.lookup(request("A"));
+        assertEquals(1, tracker.getCallCount());
+        assertEquals(1, tracker.getCoalescedCount());
+
+        CustomerTopupStatusResponse done = status("A", "00");
+        poll.response.complete(done);
+        assertSame(done, tracked.get(5, TimeUnit.SECONDS));
+        assertSame(done, lookup.get(5, TimeUnit.SECONDS));
+        assertEquals(0, tracker.getPendingCount());
+    }
+
+    @Test
+    void reusedSlotIgnoresPollsScheduledForItsPreviousTopup() throws Exception {
+        // One slot: B takes the slot A held, while A's first poll is still on the timing wheel
+        tracker = new TopupStatusTracker(service, new PollingPolicy(300, 300, 1.0, 60_000), 1, 100, null);
+        tracker.track(request("A"), "OVO");
+        assertTrue(tracker.complete(status("A", "00")));
+        tracker.track(request("B"), "OVO");
+
+        // Both polls come due; only B's may reach the API
+        assertEquals("B", service.next().reference);
+        Thread.sleep(400);
+        assertEquals(List.of("B"), service.references);
+        assertEquals(1, tracker.getCallCount());
+        assertEquals(0, tracker.getCoalescedCount());
+    }
+
+    @Test
+    void fullTrackerRefusesNewTopupsUntilASlotIsFree() throws Exception {
+        tracker = new TopupStatusTracker(service, NEVER, 2, 100, null);
+        tracker.track(request("A"), "OVO");
+        tracker.track(request("B"), "OVO");
+        // Duplicates do not need a slot
+        assertFalse(tracker.track(request("A"), "OVO").isDone());
+
+        CompletableFuture<CustomerTopupStatusResponse> refused = tracker.track(request("C"), "OVO");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> refused.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(FaspaySnapApiException.class, e.getCause());
+
+        assertTrue(tracker.complete(status("A", "05")));
+        assertFalse(tracker.track(request("C"), "OVO").isDone());
+        assertEquals(2, tracker.getPendingCount());
+    }
+
+    @Test
+    void pendingCountsArePerPlatform() {
+        tracker = new TopupStatusTracker(service, NEVER, 16, 100, null);
+        tracker.track(request("A"), "OVO");
+        tracker.track(request("B"), "OVO");
+        tracker.track(request("C"), "DANA");
+        tracker.track(request("D"), null);
+        assertEquals(2, tracker.getPendingCount("OVO"));
+        assertEquals(0, tracker.getPendingCount("GOPAY"));
+        assertEquals(Map.of("OVO", 2, "DANA", 1, "UNKNOWN", 1), tracker.getPendingByPlatform());
+
+        assertFalse(tracker.complete(status("A", "03")));
+        assertTrue(tracker.complete(status("A", "00")));
+        assertEquals(1, tracker.getPendingCount("OVO"));
+        assertEquals(3, tracker.getPendingCount());
+    }
+
+    @Test
+    void pollsBeyondTheRateLimitAreThrottled() throws Exception {
+        tracker = new TopupStatusTracker(service, new PollingPolicy(20, 20, 1.0, 60_000), 16, 1, null);
+        for (String reference : List.of("A", "B", "C")) {
+            tracker.track(request(reference), "OVO");
+        }
+        service.next();
+        Thread.sleep(300);
+        assertEquals(1, tracker.getCallCount());
+        assertTrue(tracker.getThrottledCount() >= 2, "expected throttled polls, got " + tracker.getThrottledCount());
+    }
+
+    @Test
+    void closeCancelsPendingTopups() {
+        tracker = new TopupStatusTracker(service, NEVER, 16, 100, null);
+        CompletableFuture<CustomerTopupStatusResponse> pending = tracker.track(request("A"), "OVO");
+        tracker.close();
+
+        assertThrows(CancellationException.class, () -> pending.get(1, TimeUnit.SECONDS));
+        assertEquals(0, tracker.getPendingCount());
+        assertTrue(tracker.track(request("B"), "OVO").isCompletedExceptionally());
+    }
+
+    private static CustomerTopupStatusRequest request(String reference) {
+        CustomerTopupStatusRequest request = new CustomerTopupStatusRequest();
+        request.setOriginalPartnerReferenceNo(reference);
+        request.setServiceCode("39");
+        return request;
+    }
+
+    private static CustomerTopupStatusResponse status(String reference, String latestTransactionStatus) {
+        return new CustomerTopupStatusResponse()
+                .setResponseCode(SUCCESS)
+                .setOriginalPartnerReferenceNo(reference)
+                .setLatestTransactionStatus(latestTransactionStatus);
+    }
+
+    /**
+     * Records each status call and hands it to the test with an uncompleted response.
+     */
+    private static final class StubStatusService extends CustomerTopupStatusService {
+        final List<String> references = new CopyOnWriteArrayList<>();
+        private final LinkedBlockingQueue<Call> calls = new LinkedBlockingQueue<>();
+
+        StubStatusService() {
+            super(TestKeys.config());
+        }
+
+        @Override
+        public CompletableFuture<CustomerTopupStatusResponse> statusAsync(CustomerTopupStatusRequest request) {
+            Call call = new Call(request.getOriginalPartnerReferenceNo());
+            references.add(call.reference);
+            calls.add(call);
+            return call.response;
+        }
+
+        Call next() throws InterruptedException {
+            Call call = calls.poll(5, TimeUnit.SECONDS);
+            if (call == null) {
+                throw new AssertionError("expected a status call");
+            }
+            return call;
+        }
+    }
+
+    private static final class Call {
+        final String reference;
+        final CompletableFuture<CustomerTopupStatusResponse> response = new CompletableFuture<>();
+
+        Call(String reference) {
+            this.reference = reference;
+        }
+    }
+}
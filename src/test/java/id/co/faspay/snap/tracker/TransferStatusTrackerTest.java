@@ -0,0 +1,158 @@
+package id.co.faspay.snap.tracker;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.exception.FaspaySnapApiException;
+import id.co.faspay.snap.model.StatusTransferRequest;
+import id.co.faspay.snap.model.StatusTransferResponse;
+import id.co.faspay.snap.service.TransferStatusService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferStatusTrackerTest {
+    private static final String SUCCESS = "2003600";
+
+    private final StubStatusService service = new StubStatusService();
+    private TransferStatusTracker tracker;
+
+    @AfterEach
+    void closeTracker() {
+        if (tracker != null) {
+            tracker.close();
+        }
+    }
+
+    @Test
+    void concurrentLookupsShareOneCall() throws Exception {
+        tracker = new TransferStatusTracker(service, new PollingPolicy(10_000, 10_000, 1.0, 60_000), null);
+        CompletableFuture<StatusTransferResponse> first = tracker.lookup(request("A"));
+        CompletableFuture<StatusTransferResponse> second = tracker.lookup(request("A"));
+        CompletableFuture<StatusTransferResponse> third = tracker.lookup(request("A"));
+        assertEquals(1, tracker.getCallCount());
+        assertEquals(2, tracker.getCoalescedCount());
+
+        // One caller giving up does not cancel the call for the others
+        first.cancel(true);
+        StatusTransferResponse response = status("A", "00");
+        service.next().complete(response);
+        assertSame(response, second.get(1, TimeUnit.SECONDS));
+        assertSame(response, third.get(1, TimeUnit.SECONDS));
+
+        // Once answered, the next lookup asks again
+        tracker.lookup(request("A"));
+        assertEquals(2, tracker.getCallCount());
+    }
+
+    @Test
+    void failedCallReachesEveryCallerUnwrapped() throws Exception {
+        tracker = new TransferStatusTracker(service, new PollingPolicy(10_000, 10_000, 1.0, 60_000), null);
+        CompletableFuture<StatusTransferResponse> first = tracker.lookup(request("A"));
+        CompletableFuture<StatusTransferResponse> second = tracker.lookup(request("A"));
+
+        service.next().completeExceptionally(new FaspaySnapApiException("Internal Server Error", 500));
+        for (CompletableFuture<StatusTransferResponse> lookup : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> lookup.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(FaspaySnapApiException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void trackPollsUntilTheStatusIsFinal() throws Exception {
+        tracker = new TransferStatusTracker(service, new PollingPolicy(20, 20, 1.0, 10_000), null);
+        CompletableFuture<StatusTransferResponse> future = tracker.track(request("A"));
+
+        service.next().complete(status("A", "03"));
+        StatusTransferResponse done = status("A", "00");
+        service.next().complete(done);
+        assertSame(done, future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, tracker.getCallCount());
+        assertEquals(0, tracker.getPendingCount());
+    }
+
+    @Test
+    void duplicateTracksShareOneScheduleAndNotificationCompletesIt() throws Exception {
+        tracker = new TransferStatusTracker(service, new PollingPolicy(10_000, 10_000, 1.0, 60_000), null);
+        CompletableFuture<StatusTransferResponse> first = tracker.track(request("A"));
+        CompletableFuture<StatusTransferResponse> second = tracker.track(request("A"));
+        assertEquals(1, tracker.getPendingCount());
+
+        assertFalse(tracker.complete(status("A", "03")), "a pending status must not complete the transfer");
+        assertFalse(tracker.complete(status("B", "00")), "an untracked transfer must be ignored");
+        StatusTransferResponse done = status("A", "05");
+        assertTrue(tracker.complete(done));
+
+        assertSame(done, first.get(1, TimeUnit.SECONDS));
+        assertSame(done, second.get(1, TimeUnit.SECONDS));
+        assertEquals(0, tracker.getPendingCount());
+        assertEquals(0, tracker.getCallCount());
+    }
+
+    @Test
+    void trackGivesUpAfterTheMaximumWait() throws Exception {
+        tracker = new TransferStatusTracker(service, new PollingPolicy(20, 20, 1.0, 150), null);
+        service.answerAll(status("A", "03"));
+        CompletableFuture<StatusTransferResponse> future = tracker.track(request("A"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(FaspaySnapApiException.class, e.getCause());
+        assertEquals(0, tracker.getPendingCount());
+    }
+
+    private static StatusTransferRequest request(String reference) {
+        return new StatusTransferRequest().setOriginalPartnerReferenceNo(reference).setServiceCode("18");
+    }
+
+    private static StatusTransferResponse status(String reference, String latestTransactionStatus) {
+        return new StatusTransferResponse()
+                .setResponseCode(SUCCESS)
+                .setOriginalPartnerReferenceNo(reference)
+                .setLatestTransactionStatus(latestTransactionStatus);
+    }
+
+    /**
+     * Hands each status call to the test as an uncompleted future, or answers every
+     * call with a fixed response.
+     */
+    private static final class StubStatusService extends TransferStatusService {
+        private final LinkedBlockingQueue<CompletableFuture<StatusTransferResponse>> calls = new LinkedBlockingQueue<>();
+        private volatile StatusTransferResponse fixed;
+
+        StubStatusService() {
+            super(TestKeys.config());
+        }
+
+        @Override
+        public CompletableFuture<StatusTransferResponse> statusAsync(StatusTransferRequest request) {
+            if (fixed != null) {
+                return CompletableFuture.completedFuture(fixed);
+            }
+            CompletableFuture<StatusTransferResponse> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        }
+
+        void answerAll(StatusTransferResponse response) {
+            this.fixed = response;
+        }
+
+        CompletableFuture<StatusTransferResponse> next() throws InterruptedException {
+            CompletableFuture<StatusTransferResponse> call = calls.poll(5, TimeUnit.SECONDS);
+            if (call == null) {
+                throw new AssertionError("expected a status call");
+            }
+            return call;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package id.co.faspay.snap.util;
+
+import id.co.faspay.snap.TestKeys;
+import id.co.faspay.snap.config.FaspaySnapConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalIdGeneratorTest {
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void concurrentCallersNeverGetTheSameId() throws Exception {
+        ExternalIdGenerator generator = new ExternalIdGenerator(TestKeys.PARTNER_ID, 42);
+        long[] sequences = draw(generator::next, TestKeys.PARTNER_ID + "042", () -> { });
+        assertAllDistinct(sequences);
+    }
+
+    @Test
+    void settingTheNodeIdKeepsIdsUnique() throws Exception {
+        FaspaySnapConfig config = TestKeys.config();
+        config.setNodeId(7);
+        // The node ID is set again, to the same value, while the burst runs ahead of the clock
+        long[] sequences = draw(config::getExternalId, TestKeys.PARTNER_ID + "007", () -> config.setNodeId(7));
+        assertAllDistinct(sequences);
+
+        config.setNodeId(8);
+        assertEquals(8, config.getNodeId());
+        assertTrue(config.getExternalId().startsWith(TestKeys.PARTNER_ID + "008"));
+    }
+
+    @Test
+    void nodeIdMustFitInThreeDigits() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalIdGenerator(TestKeys.PARTNER_ID, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalIdGenerator(TestKeys.PARTNER_ID, 0).withNodeId(-1));
+    }
+
+    /**
+     * Draws IDs on all threads, checks their format and returns their sequences, while the
+     * calling thread runs the given action over and over.
+     */
+    private static long[] draw(Supplier<String> ids, String prefix, Runnable meanwhile) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] sequences = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        sequences[i] = sequenceOf(ids.get(), prefix);
+                    }
+                    return sequences;
+                }));
+            }
+            while (!futures.stream().allMatch(Future::isDone)) {
+                meanwhile.run();
+            }
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+            }
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long sequenceOf(String id, String prefix) {
+        // Partner ID, three-digit node ID and a 16-digit sequence
+        if (id.length() != prefix.length() + 16 || !id.startsWith(prefix)) {
+            throw new AssertionError("unexpected external ID " + id);
+        }
+        for (int i = prefix.length(); i < id.length(); i++) {
+            if (id.charAt(i) < '0' || id.charAt(i) > '9') {
+                throw new AssertionError("unexpected external ID " + id);
+            }
+        }
+        return Long.parseLong(id.substring(prefix.length()));
+    }
+
+    private static void assertAllDistinct(long[] sequences) {
+        long[] sorted = sequences.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new AssertionError("duplicate sequence " + sorted[i]);
+            }
+        }
+    }
+}